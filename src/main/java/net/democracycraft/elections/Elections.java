@@ -66,7 +66,7 @@ public class Elections extends JavaPlugin {
         this.mysql.setupDatabase();
         // Force a connectivity check and fail fast if unavailable
         try {
-            this.mysql.getConnection();
+            this.mysql.checkConnectivity();
         } catch (Exception ex) {
             getLogger().severe("MySQL is not reachable or credentials are invalid. Plugin will be disabled. Cause: " + ex.getMessage());
             getServer().getPluginManager().disablePlugin(this);
@@ -89,7 +89,7 @@ public class Elections extends JavaPlugin {
         // Local queue for exports
         this.localQueue = new LocalExportedElectionQueue(this);
 
-        // Schedule periodic auto-close sweep asynchronously (avoid DB on main thread)
+        // Elections open/close on in-memory deadlines; this periodic sweep only re-arms missed ones
         SqlElectionsService sql = (SqlElectionsService) this.electionsService;
         int seconds = getConfig().getInt(ConfigPaths.AUTO_CLOSE_SWEEP_SECONDS.getPath(), 60);
         if (seconds < 1) seconds = 60; // sane fallback
@@ -2,7 +2,9 @@ package net.democracycraft.elections.api.model;
 
 import net.democracycraft.elections.internal.data.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -10,7 +12,7 @@ import java.util.function.Function;
  *
  * Semantics:
  * - Implementations are immutable snapshots at the moment of retrieval.
- * - Values are non-null unless documented otherwise (e.g., closesAt, duration may be null).
+ * - Values are non-null unless documented otherwise (e.g., closesAt, opensAt, duration may be null).
  */
 public interface Election {
     /** Unique identifier for this election. */
@@ -23,6 +25,8 @@ public interface Election {
     VotingSystem getSystem();
     /** Minimum number of selections required. Always >= 1 logically. */
     int getMinimumVotes();
+    /** Seats to fill: the number of winners of a PREFERENTIAL count. Always >= 1. */
+    default int getSeats() { return 1; }
     /** Requirements applied to voters (may be null). */
     RequirementsDto getRequirements();
 
@@ -33,11 +37,60 @@ public interface Election {
     /** Submitted ballots (immutable list). */
     List<Vote> getBallots();
 
+    /** Whether the voter (by voter id) has submitted a ballot in this election. */
+    default boolean hasSubmittedBallot(int voterId) {
+        return getBallots().stream().anyMatch(b -> b.getVoterId() == voterId && b.isSubmitted());
+    }
+
+    /**
+     * Distinct selection sequences of the submitted ballots, in order of first submission, each mapped to the number
+     * of ballots that submitted it. Counts and analytics can iterate this instead of every ballot.
+     */
+    default Map<List<Integer>, Integer> getDistinctBallots() {
+        Map<List<Integer>, Integer> out = new LinkedHashMap<>();
+        for (Vote vote : getBallots()) {
+            if (vote.isSubmitted()) out.merge(List.copyOf(vote.getSelections()), 1, Integer::sum);
+        }
+        return out;
+    }
+
+    /**
+     * Votes per candidate id, in candidate order: first preferences for PREFERENTIAL elections, selections for BLOCK
+     * ones. The default counts {@link #getDistinctBallots()}; implementations may read running counters instead.
+     */
+    default Map<Integer, Integer> getVoteCounts() {
+        Map<Integer, Integer> out = new LinkedHashMap<>();
+        for (Candidate c : getCandidates()) out.put(c.getId(), 0);
+        boolean firstOnly = getSystem() == VotingSystem.PREFERENTIAL;
+        getDistinctBallots().forEach((selections, weight) -> {
+            for (Integer cid : firstOnly && !selections.isEmpty() ? selections.subList(0, 1) : selections) {
+                if (cid != null) out.computeIfPresent(cid, (id, votes) -> votes + weight);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Whether this is a summary of an election not fully held in memory: ballots, distinct ballots and status changes
+     * are then empty, vote counts are zero and no voter has a submitted ballot. Fetch it with
+     * {@code ElectionsService#getElectionAsync} for the full state.
+     */
+    default boolean isSummary() {
+        return false;
+    }
+
+    /** Number of stored ballots; cheaper than {@code getBallots().size()} for elections held as summaries. */
+    default int getBallotCount() {
+        return getBallots().size();
+    }
+
     /** Total registered voters count. */
     int getVoterCount();
 
     /** Scheduled close timestamp computed from duration (nullable). */
     TimeStampDto getClosesAt();
+    /** Scheduled opening timestamp (nullable); cleared once the election opens. */
+    TimeStampDto getOpensAt();
     /** Creation timestamp (non-null). */
     TimeStampDto getCreatedAt();
 
@@ -2,6 +2,9 @@ package net.democracycraft.elections.api.service;
 
 import net.democracycraft.elections.api.model.*;
 import net.democracycraft.elections.internal.data.*;
+import net.democracycraft.elections.internal.tally.CondorcetResult;
+import net.democracycraft.elections.internal.tally.IrvResult;
+import net.democracycraft.elections.internal.tally.StvResult;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,7 +17,10 @@ import java.util.concurrent.CompletableFuture;
  * - All I/O and heavy work MUST NOT run on the Bukkit main thread.
  * - Async-first methods return CompletableFuture and complete on a background thread.
  * - Failures complete the future exceptionally with a descriptive RuntimeException.
- * - Snapshot getters below are in-memory only and safe to call on the main thread.
+ * - Snapshot getters below are in-memory only and safe to call on the main thread; they never read storage.
+ * - Persistent implementations may hold CLOSED and DELETED elections as summaries ({@link Election#isSummary()}).
+ *   A snapshot of a summary carries its counts, candidates and polls, but no ballots or status changes; use
+ *   {@link #getElectionAsync(int)}, which loads the full election off the main thread, for those.
  *<p>
  * Nullability and semantics:
  * - Optional return values indicate absence (e.g., missing election/voter).
@@ -26,12 +32,30 @@ public interface ElectionsService {
     List<Election> listElectionsSnapshot();
     /** Returns an election snapshot by id from memory. */
     Optional<Election> getElectionSnapshot(int id);
+    /**
+     * Returns the election with a poll at the given block from memory (world name compared case-insensitively).
+     * The default scans every election; implementations backed by a location index should override it.
+     */
+    default Optional<Election> getElectionByPollSnapshot(String world, int x, int y, int z) {
+        for (Election e : listElectionsSnapshot()) {
+            for (Poll p : e.getPolls()) {
+                if (p.getWorld().equalsIgnoreCase(world) && p.getX() == x && p.getY() == y && p.getZ() == z) return Optional.of(e);
+            }
+        }
+        return Optional.empty();
+    }
+    /**
+     * Returns the running counts of an election's submitted ballots: first preferences (PREFERENTIAL) or selections
+     * (BLOCK) per candidate and ballots per hour, kept up to date as ballots arrive and read in O(candidates).
+     * Empty for elections held as summaries.
+     */
+    Optional<LiveTally.Snapshot> getLiveTallySnapshot(int electionId);
 
     // --- Async API ---
 
     /** Creates a new election. Never blocks the main thread. */
     CompletableFuture<Election> createElectionAsync(String title, VotingSystem system, int minimumVotes, RequirementsDto requirements, String actor);
-    /** Fetches an election by id. Non-blocking. */
+    /** Fetches an election by id with all of its state, loading a summarized one from storage. Non-blocking. */
     CompletableFuture<Optional<Election>> getElectionAsync(int id);
     /** Lists all elections. Non-blocking. */
     CompletableFuture<List<Election>> listElectionsAsync();
@@ -42,11 +66,15 @@ public interface ElectionsService {
     CompletableFuture<Boolean> setTitleAsync(int electionId, String title, String actor);
     CompletableFuture<Boolean> setSystemAsync(int electionId, VotingSystem system, String actor);
     CompletableFuture<Boolean> setMinimumVotesAsync(int electionId, int minimum, String actor);
+    /** Sets the number of seats (winners) of a PREFERENTIAL election; values below 1 are raised to 1. */
+    CompletableFuture<Boolean> setSeatsAsync(int electionId, int seats, String actor);
     CompletableFuture<Boolean> setRequirementsAsync(int electionId, RequirementsDto requirements, String actor);
     CompletableFuture<Boolean> openElectionAsync(int electionId, String actor);
     CompletableFuture<Boolean> closeElectionAsync(int electionId, String actor);
     /** Retained for compatibility; implementations may ignore explicit closesAt and rely on duration. */
     CompletableFuture<Boolean> setClosesAtAsync(int electionId, TimeStampDto closesAt, String actor);
+    /** Schedules a CLOSED election to open automatically at the given UTC time; null clears the schedule. */
+    CompletableFuture<Boolean> setOpensAtAsync(int electionId, TimeStampDto opensAt, String actor);
 
     /** Sets duration components; null values clear the duration. */
     CompletableFuture<Boolean> setDurationAsync(int electionId, Integer days, TimeDto time, String actor);
@@ -83,6 +111,25 @@ public interface ElectionsService {
     /** Records an EXPORTED status change in the election status log. */
     CompletableFuture<Boolean> markExportedAsync(int electionId, String actor);
 
+    // Results
+    /**
+     * Counts the submitted ballots of a PREFERENTIAL election by instant runoff: rounds, eliminations, exhausted
+     * ballots and winner. Empty when the election does not exist; completes exceptionally for other voting systems.
+     */
+    CompletableFuture<Optional<IrvResult>> tallyInstantRunoffAsync(int electionId);
+    /**
+     * Counts the submitted ballots of a PREFERENTIAL election by single transferable vote for its seats, with a
+     * round-by-round transcript. Empty when the election does not exist; completes exceptionally for other systems.
+     */
+    CompletableFuture<Optional<StvResult>> tallySingleTransferableVoteAsync(int electionId);
+    /**
+     * Counts the submitted ballots of a PREFERENTIAL election pairwise: the preference matrix, Schulze strongest
+     * paths and ranking, Copeland scores and the Condorcet winner if any. The matrix is kept up to date as ballots
+     * arrive, so this is cheap at any time. Empty when the election does not exist; completes exceptionally for other
+     * voting systems.
+     */
+    CompletableFuture<Optional<CondorcetResult>> tallySchulzeAsync(int electionId);
+
 
 
 
@@ -102,10 +149,12 @@ public interface ElectionsService {
     default boolean setTitle(int electionId, String title, String actor) { return setTitleAsync(electionId, title, actor).join(); }
     default boolean setSystem(int electionId, VotingSystem system, String actor) { return setSystemAsync(electionId, system, actor).join(); }
     default boolean setMinimumVotes(int electionId, int minimum, String actor) { return setMinimumVotesAsync(electionId, minimum, actor).join(); }
+    default boolean setSeats(int electionId, int seats, String actor) { return setSeatsAsync(electionId, seats, actor).join(); }
     default boolean setRequirements(int electionId, RequirementsDto requirements, String actor) { return setRequirementsAsync(electionId, requirements, actor).join(); }
     default boolean openElection(int electionId, String actor) { return openElectionAsync(electionId, actor).join(); }
     default boolean closeElection(int electionId, String actor) { return closeElectionAsync(electionId, actor).join(); }
     default boolean setClosesAt(int electionId, TimeStampDto closesAt, String actor) { return setClosesAtAsync(electionId, closesAt, actor).join(); }
+    default boolean setOpensAt(int electionId, TimeStampDto opensAt, String actor) { return setOpensAtAsync(electionId, opensAt, actor).join(); }
     default boolean setDuration(int electionId, Integer days, TimeDto time, String actor) { return setDurationAsync(electionId, days, time, actor).join(); }
     default boolean setBallotMode(int electionId, BallotMode mode, String actor) { return setBallotModeAsync(electionId, mode, actor).join(); }
     default Optional<Candidate> addCandidate(int electionId, String name, String actor) { return addCandidateAsync(electionId, name, actor).join(); }
@@ -123,6 +172,9 @@ public interface ElectionsService {
     default boolean setCandidateHeadItemBytes(int electionId, int candidateId, byte[] data) { return setCandidateHeadItemBytesAsync(electionId, candidateId, data).join(); }
     default byte[] getCandidateHeadItemBytes(int electionId, int candidateId) { return getCandidateHeadItemBytesAsync(electionId, candidateId).join(); }
     default boolean markExported(int electionId, String actor) { return markExportedAsync(electionId, actor).join(); }
+    default Optional<IrvResult> tallyInstantRunoff(int electionId) { return tallyInstantRunoffAsync(electionId).join(); }
+    default Optional<StvResult> tallySingleTransferableVote(int electionId) { return tallySingleTransferableVoteAsync(electionId).join(); }
+    default Optional<CondorcetResult> tallySchulze(int electionId) { return tallySchulzeAsync(electionId).join(); }
 
     /** Snapshot helper for head bytes (safe on main thread when implementation supports it). */
     default byte[] getCandidateHeadItemBytesSnapshot(int electionId, int candidateId) {
@@ -10,6 +10,8 @@ import net.democracycraft.elections.api.service.ElectionsService;
 import net.democracycraft.elections.api.service.GitHubGistService;
 import net.democracycraft.elections.internal.command.framework.CommandContext;
 import net.democracycraft.elections.internal.command.framework.Subcommand;
+import net.democracycraft.elections.internal.data.VotingSystem;
+import net.democracycraft.elections.internal.tally.StvResult;
 import net.democracycraft.elections.internal.util.config.DataFolder;
 import net.democracycraft.elections.internal.util.export.BallotCsvFormatter;
 import net.democracycraft.elections.internal.util.export.ElectionMarkdownFormatter;
@@ -139,7 +141,8 @@ public class ExportCommand implements Subcommand {
                 String markdown = ElectionMarkdownFormatter.toMarkdown(
                         election,
                         null,
-                        false
+                        false,
+                        multiSeatCount(plugin, electionsService, election)
                 );
 
                 LocalExportedElectionQueue queue = plugin.getLocalExportQueue();
@@ -307,7 +310,8 @@ public class ExportCommand implements Subcommand {
                     String markdown = ElectionMarkdownFormatter.toMarkdown(
                             election,
                             voterNameProvider,
-                            true
+                            true,
+                            multiSeatCount(plugin, electionsService, election)
                     );
 
                     LocalExportedElectionQueue queue = plugin.getLocalExportQueue();
@@ -865,6 +869,20 @@ public class ExportCommand implements Subcommand {
      * @param throwable error
      * @return non-null message
      */
+    /**
+     * Runs the STV count of a multi-seat PREFERENTIAL election for the Markdown export (call off the main thread).
+     * @return the count, or null for other elections or when counting fails
+     */
+    private StvResult multiSeatCount(Elections plugin, ElectionsService electionsService, Election election) {
+        if (election.getSystem() != VotingSystem.PREFERENTIAL || election.getSeats() <= 1) return null;
+        try {
+            return electionsService.tallySingleTransferableVote(election.getId()).orElse(null);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("STV count of election " + election.getId() + " failed: " + ex.getMessage());
+            return null;
+        }
+    }
+
     private String safeError(Throwable throwable) {
         if (throwable == null) {
             return "unknown";
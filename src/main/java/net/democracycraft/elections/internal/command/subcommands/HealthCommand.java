@@ -3,13 +3,21 @@ package net.democracycraft.elections.internal.command.subcommands;
 import net.democracycraft.elections.api.model.Election;
 import net.democracycraft.elections.internal.command.framework.CommandContext;
 import net.democracycraft.elections.internal.command.framework.Subcommand;
+import net.democracycraft.elections.internal.database.ConnectionPool;
+import net.democracycraft.elections.internal.database.IndexAuditor;
+import net.democracycraft.elections.internal.service.SqlElectionsService;
+import org.bukkit.Bukkit;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import static net.democracycraft.elections.internal.util.config.ConfigPaths.AUTO_CLOSE_SWEEP_SECONDS;
 
 /**
  * Shows basic health stats: counts, config warnings, and service hints.
+ * {@code health verify [resync]} compares the in-memory mirror against the database.
+ * {@code health indexes [drop]} reports (and optionally drops) secondary indexes the plugin does not need.
  */
 public class HealthCommand implements Subcommand {
     @Override
@@ -19,10 +27,26 @@ public class HealthCommand implements Subcommand {
     public String permission() { return "elections.health"; }
 
     @Override
-    public String usage() { return "health"; }
+    public String usage() { return "health | health verify [resync] | health indexes [drop]"; }
+
+    @Override
+    public List<String> complete(CommandContext ctx) {
+        if (ctx.args().length == 1) return List.of("verify", "indexes");
+        if (ctx.args().length == 2 && ctx.args()[0].equalsIgnoreCase("verify")) return List.of("resync");
+        if (ctx.args().length == 2 && ctx.args()[0].equalsIgnoreCase("indexes")) return List.of("drop");
+        return List.of();
+    }
 
     @Override
     public void execute(CommandContext ctx) {
+        if (ctx.args().length >= 1 && ctx.args()[0].equalsIgnoreCase("verify")) {
+            executeVerify(ctx, ctx.args().length >= 2 && ctx.args()[1].equalsIgnoreCase("resync"));
+            return;
+        }
+        if (ctx.args().length >= 1 && ctx.args()[0].equalsIgnoreCase("indexes")) {
+            executeIndexes(ctx, ctx.args().length >= 2 && ctx.args()[1].equalsIgnoreCase("drop"));
+            return;
+        }
         var svc = ctx.electionsService();
         var list = svc.listElections();
         int total = list.size();
@@ -34,7 +58,7 @@ public class HealthCommand implements Subcommand {
                 case DELETED -> deleted++;
             }
             voters += e.getVoterCount();
-            ballots += e.getBallots().size();
+            ballots += e.getBallotCount();
         }
         int sweep = ctx.plugin().getConfig().getInt(AUTO_CLOSE_SWEEP_SECONDS.getPath(), 60);
 
@@ -52,6 +76,101 @@ public class HealthCommand implements Subcommand {
         }
 
         ctx.sender().sendMessage("Health: elections=" + total + " (open=" + open + ", closed=" + closed + ", deleted=" + deleted + "), voters=" + voters + ", ballots=" + ballots + ". AutoCloseSweepSeconds=" + sweep + ", dbLatencyMs=" + dbMs + ".");
-        if (sweep > 300) ctx.sender().sendMessage("Warning: autoClose sweep interval is high (" + sweep + "s). Consider <= 120s.");
+        ConnectionPool.Stats pool = ctx.plugin().getMySQLManager().poolStats();
+        if (pool != null) {
+            ctx.sender().sendMessage(String.format(Locale.ROOT,
+                    "DB pool: active=%d, idle=%d, max=%d, waiting=%d, borrows=%d, avgWaitMs=%.2f, created=%d, retired=%d, timeouts=%d, validationFailures=%d.",
+                    pool.active(), pool.idle(), pool.maximum(), pool.waiting(), pool.borrows(), pool.avgBorrowWaitMillis(),
+                    pool.created(), pool.retired(), pool.timeouts(), pool.validationFailures()));
+            ctx.sender().sendMessage(String.format(Locale.ROOT,
+                    "DB statements: cacheHits=%d, cacheMisses=%d, hitRate=%.1f%%, evictions=%d.",
+                    pool.statementHits(), pool.statementMisses(), pool.statementHitRate() * 100.0, pool.statementEvictions()));
+            if (pool.timeouts() > 0) ctx.sender().sendMessage("Warning: " + pool.timeouts() + " DB borrow timeouts. Consider raising mysql.pool.maximumPoolSize.");
+        }
+        if (svc instanceof SqlElectionsService sql) {
+            var deadlines = sql.deadlineStats();
+            String next = deadlines.nextEpochMillis() == null ? "none"
+                    : Math.max(0L, (deadlines.nextEpochMillis() - System.currentTimeMillis()) / 1000L) + "s";
+            ctx.sender().sendMessage("Deadlines: armed=" + deadlines.armed() + ", next=" + next + ", fired=" + deadlines.fired() + ".");
+            var residency = sql.residencyStats();
+            if (residency != null) {
+                ctx.sender().sendMessage(String.format(Locale.ROOT,
+                        "Mirror: %d closed/deleted elections loaded, ~%.1f/%.1f MB, hydrations=%d, evictions=%d.",
+                        residency.resident(), residency.residentBytes() / 1048576.0, residency.budgetBytes() / 1048576.0,
+                        residency.hydrations(), residency.evictions()));
+            }
+            var groups = sql.ballotGroupStats();
+            ctx.sender().sendMessage(String.format(Locale.ROOT,
+                    "Ballot groups: %d submitted ballots in %d distinct rankings (%.1fx).",
+                    groups.ballots(), groups.groups(), groups.ratio()));
+            var purge = sql.purgeStats();
+            if (purge != null) {
+                ctx.sender().sendMessage("Last purge: purged=" + purge.purged() + "/" + purge.eligible() + ", rows=" + purge.rowsDeleted()
+                        + ", transactions=" + purge.transactions() + ", failed=" + purge.failed() + ", ms=" + purge.millis()
+                        + (purge.budgetExhausted() ? " (row budget reached)" : "") + ".");
+            }
+        }
+        if (svc instanceof SqlElectionsService sql && sql.journalStats() != null) {
+            var journal = sql.journalStats();
+            ctx.sender().sendMessage("Ballot journal: pending=" + journal.pending() + ", committed=" + journal.committed()
+                    + ", fsyncs=" + journal.fsyncs() + ", failedCommits=" + journal.failedCommits() + ", deadLettered=" + journal.deadLettered()
+                    + ", lastCommitMs=" + journal.lastCommitMillis() + ".");
+            if (journal.failedCommits() > 0 && journal.pending() > 0) ctx.sender().sendMessage("Warning: journaled ballots are waiting for MySQL; check database connectivity.");
+            if (journal.deadLettered() > 0) ctx.sender().sendMessage("Warning: journaled ballots were rejected by MySQL and moved to the dead-letter file; see the server log.");
+        }
+    }
+
+    /** Runs the mirror consistency check off the main thread and reports back on it. */
+    private void executeVerify(CommandContext ctx, boolean resync) {
+        if (!(ctx.electionsService() instanceof SqlElectionsService sql)) {
+            ctx.sender().sendMessage("Mirror verification is only available for the SQL backend.");
+            return;
+        }
+        ctx.sender().sendMessage("Verifying in-memory mirror against the database" + (resync ? " (resync on mismatch)" : "") + "...");
+        sql.verifyMirrorAsync(resync).whenComplete((diffs, throwable) -> Bukkit.getScheduler().runTask(ctx.plugin(), () -> {
+            if (throwable != null) {
+                ctx.sender().sendMessage("Mirror verification failed: " + throwable.getMessage());
+                return;
+            }
+            if (diffs.isEmpty()) {
+                ctx.sender().sendMessage("Mirror is consistent with the database.");
+                return;
+            }
+            diffs.forEach((id, list) -> {
+                ctx.sender().sendMessage("Election " + id + ": " + list.size() + " difference(s)" + (resync ? ", resynced" : "") + ".");
+                list.stream().limit(5).forEach(d -> ctx.sender().sendMessage(" - " + d));
+            });
+            if (!resync) ctx.sender().sendMessage("Run /elections health verify resync to rebuild inconsistent elections.");
+        }));
+    }
+
+    /** Audits secondary indexes off the main thread; with drop, removes the droppable ones. */
+    private void executeIndexes(CommandContext ctx, boolean drop) {
+        var plugin = ctx.plugin();
+        IndexAuditor auditor = new IndexAuditor(plugin.getMySQLManager(), plugin.getSchema().tables());
+        ctx.sender().sendMessage("Auditing database indexes" + (drop ? " (dropping unneeded ones)" : "") + "...");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> lines = new ArrayList<>();
+            try {
+                IndexAuditor.Report report = auditor.audit();
+                for (IndexAuditor.Finding f : report.findings()) {
+                    lines.add(" - " + f.table() + "." + f.index() + " " + f.reason() + ": " + f.detail());
+                }
+                if (!report.usageAvailable()) lines.add("Index usage statistics unavailable (performance_schema disabled); UNUSED is not reported.");
+                if (drop) {
+                    for (IndexAuditor.DropOutcome o : auditor.drop(report.findings())) {
+                        lines.add(o.error() == null
+                                ? "Dropped " + o.finding().table() + "." + o.finding().index() + "."
+                                : "Kept " + o.finding().table() + "." + o.finding().index() + ": " + o.error());
+                    }
+                } else if (report.findings().stream().anyMatch(IndexAuditor.Finding::droppable)) {
+                    lines.add("Run /elections health indexes drop to remove the non-unique UNDECLARED/REDUNDANT indexes.");
+                }
+                lines.addFirst("Index audit: " + report.findings().size() + " finding(s).");
+            } catch (Exception ex) {
+                lines.add("Index audit failed: " + ex.getMessage());
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> lines.forEach(ctx.sender()::sendMessage));
+        });
     }
 }
@@ -0,0 +1,157 @@
+package net.democracycraft.elections.internal.data;
+
+import net.democracycraft.elections.internal.util.collection.LongIntMap;
+import net.democracycraft.elections.internal.util.collection.PersistentIntMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The distinct selection sequences of an election's submitted ballots ("groups") with how many ballots submitted
+ * each, maintained as ballots are appended, so counts can work on distinct ballots x weight instead of every ballot.
+ *
+ * Contract:
+ * - Group {@code g} is the sequence of the ballot at {@link #representative(int)} in the election's {@link BallotStore};
+ *   groups are numbered in order of first submission and never removed. Ballots that are not submitted are ignored.
+ * - Versions follow {@link BallotStore}: {@link #share()} is O(1), appending to the newest version writes past the
+ *   end of older ones, appending to an older version first moves it to a private copy. Weights are a persistent
+ *   map, so an append costs one hash probe plus O(log32 groups) and never changes what older versions see.
+ * - Appends must be serialized (via {@link ElectionDto}); published versions are safe to read concurrently.
+ */
+public final class BallotGroups {
+
+    /**
+     * Compression counters over a set of elections.
+     *
+     * @param ballots submitted ballots
+     * @param groups  distinct selection sequences among them
+     */
+    public record Stats(long ballots, long groups) {
+        /** @return ballots per distinct sequence (1 when there are no ballots). */
+        public double ratio() { return groups == 0 ? 1.0 : (double) ballots / groups; }
+    }
+
+    /** Sequence lookup shared by all versions over the same arrays; only used (and valid) for the newest one. */
+    private static final class Dictionary {
+        /** Group by sequence hash; hash collisions between different sequences go to {@link #collisions}. */
+        final LongIntMap byHash = new LongIntMap();
+        final Map<Sequence, Integer> collisions = new HashMap<>();
+        /** Groups appended by any version. */
+        int size;
+    }
+
+    private record Sequence(int[] selections) {
+        @Override public boolean equals(Object o) { return o instanceof Sequence s && Arrays.equals(s.selections, selections); }
+        @Override public int hashCode() { return Arrays.hashCode(selections); }
+    }
+
+    private static final int NONE = -1;
+
+    private int[] representatives;
+    private Dictionary dictionary;
+    private PersistentIntMap<Integer> weights;
+    private int groups;
+    private int ballots;
+
+    BallotGroups() {
+        this.representatives = new int[16];
+        this.dictionary = new Dictionary();
+        this.weights = PersistentIntMap.empty();
+    }
+
+    private BallotGroups(BallotGroups source) {
+        this.representatives = source.representatives;
+        this.dictionary = source.dictionary;
+        this.weights = source.weights;
+        this.groups = source.groups;
+        this.ballots = source.ballots;
+    }
+
+    /** @return a new version with the current groups, sharing the arrays. */
+    BallotGroups share() {
+        return new BallotGroups(this);
+    }
+
+    /** @return number of distinct sequences. */
+    public int size() { return groups; }
+    /** @return number of submitted ballots grouped. */
+    public int ballots() { return ballots; }
+    /** @return index in the {@link BallotStore} of the first ballot submitted with the sequence of group {@code g}. */
+    public int representative(int g) { return representatives[check(g)]; }
+    /** @return number of submitted ballots with the sequence of group {@code g}. */
+    public int weight(int g) { return weights.get(check(g)); }
+
+    public Stats stats() { return new Stats(ballots, groups); }
+
+    /**
+     * Approximate heap footprint in bytes: representatives, the sequence lookup (shared by versions) and one
+     * persistent map entry per group.
+     */
+    public long estimatedBytes() {
+        return 16L + (long) representatives.length * 4 + (long) groups * (24 + 48);
+    }
+
+    // --- appends (via ElectionDto, after the ballot was appended to the store) ---
+
+    /** Counts the ballot at {@code index} of {@code store}, whose selections are {@code selections}. */
+    void add(BallotStore store, int index, int[] selections) {
+        if (!store.isSubmitted(index)) return;
+        if (groups != dictionary.size) rebuild(store);
+        long hash = hash(selections);
+        int g = dictionary.byHash.get(hash, NONE);
+        if (g != NONE && !sameSequence(store, representatives[g], selections)) {
+            Integer other = dictionary.collisions.get(new Sequence(selections));
+            g = other == null ? NONE : other;
+            if (g == NONE) dictionary.collisions.put(new Sequence(selections.clone()), groups);
+        } else if (g == NONE) {
+            dictionary.byHash.put(hash, groups);
+        }
+        if (g == NONE) {
+            if (groups == representatives.length) representatives = Arrays.copyOf(representatives, groups + (groups >> 1) + 1);
+            representatives[groups] = index;
+            g = groups++;
+            dictionary.size = groups;
+            weights = weights.with(g, 1);
+        } else {
+            weights = weights.with(g, weights.get(g) + 1);
+        }
+        ballots++;
+    }
+
+    /**
+     * Another version appended groups past our end: continue on a private lookup (and array) of our own groups.
+     */
+    private void rebuild(BallotStore store) {
+        Dictionary own = new Dictionary();
+        for (int g = 0; g < groups; g++) {
+            int[] selections = store.selections(representatives[g]).toArray();
+            long hash = hash(selections);
+            if (own.byHash.containsKey(hash)) own.collisions.put(new Sequence(selections), g);
+            else own.byHash.put(hash, g);
+        }
+        own.size = groups;
+        dictionary = own;
+        representatives = Arrays.copyOf(representatives, Math.max(16, groups + (groups >> 1) + 1));
+    }
+
+    private static boolean sameSequence(BallotStore store, int index, int[] selections) {
+        if (store.selectionCount(index) != selections.length) return false;
+        for (int r = 0; r < selections.length; r++) if (store.selection(index, r) != selections[r]) return false;
+        return true;
+    }
+
+    private static long hash(int[] selections) {
+        long h = 0x9E3779B97F4A7C15L ^ selections.length;
+        for (int s : selections) {
+            h = (h ^ s) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    private int check(int g) {
+        if (g < 0 || g >= groups) throw new IndexOutOfBoundsException("group " + g + " of " + groups);
+        return g;
+    }
+}
@@ -0,0 +1,215 @@
+package net.democracycraft.elections.internal.data;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Append-only, column-oriented ballot storage of an election: one primitive array per field and a shared
+ * selection pool, instead of a {@link BallotDto} (boxed selection list, timestamp objects) per ballot.
+ *
+ * Contract:
+ * - Ballot {@code i} selects {@code pool[offsets[i] .. offsets[i+1])} in rank order; timestamps are epoch millis,
+ *   {@link #NOT_SUBMITTED} when absent.
+ * - Versions share their arrays the same way as {@link net.democracycraft.elections.internal.util.collection.SharedAppendList}:
+ *   {@link #share()} is O(1), appending to the newest version writes past the end of older ones, appending to an older
+ *   version first moves it to private arrays. Appends must be serialized; published versions are safe to read concurrently.
+ * - Voter details are only stored for ballots appended with one (exports with named ballots); the column is not
+ *   allocated otherwise.
+ * - Serialized by Gson as the list of ballots it replaced, so exported JSON keeps its shape.
+ */
+public final class BallotStore {
+
+    /** Submission time of a ballot that has not been submitted. */
+    public static final long NOT_SUBMITTED = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Shared by all versions over the same arrays: how many ballots have been appended by any of them. */
+    private static final class Tail {
+        int count;
+    }
+
+    private int[] ids;
+    private int[] voterIds;
+    private long[] submittedAt;
+    /** Start of each ballot's selections in {@link #pool}; {@code offsets[count]} is the end of the pool. */
+    private int[] offsets;
+    private int[] pool;
+    /** Optional embedded voters; null until a ballot with voter details is appended. */
+    private VoterDto[] voters;
+    private Tail tail;
+    private int count;
+    private final int electionId;
+
+    public BallotStore(int electionId) {
+        this.electionId = electionId;
+        this.ids = new int[INITIAL_CAPACITY];
+        this.voterIds = new int[INITIAL_CAPACITY];
+        this.submittedAt = new long[INITIAL_CAPACITY];
+        this.offsets = new int[INITIAL_CAPACITY + 1];
+        this.pool = new int[INITIAL_CAPACITY * 4];
+        this.tail = new Tail();
+    }
+
+    private BallotStore(BallotStore source) {
+        this.electionId = source.electionId;
+        this.ids = source.ids;
+        this.voterIds = source.voterIds;
+        this.submittedAt = source.submittedAt;
+        this.offsets = source.offsets;
+        this.pool = source.pool;
+        this.voters = source.voters;
+        this.tail = source.tail;
+        this.count = source.count;
+    }
+
+    /** @return a new version with the current ballots, sharing the arrays. */
+    public BallotStore share() {
+        return new BallotStore(this);
+    }
+
+    public int size() { return count; }
+    public int electionId() { return electionId; }
+
+    public int id(int index) { return ids[check(index)]; }
+    public int voterId(int index) { return voterIds[check(index)]; }
+    public boolean isSubmitted(int index) { return submittedAt[check(index)] != NOT_SUBMITTED; }
+    /** @return submission epoch millis, or {@link #NOT_SUBMITTED}. */
+    public long submittedAtEpochMillis(int index) { return submittedAt[check(index)]; }
+    /** @return the submission timestamp, or null when not submitted (allocates). */
+    public TimeStampDto submittedAt(int index) {
+        long at = submittedAt[check(index)];
+        return at == NOT_SUBMITTED ? null : TimeStampDto.ofEpochMillis(at);
+    }
+    /** @return the embedded voter details, or null. */
+    public VoterDto voter(int index) {
+        check(index);
+        return voters == null ? null : voters[index];
+    }
+
+    public int selectionCount(int index) { return offsets[check(index) + 1] - offsets[index]; }
+    /** @return the candidate id at {@code rank} (0-based) of ballot {@code index}. */
+    public int selection(int index, int rank) {
+        int from = offsets[check(index)];
+        int n = offsets[index + 1] - from;
+        if (rank < 0 || rank >= n) throw new IndexOutOfBoundsException("rank " + rank + " of " + n);
+        return pool[from + rank];
+    }
+    /** @return the candidate ids of ballot {@code index} in rank order, without boxing. */
+    public IntStream selections(int index) {
+        return Arrays.stream(pool, offsets[check(index)], offsets[index + 1]);
+    }
+    /** @return read-only list view of the candidate ids of ballot {@code index}; boxes on access only. */
+    public List<Integer> selectionList(int index) {
+        int from = offsets[check(index)];
+        int n = offsets[index + 1] - from;
+        int[] p = pool;
+        return new AbstractList<>() {
+            @Override public Integer get(int rank) { return p[from + Objects.checkIndex(rank, n)]; }
+            @Override public int size() { return n; }
+        };
+    }
+
+    /** @return ballot {@code index} as a standalone DTO (allocates; for exports and diffs). */
+    public BallotDto toDto(int index) {
+        BallotDto b = new BallotDto(id(index), electionId, voterIds[index]);
+        for (int k = offsets[index]; k < offsets[index + 1]; k++) b.addSelection(pool[k]);
+        b.setSubmittedAt(submittedAt(index));
+        b.setVoter(voter(index));
+        return b;
+    }
+
+    /**
+     * Approximate heap footprint of the arrays reachable from this version, in bytes (array headers included,
+     * capacity counted, embedded voters not).
+     */
+    public long estimatedBytes() {
+        long bytes = 5L * 16 + (long) ids.length * 4 + (long) voterIds.length * 4 + (long) submittedAt.length * 8
+                + (long) offsets.length * 4 + (long) pool.length * 4;
+        if (voters != null) bytes += 16 + (long) voters.length * 4;
+        return bytes;
+    }
+
+    // --- appends (via ElectionDto, which keeps its indexes in step) ---
+
+    void append(int id, int voterId, int[] selections, long submittedAtEpochMillis, VoterDto voter) {
+        int used = offsets[count];
+        if (count != tail.count || count == ids.length || used + selections.length > pool.length) {
+            // Another version already appended past our end, or an array is full: continue on private arrays
+            int capacity = count == ids.length ? count + (count >> 1) + 1 : ids.length;
+            int poolCapacity = Math.max(pool.length, used + selections.length);
+            if (used + selections.length > pool.length) poolCapacity += poolCapacity >> 1;
+            ids = Arrays.copyOf(ids, capacity);
+            voterIds = Arrays.copyOf(voterIds, capacity);
+            submittedAt = Arrays.copyOf(submittedAt, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            pool = Arrays.copyOf(pool, poolCapacity);
+            if (voters != null) voters = Arrays.copyOf(voters, capacity);
+            tail = new Tail();
+        }
+        if (voter != null && voters == null) voters = new VoterDto[ids.length];
+        ids[count] = id;
+        voterIds[count] = voterId;
+        submittedAt[count] = submittedAtEpochMillis;
+        System.arraycopy(selections, 0, pool, used, selections.length);
+        offsets[count + 1] = used + selections.length;
+        if (voters != null) voters[count] = voter;
+        count++;
+        tail.count = count;
+    }
+
+    void append(BallotDto ballot) {
+        int[] selections = ballot.getSelections().stream().mapToInt(Integer::intValue).toArray();
+        TimeStampDto at = ballot.getSubmittedAt();
+        append(ballot.getId(), ballot.getVoterId(), selections, at == null ? NOT_SUBMITTED : at.toEpochMillis(), ballot.getVoter());
+    }
+
+    private int check(int index) {
+        return Objects.checkIndex(index, count);
+    }
+
+    /** Writes the store as a JSON array of ballots (the shape of {@link BallotDto}) and reads it back. */
+    static final class JsonAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != BallotStore.class) return null;
+            TypeAdapter<BallotDto> ballot = gson.getAdapter(BallotDto.class);
+            return (TypeAdapter<T>) new TypeAdapter<BallotStore>() {
+                @Override
+                public void write(JsonWriter out, BallotStore store) throws IOException {
+                    if (store == null) {
+                        out.nullValue();
+                        return;
+                    }
+                    out.beginArray();
+                    for (int i = 0; i < store.count; i++) ballot.write(out, store.toDto(i));
+                    out.endArray();
+                }
+
+                @Override
+                public BallotStore read(JsonReader in) throws IOException {
+                    in.beginArray();
+                    List<BallotDto> read = new ArrayList<>();
+                    while (in.hasNext()) read.add(ballot.read(in));
+                    in.endArray();
+                    BallotStore store = new BallotStore(read.isEmpty() ? 0 : read.getFirst().getElectionId());
+                    read.forEach(store::append);
+                    return store;
+                }
+            };
+        }
+    }
+}
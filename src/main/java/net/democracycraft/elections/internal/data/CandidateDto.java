@@ -45,6 +45,14 @@ public class CandidateDto implements Dto {
 
     public String getHeadDatabaseId() { return headDatabaseId; }
 
+    /** @return an independent copy; the head item bytes are shared, as they are replaced rather than modified. */
+    public CandidateDto copy() {
+        CandidateDto c = new CandidateDto(id, name, headDatabaseId);
+        c.party = party;
+        c.headItemBytes = headItemBytes;
+        return c;
+    }
+
     /**
      * @return optional serialized ItemStack (player head) to display in dialogs.
      */
@@ -1,11 +1,15 @@
 package net.democracycraft.elections.internal.data;
 
+import com.google.gson.annotations.JsonAdapter;
+import net.democracycraft.elections.internal.util.collection.PersistentIntMap;
+import net.democracycraft.elections.internal.util.collection.SharedAppendList;
+
 import java.util.*;
 
 /**
  * DTO representing an election and its mutable state during its lifecycle.
  * Contains metadata (title, system, minimum votes), requirements, candidates, polls,
- * ballots, voter registry, status changes, and temporal attributes (created/closes/duration).
+ * ballots, voter registry, status changes, and temporal attributes (created/opens/closes/duration).
  */
 public class ElectionDto implements Dto {
     private final int id;
@@ -13,17 +17,34 @@ public class ElectionDto implements Dto {
     private ElectionStatus status;
     private VotingSystem system;
     private int minimumVotes;
+    /** Seats filled by the election (PREFERENTIAL counts elect this many candidates). */
+    private int seats = 1;
     private RequirementsDto requirements;
     private final List<CandidateDto> candidates = new ArrayList<>();
+    private final transient Map<Integer, CandidateDto> candidatesById = new HashMap<>();
     private final List<PollDto> polls = new ArrayList<>();
-    private final List<BallotDto> ballots = new ArrayList<>();
+    @JsonAdapter(BallotStore.JsonAdapterFactory.class)
+    private final BallotStore ballots;
+    /** Distinct selection sequences of the submitted ballots, with their multiplicities. */
+    private final transient BallotGroups ballotGroups;
+    /** Running per-candidate and per-hour counts of the submitted ballots. */
+    private transient LiveTally liveTally;
+    /** Index in {@link #ballots} of each voter's (first) ballot. */
+    private transient PersistentIntMap<Integer> ballotsByVoter = PersistentIntMap.empty();
     /**
-     * Internal voter registry. Marked transient to exclude from export JSON; voters can be embedded per-ballot when needed.
+     * Internal voter registry in registration order. Marked transient to exclude from export JSON; voters can be embedded per-ballot when needed.
      */
-    private final transient Map<Integer, VoterDto> votersById = new LinkedHashMap<>();
-    private final List<StatusChangeDto> statusChanges = new ArrayList<>();
+    private final transient SharedAppendList<VoterDto> voters;
+    private transient PersistentIntMap<VoterDto> votersById = PersistentIntMap.empty();
+    /** Voters by hash of their lower-cased name; a bucket holds more than one voter only on hash collisions. */
+    private transient PersistentIntMap<List<VoterDto>> votersByName = PersistentIntMap.empty();
+    private final SharedAppendList<StatusChangeDto> statusChanges;
+    /** Highest ids seen so far; only grow, so ids of removed candidates are not handed out again. */
+    private transient int maxCandidateId, maxVoterId, maxBallotId;
     /** When null, the election does not auto-close. */
     private TimeStampDto closesAt;
+    /** When non-null, a CLOSED election opens automatically at this time. */
+    private TimeStampDto opensAt;
     private final TimeStampDto createdAt;
 
     /** Optional duration fields (null when not defined). */
@@ -33,6 +54,13 @@ public class ElectionDto implements Dto {
     /** Per-election ballot UI mode (defaults to MANUAL). */
     private BallotMode ballotMode = BallotMode.MANUAL;
 
+    /** Epoch millis the duration is counted from (last OPENED change or creation); not exported. */
+    private transient long durationStartEpochMillis;
+
+    /** Set on summaries (see {@link #summarize()}), which carry counts instead of voters and ballots. */
+    private transient boolean summary;
+    private transient int summaryVoterCount, summaryBallotCount;
+
     public ElectionDto(int id, String title, VotingSystem system, int minimumVotes, RequirementsDto requirements, TimeStampDto createdAt) {
         this.id = id;
         this.title = title;
@@ -41,6 +69,100 @@ public class ElectionDto implements Dto {
         this.minimumVotes = Math.max(1, minimumVotes);
         this.requirements = requirements;
         this.createdAt = createdAt;
+        this.ballots = new BallotStore(id);
+        this.ballotGroups = new BallotGroups();
+        this.liveTally = new LiveTally(id, system == VotingSystem.PREFERENTIAL);
+        this.voters = new SharedAppendList<>();
+        this.statusChanges = new SharedAppendList<>();
+    }
+
+    private ElectionDto(ElectionDto source) {
+        this.id = source.id;
+        this.title = source.title;
+        this.status = source.status;
+        this.system = source.system;
+        this.minimumVotes = source.minimumVotes;
+        this.seats = source.seats;
+        this.requirements = source.requirements;
+        for (CandidateDto c : source.candidates) addCandidate(c.copy());
+        this.polls.addAll(source.polls);
+        this.ballots = source.ballots.share();
+        this.ballotGroups = source.ballotGroups.share();
+        this.liveTally = source.liveTally;
+        this.ballotsByVoter = source.ballotsByVoter;
+        this.voters = source.voters.share();
+        this.votersById = source.votersById;
+        this.votersByName = source.votersByName;
+        this.statusChanges = source.statusChanges.share();
+        this.maxCandidateId = source.maxCandidateId;
+        this.maxVoterId = source.maxVoterId;
+        this.maxBallotId = source.maxBallotId;
+        this.closesAt = source.closesAt;
+        this.opensAt = source.opensAt;
+        this.createdAt = source.createdAt;
+        this.durationDays = source.durationDays;
+        this.durationTime = source.durationTime;
+        this.ballotMode = source.ballotMode;
+        this.durationStartEpochMillis = source.durationStartEpochMillis;
+        this.summary = source.summary;
+        this.summaryVoterCount = source.summaryVoterCount;
+        this.summaryBallotCount = source.summaryBallotCount;
+    }
+
+    /**
+     * Copy used for copy-on-write publishing: changing the copy never affects this instance.
+     * Candidates are copied; ballots, voters, status changes and their indexes share their storage with this instance.
+     */
+    public ElectionDto copy() { return new ElectionDto(this); }
+
+    /**
+     * Lightweight copy for elections that are not kept resident: metadata, requirements, candidates (without head
+     * items), polls and timestamps, plus the voter and ballot counts. Voters, ballots and status changes are left out.
+     */
+    public ElectionDto summarize() {
+        ElectionDto s = new ElectionDto(id, title, system, minimumVotes, requirements, createdAt);
+        s.status = status;
+        s.seats = seats;
+        for (CandidateDto c : candidates) {
+            CandidateDto copy = c.copy();
+            copy.setHeadItemBytes(null);
+            s.addCandidate(copy);
+        }
+        s.polls.addAll(polls);
+        s.maxCandidateId = maxCandidateId;
+        s.maxVoterId = maxVoterId;
+        s.maxBallotId = maxBallotId;
+        s.closesAt = closesAt;
+        s.opensAt = opensAt;
+        s.durationDays = durationDays;
+        s.durationTime = durationTime;
+        s.ballotMode = ballotMode;
+        s.durationStartEpochMillis = durationStartEpochMillis;
+        s.markSummary(getVoterCount(), getBallotCount());
+        return s;
+    }
+
+    /** Marks a DTO built without voters, ballots and status changes as a summary with the given counts (for loaders). */
+    public void markSummary(int voterCount, int ballotCount) {
+        this.summary = true;
+        this.summaryVoterCount = voterCount;
+        this.summaryBallotCount = ballotCount;
+    }
+
+    /** @return true when this is a summary: voters, ballots, status changes and candidate head items are not loaded. */
+    public boolean isSummary() { return summary; }
+
+    /**
+     * Rough heap footprint in bytes (ballot columns, voters, status changes, candidate head items), used to weigh
+     * resident elections against the mirror's memory budget.
+     */
+    public long estimatedBytes() {
+        long bytes = 512 + ballots.estimatedBytes() + ballotGroups.estimatedBytes() + voters.size() * 96L + statusChanges.size() * 160L;
+        for (CandidateDto c : candidates) {
+            byte[] head = c.getHeadItemBytes();
+            bytes += 96 + (head == null ? 0 : 16 + head.length);
+        }
+        return bytes;
     }
 
     public int getId() { return id; }
@@ -51,36 +173,158 @@ public class ElectionDto implements Dto {
     public void setStatus(ElectionStatus status) { this.status = status; }
 
     public VotingSystem getSystem() { return system; }
-    public void setSystem(VotingSystem system) { this.system = system; }
+    public void setSystem(VotingSystem system) {
+        this.system = system;
+        // The pairwise matrix is only kept for PREFERENTIAL ballots: recount privately when that changes
+        if (liveTally.pairwise() != (system == VotingSystem.PREFERENTIAL)) {
+            liveTally = LiveTally.count(ballots, ballots.size(), system == VotingSystem.PREFERENTIAL);
+        }
+    }
 
     public int getMinimumVotes() { return minimumVotes; }
     public void setMinimumVotes(int minimumVotes) { this.minimumVotes = Math.max(1, minimumVotes); }
 
+    /** @return seats to fill, at least 1 (also for JSON written before seats existed). */
+    public int getSeats() { return Math.max(1, seats); }
+    public void setSeats(int seats) { this.seats = Math.max(1, seats); }
+
     public RequirementsDto getRequirements() { return requirements; }
     public void setRequirements(RequirementsDto requirements) { this.requirements = requirements; }
 
     public List<CandidateDto> getCandidates() { return Collections.unmodifiableList(candidates); }
     public List<PollDto> getPolls() { return Collections.unmodifiableList(polls); }
-    public List<BallotDto> getBallots() { return Collections.unmodifiableList(ballots); }
-    public Map<Integer, VoterDto> getVotersById() { return Collections.unmodifiableMap(votersById); }
+    /** @return read-only view materializing a {@link BallotDto} per access; hot paths should use {@link #getBallotStore()}. */
+    public List<BallotDto> getBallots() {
+        BallotStore store = ballots;
+        return new AbstractList<>() {
+            @Override public BallotDto get(int index) { return store.toDto(index); }
+            @Override public int size() { return store.size(); }
+        };
+    }
+    /** @return the columnar ballot storage (read-only; ballots are appended through this DTO). */
+    public BallotStore getBallotStore() { return ballots; }
+    /** @return the distinct sequences of the submitted ballots in {@link #getBallotStore()}, with their weights. */
+    public BallotGroups getBallotGroups() { return ballotGroups; }
+    /** @return the running counts of this version's submitted ballots, read without locking in O(candidates + hours). */
+    public LiveTally.Snapshot getLiveTally() {
+        return liveTally.read(candidates, system, ballots.size(), ballots);
+    }
+    /**
+     * @return ballots preferring candidate {@code i} to candidate {@code j} at {@code [i][j]}, indexed like
+     * {@link #getCandidates()} (a ranked candidate is preferred to unranked ones), read from running counts in O(n^2)
+     */
+    public int[][] getPairwisePreferences() {
+        return liveTally.readPreferences(candidates, ballots.size(), ballots);
+    }
+    /** @return read-only view of the voter registry in registration order, with O(log32 n) lookups by id. */
+    public Map<Integer, VoterDto> getVotersById() { return new VoterMapView(voters, votersById); }
     public List<StatusChangeDto> getStatusChanges() { return Collections.unmodifiableList(statusChanges); }
+    /** @return registered voters (also known for summaries). */
+    public int getVoterCount() { return summary ? summaryVoterCount : voters.size(); }
+    /** @return stored ballots (also known for summaries). */
+    public int getBallotCount() { return summary ? summaryBallotCount : ballots.size(); }
 
     public TimeStampDto getClosesAt() { return closesAt; }
     public void setClosesAt(TimeStampDto closesAt) { this.closesAt = closesAt; }
 
+    public TimeStampDto getOpensAt() { return opensAt; }
+    public void setOpensAt(TimeStampDto opensAt) { this.opensAt = opensAt; }
+
     public TimeStampDto getCreatedAt() { return createdAt; }
 
-    public void addCandidate(CandidateDto dto) { this.candidates.add(dto); }
-    public boolean removeCandidate(int candidateId) { return this.candidates.removeIf(c -> c.getId() == candidateId); }
+    public void addCandidate(CandidateDto dto) {
+        this.candidates.add(dto);
+        this.candidatesById.put(dto.getId(), dto);
+        this.maxCandidateId = Math.max(maxCandidateId, dto.getId());
+    }
+    public CandidateDto findCandidate(int candidateId) { return candidatesById.get(candidateId); }
+    public boolean removeCandidate(int candidateId) {
+        if (candidatesById.remove(candidateId) == null) return false;
+        return this.candidates.removeIf(c -> c.getId() == candidateId);
+    }
+    /** @return an id above every candidate id this election has held. */
+    public int nextCandidateId() { return maxCandidateId + 1; }
 
     public void addPoll(PollDto dto) { this.polls.add(dto); }
+    public void clearPolls() { this.polls.clear(); }
     public boolean removePoll(PollDto dto) { return this.polls.removeIf(p -> Objects.equals(p.world(), dto.world()) && p.x()==dto.x() && p.y()==dto.y() && p.z()==dto.z()); }
 
-    public void addBallot(BallotDto ballot) { this.ballots.add(ballot); }
-    public void addVoter(VoterDto voter) { this.votersById.put(voter.id(), voter); }
+    public void addBallot(BallotDto ballot) {
+        this.ballots.append(ballot);
+        int index = ballots.size() - 1;
+        ballotGroups.add(ballots, index, ballots.selections(index).toArray());
+        countBallot(index);
+        indexBallot(ballot.getId(), ballot.getVoterId());
+    }
 
     /** Explicit alias for clarity. */
-    public void appendBallot(BallotDto ballot) { this.ballots.add(ballot); }
+    public void appendBallot(BallotDto ballot) { addBallot(ballot); }
+
+    /**
+     * Appends a ballot without building a {@link BallotDto}.
+     * @param submittedAtEpochMillis submission time, or {@link BallotStore#NOT_SUBMITTED}
+     */
+    public void appendBallot(int ballotId, int voterId, int[] selections, long submittedAtEpochMillis) {
+        appendBallot(ballotId, voterId, selections, submittedAtEpochMillis, null);
+    }
+
+    /** Same as {@link #appendBallot(int, int, int[], long)}, embedding voter details (for exports; may be null). */
+    public void appendBallot(int ballotId, int voterId, int[] selections, long submittedAtEpochMillis, VoterDto voter) {
+        this.ballots.append(ballotId, voterId, selections, submittedAtEpochMillis, voter);
+        ballotGroups.add(ballots, ballots.size() - 1, selections);
+        countBallot(ballots.size() - 1);
+        indexBallot(ballotId, voterId);
+    }
+
+    private void countBallot(int index) {
+        // Another version counted past our end: continue on a private tally of our own ballots
+        if (liveTally.counted() != index) liveTally = LiveTally.count(ballots, index, system == VotingSystem.PREFERENTIAL);
+        liveTally.add(ballots, index);
+    }
+
+    private void indexBallot(int ballotId, int voterId) {
+        if (!ballotsByVoter.containsKey(voterId)) this.ballotsByVoter = ballotsByVoter.with(voterId, ballots.size() - 1);
+        this.maxBallotId = Math.max(maxBallotId, ballotId);
+    }
+
+    /** @return the index in {@link #getBallotStore()} of the voter's (first) ballot, or -1 when the voter has none. */
+    public int ballotIndexOfVoter(int voterId) {
+        Integer index = ballotsByVoter.get(voterId);
+        return index == null ? -1 : index;
+    }
+    /** @return an id above every ballot id of this election. */
+    public int nextBallotId() { return maxBallotId + 1; }
+
+    /** Registers a voter; ignored when a voter with the same id is already registered. */
+    public void addVoter(VoterDto voter) {
+        if (votersById.containsKey(voter.id())) return;
+        this.voters.add(voter);
+        this.votersById = votersById.with(voter.id(), voter);
+        int hash = nameHash(voter.name());
+        List<VoterDto> bucket = votersByName.get(hash);
+        if (bucket == null) {
+            bucket = List.of(voter);
+        } else {
+            List<VoterDto> grown = new ArrayList<>(bucket);
+            grown.add(voter);
+            bucket = List.copyOf(grown);
+        }
+        this.votersByName = votersByName.with(hash, bucket);
+        this.maxVoterId = Math.max(maxVoterId, voter.id());
+    }
+    public VoterDto findVoter(int voterId) { return votersById.get(voterId); }
+    /** @return the voter registered under this name, compared case-insensitively, or null. */
+    public VoterDto findVoterByName(String name) {
+        if (name == null) return null;
+        List<VoterDto> bucket = votersByName.get(nameHash(name));
+        if (bucket == null) return null;
+        for (VoterDto v : bucket) if (v.name().equalsIgnoreCase(name)) return v;
+        return null;
+    }
+    /** @return an id above every voter id of this election. */
+    public int nextVoterId() { return maxVoterId + 1; }
+
+    private static int nameHash(String name) { return name == null ? 0 : name.toLowerCase(Locale.ROOT).hashCode(); }
 
     public void addStatusChange(StatusChangeDto change) { this.statusChanges.add(change); }
 
@@ -89,8 +333,43 @@ public class ElectionDto implements Dto {
     public void setDurationDays(Integer durationDays) { this.durationDays = durationDays; }
     public TimeDto getDurationTime() { return durationTime; }
     public void setDurationTime(TimeDto durationTime) { this.durationTime = durationTime; }
+    public long getDurationStartEpochMillis() { return durationStartEpochMillis; }
+    public void setDurationStartEpochMillis(long durationStartEpochMillis) { this.durationStartEpochMillis = durationStartEpochMillis; }
 
     // Ballot mode
     public BallotMode getBallotMode() { return ballotMode; }
     public void setBallotMode(BallotMode ballotMode) { this.ballotMode = ballotMode == null ? BallotMode.MANUAL : ballotMode; }
+
+    /** Map view over the voter list (iteration order) and the id index (lookups). */
+    private static final class VoterMapView extends AbstractMap<Integer, VoterDto> {
+        private final List<VoterDto> voters;
+        private final PersistentIntMap<VoterDto> byId;
+
+        VoterMapView(List<VoterDto> voters, PersistentIntMap<VoterDto> byId) {
+            this.voters = voters;
+            this.byId = byId;
+        }
+
+        @Override public VoterDto get(Object key) { return key instanceof Integer id ? byId.get(id) : null; }
+        @Override public boolean containsKey(Object key) { return get(key) != null; }
+        @Override public int size() { return voters.size(); }
+
+        @Override
+        public Set<Entry<Integer, VoterDto>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public int size() { return voters.size(); }
+                @Override
+                public Iterator<Entry<Integer, VoterDto>> iterator() {
+                    Iterator<VoterDto> it = voters.iterator();
+                    return new Iterator<>() {
+                        @Override public boolean hasNext() { return it.hasNext(); }
+                        @Override public Entry<Integer, VoterDto> next() {
+                            VoterDto v = it.next();
+                            return Map.entry(v.id(), v);
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
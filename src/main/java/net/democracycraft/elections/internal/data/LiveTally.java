@@ -0,0 +1,255 @@
+package net.democracycraft.elections.internal.data;
+
+import net.democracycraft.elections.internal.util.collection.PersistentIntMap;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+/**
+ * Running counters of an election's submitted ballots, updated as ballots are appended so "who's ahead" views read
+ * O(candidates) instead of passing over every ballot.
+ *
+ * Contract:
+ * - Counts first preferences and selections (approvals) per candidate, plus submitted ballots per hour. Ballots
+ *   that are not submitted are ignored. Candidates get dense slots in the order the tally first sees them, so the
+ *   counters stay O(candidates) however large candidate ids grow (SQL ids are global across elections).
+ * - PREFERENTIAL tallies also keep the pairwise matrix of ranked candidates: {@code above[a][b]} ballots rank both
+ *   with a above b. A ranked candidate is preferred to every unranked one, so "a over b" is
+ *   {@code approvals[a] - above[b][a]} and a ballot costs O(k^2) for k selections, whatever the number of candidates
+ *   (and candidates added later need no backfill). Other tallies recount the matrix when it is asked for.
+ * - Shared by the versions of an {@link ElectionDto} like its {@link BallotStore}: it counts the ballots of the newest
+ *   version. Appending to an older version first recounts a private tally from its store.
+ * - Single writer (appends are serialized via {@link ElectionDto}), lock-free readers: counters are atomic arrays and
+ *   reads validate against a sequence number, so they never see a half-counted ballot. A read that keeps racing
+ *   appends, or finds counts that do not match its version, recounts privately.
+ */
+public final class LiveTally {
+
+    /**
+     * Counts of one election version.
+     *
+     * @param ballots        submitted ballots
+     * @param votes          per candidate id in candidate order: first preferences for PREFERENTIAL, selections for BLOCK
+     * @param totalVotes     sum of {@code votes}
+     * @param ballotsPerHour submitted ballots per hour, keyed by the hour's start in epoch millis (hours without ballots are left out)
+     */
+    public record Snapshot(int electionId, VotingSystem system, int ballots, Map<Integer, Integer> votes, int totalVotes,
+                           SortedMap<Long, Integer> ballotsPerHour) {
+
+        /** @return ballots submitted during the hour containing {@code epochMillis}. */
+        public int ballotsInHourOf(long epochMillis) {
+            return ballotsPerHour.getOrDefault(Math.floorDiv(epochMillis, HOUR_MILLIS) * HOUR_MILLIS, 0);
+        }
+    }
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final int READ_ATTEMPTS = 4;
+
+    private final int electionId;
+    /** Whether {@link #above} is kept, i.e. the ballots are PREFERENTIAL. */
+    private final boolean pairwise;
+    /** Candidate id to counter slot; only grows. */
+    private volatile PersistentIntMap<Integer> slots = PersistentIntMap.empty();
+    private volatile AtomicIntegerArray firsts = new AtomicIntegerArray(16);
+    private volatile AtomicIntegerArray approvals = new AtomicIntegerArray(16);
+    /** Ballots ranking slot a above slot b at {@code a * width + b}. */
+    private volatile AtomicIntegerArray above = new AtomicIntegerArray(0);
+    private volatile int width;
+    /** Ballots per hour since {@link #originHour}. */
+    private volatile AtomicIntegerArray hours = new AtomicIntegerArray(0);
+    private volatile long originHour;
+    private volatile int submitted;
+    /** Store entries (submitted or not) counted so far. */
+    private volatile int counted;
+    /** Odd while an append is being counted. */
+    private volatile int sequence;
+
+    LiveTally(int electionId, boolean pairwise) {
+        this.electionId = electionId;
+        this.pairwise = pairwise;
+    }
+
+    /** @return a tally of the first {@code size} ballots of {@code store}, keeping the pairwise matrix when asked to. */
+    static LiveTally count(BallotStore store, int size, boolean pairwise) {
+        LiveTally tally = new LiveTally(store.electionId(), pairwise);
+        for (int i = 0; i < size; i++) tally.add(store, i);
+        return tally;
+    }
+
+    /** @return store entries counted so far; an append to a version of another size must recount first. */
+    int counted() { return counted; }
+
+    /** @return true when the pairwise matrix is kept. */
+    boolean pairwise() { return pairwise; }
+
+    /** Counts the ballot at {@code index} of {@code store}, which must be the next uncounted one. */
+    void add(BallotStore store, int index) {
+        sequence++;
+        try {
+            if (!store.isSubmitted(index)) return;
+            int n = store.selectionCount(index);
+            int[] ranked = new int[n];
+            int k = 0, maxSlot = -1;
+            for (int r = 0; r < n; r++) {
+                int candidateId = store.selection(index, r);
+                if (candidateId < 0) continue;
+                int slot = slotOf(candidateId);
+                if (k == 0) firsts = increment(firsts, slot);
+                approvals = increment(approvals, slot);
+                ranked[k++] = slot;
+                maxSlot = Math.max(maxSlot, slot);
+            }
+            if (pairwise && k > 1) countPairs(ranked, k, maxSlot);
+            countHour(Math.floorDiv(store.submittedAtEpochMillis(index), HOUR_MILLIS));
+            submitted++;
+        } finally {
+            counted++;
+            sequence++;
+        }
+    }
+
+    /**
+     * Reads the counters for the version whose store holds {@code size} ballots.
+     * @param candidates the version's candidates, in the order {@link Snapshot#votes()} lists them
+     */
+    Snapshot read(List<CandidateDto> candidates, VotingSystem system, int size, BallotStore store) {
+        return read(size, store, tally -> tally.snapshot(candidates, system));
+    }
+
+    /**
+     * Reads the pairwise matrix for the version whose store holds {@code size} ballots.
+     * @return ballots preferring {@code candidates[i]} to {@code candidates[j]} at {@code [i][j]}
+     */
+    int[][] readPreferences(List<CandidateDto> candidates, int size, BallotStore store) {
+        if (!pairwise) return count(store, size, true).preferences(candidates);
+        return read(size, store, tally -> tally.preferences(candidates));
+    }
+
+    private <T> T read(int size, BallotStore store, Function<LiveTally, T> reader) {
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            int before = sequence;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (counted != size) break;
+            T value = reader.apply(this);
+            if (sequence == before) return value;
+        }
+        return reader.apply(count(store, size, pairwise));
+    }
+
+    private Snapshot snapshot(List<CandidateDto> candidates, VotingSystem system) {
+        // Slots before counters: a slot is published before the counters grow to hold it
+        PersistentIntMap<Integer> slotMap = slots;
+        AtomicIntegerArray counts = system == VotingSystem.PREFERENTIAL ? firsts : approvals;
+        Map<Integer, Integer> votes = new LinkedHashMap<>(candidates.size() * 4 / 3 + 1);
+        int total = 0;
+        for (CandidateDto c : candidates) {
+            int id = c.getId();
+            Integer slot = slotMap.get(id);
+            int v = slot != null && slot < counts.length() ? counts.get(slot) : 0;
+            votes.put(id, v);
+            total += v;
+        }
+        SortedMap<Long, Integer> perHour = new TreeMap<>();
+        AtomicIntegerArray h = hours;
+        long origin = originHour;
+        for (int i = 0; i < h.length(); i++) {
+            int v = h.get(i);
+            if (v != 0) perHour.put((origin + i) * HOUR_MILLIS, v);
+        }
+        return new Snapshot(electionId, system, submitted, Collections.unmodifiableMap(votes), total,
+                Collections.unmodifiableSortedMap(perHour));
+    }
+
+    private int[][] preferences(List<CandidateDto> candidates) {
+        int n = candidates.size();
+        PersistentIntMap<Integer> slotMap = slots;
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer slot = slotMap.get(candidates.get(i).getId());
+            ids[i] = slot == null ? -1 : slot;
+        }
+        // Width before matrix: the matrix is published before its width, so it is never narrower than the width read
+        int w = width;
+        AtomicIntegerArray ranked = approvals, pairs = above;
+        int[][] out = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            int a = ids[i];
+            if (a < 0 || a >= ranked.length()) continue;
+            int rankedA = ranked.get(a);
+            for (int j = 0; j < n; j++) {
+                int b = ids[j];
+                if (i == j) continue;
+                out[i][j] = rankedA - (a < w && b >= 0 && b < w ? pairs.get(b * w + a) : 0);
+            }
+        }
+        return out;
+    }
+
+    /** @return the counter slot of a candidate, handing out the next one on first sight (writer only). */
+    private int slotOf(int candidateId) {
+        PersistentIntMap<Integer> slotMap = slots;
+        Integer slot = slotMap.get(candidateId);
+        if (slot != null) return slot;
+        int next = slotMap.size();
+        slots = slotMap.with(candidateId, next);
+        return next;
+    }
+
+    private void countPairs(int[] ranked, int k, int maxSlot) {
+        AtomicIntegerArray pairs = above;
+        int w = width;
+        if (maxSlot >= w) {
+            int grown = Math.max(maxSlot + 1, w + (w >> 1) + 1);
+            AtomicIntegerArray moved = new AtomicIntegerArray(grown * grown);
+            for (int a = 0; a < w; a++) for (int b = 0; b < w; b++) moved.set(a * grown + b, pairs.get(a * w + b));
+            pairs = moved;
+            w = grown;
+        }
+        for (int i = 0; i < k; i++) {
+            int row = ranked[i] * w;
+            for (int j = i + 1; j < k; j++) pairs.incrementAndGet(row + ranked[j]);
+        }
+        above = pairs;
+        width = w;
+    }
+
+    private void countHour(long hour) {
+        AtomicIntegerArray h = hours;
+        if (h.length() == 0) {
+            originHour = hour;
+            h = new AtomicIntegerArray(24);
+        } else if (hour < originHour) {
+            // Ballot older than every counted one (loaded out of order): move the origin back
+            int shift = Math.toIntExact(originHour - hour);
+            AtomicIntegerArray moved = new AtomicIntegerArray(h.length() + shift);
+            for (int i = 0; i < h.length(); i++) moved.set(i + shift, h.get(i));
+            h = moved;
+            originHour = hour;
+        }
+        int slot = Math.toIntExact(hour - originHour);
+        if (slot >= h.length()) h = grow(h, slot);
+        h.incrementAndGet(slot);
+        hours = h;
+    }
+
+    private static AtomicIntegerArray increment(AtomicIntegerArray counts, int index) {
+        if (index >= counts.length()) counts = grow(counts, index);
+        counts.incrementAndGet(index);
+        return counts;
+    }
+
+    private static AtomicIntegerArray grow(AtomicIntegerArray counts, int index) {
+        AtomicIntegerArray grown = new AtomicIntegerArray(Math.max(index + 1, counts.length() + (counts.length() >> 1) + 1));
+        for (int i = 0; i < counts.length(); i++) grown.set(i, counts.get(i));
+        return grown;
+    }
+}
@@ -10,10 +10,13 @@ public enum StateChangeType implements Dto {
     TITLE_CHANGED,
     SYSTEM_CHANGED,
     MINIMUM_CHANGED,
+    SEATS_CHANGED,
     REQUIREMENTS_CHANGED,
     CLOSES_AT_SET,
     CLOSES_AT_CHANGED,
     CLOSES_AT_CLEARED,
+    OPENS_AT_SET,
+    OPENS_AT_CLEARED,
     DURATION_SET,
     DURATION_CHANGED,
     DURATION_CLEARED,
@@ -1,5 +1,19 @@
 package net.democracycraft.elections.internal.data;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 public record TimeStampDto(DateDto date, TimeDto time) implements Dto{
 
+    /** @return the UTC timestamp of an epoch instant, truncated to the second. */
+    public static TimeStampDto ofEpochMillis(long epochMillis) {
+        LocalDateTime t = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L), 0, ZoneOffset.UTC);
+        return new TimeStampDto(new DateDto(t.getDayOfMonth(), t.getMonthValue(), t.getYear()), new TimeDto(t.getSecond(), t.getMinute(), t.getHour()));
+    }
+
+    /** @return epoch millis of this timestamp, read as UTC. */
+    public long toEpochMillis() {
+        return LocalDateTime.of(date.year(), date.month(), date.day(), time.hour(), time.minute(), time.second())
+                .toEpochSecond(ZoneOffset.UTC) * 1000L;
+    }
 }
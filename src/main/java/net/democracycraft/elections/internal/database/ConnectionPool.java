@@ -0,0 +1,310 @@
+package net.democracycraft.elections.internal.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Small bounded JDBC connection pool used by {@link MySQLManager}.
+ *
+ * Contract:
+ * - At most maximumPoolSize physical connections exist at any time; borrowers wait up to the borrow timeout for one.
+ * - Connections are validated on borrow (skipped when the connection was used in the last 500 ms).
+ * - Connections older than maxLifetime are retired on borrow/release and by the maintenance task.
+ * - Idle connections above minimumIdle are evicted after idleTimeout.
+ * - Released connections are reset to auto-commit, rolling back any unfinished transaction.
+ * - Each connection keeps an LRU {@link StatementCache}; it is closed together with the connection.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /** Window in which a recently used connection is trusted without a validation round trip. */
+    private static final long VALIDATION_BYPASS_MILLIS = 500L;
+
+    private final ConnectionFactory factory;
+    private final Settings settings;
+    private final Logger logger;
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed;
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder retired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    public ConnectionPool(ConnectionFactory factory, Settings settings, Logger logger) {
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.permits = new Semaphore(settings.maximumPoolSize(), true);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DemocracyElections-DBPool");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, Math.min(30_000L, settings.idleTimeoutMillis() / 2));
+        maintenance.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a validated connection, waiting up to the configured borrow timeout.
+     * The caller must hand it back through {@link #release(PooledConnection, boolean)}.
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        long t0 = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(settings.borrowTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a MySQL connection", e);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + settings.borrowTimeoutMillis() + "ms waiting for a MySQL connection (pool size " + settings.maximumPoolSize() + ")");
+        }
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isExpired(pc) || !isUsable(pc)) {
+                    retire(pc);
+                    continue;
+                }
+                break;
+            }
+            if (pc == null) pc = open();
+            pc.markBorrowed();
+            borrows.increment();
+            borrowWaitNanos.add(System.nanoTime() - t0);
+            return pc;
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection. Broken or expired connections are closed instead of being reused.
+     *
+     * @param broken true when the caller observed a connection-level failure
+     */
+    public void release(PooledConnection pc, boolean broken) {
+        if (pc == null) return;
+        try {
+            if (broken || closed || isExpired(pc) || !reset(pc)) {
+                retire(pc);
+            } else {
+                pc.markReturned();
+                idle.offerFirst(pc);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** @return a point-in-time view of pool usage counters. */
+    public Stats stats() {
+        int total = totalConnections.get();
+        int idleCount = idle.size();
+        double avgWaitMs = borrows.sum() == 0 ? 0.0 : (borrowWaitNanos.sum() / 1_000_000.0) / borrows.sum();
+        return new Stats(total, Math.max(0, total - idleCount), idleCount, settings.maximumPoolSize(),
+                permits.getQueueLength(), borrows.sum(), created.sum(), retired.sum(), timeouts.sum(),
+                validationFailures.sum(), avgWaitMs, statementCounters.hits.sum(), statementCounters.misses.sum(),
+                statementCounters.evictions.sum());
+    }
+
+    /** Opens connections until minimumIdle idle connections exist (best effort). */
+    public void fillToMinimumIdle() {
+        while (!closed && idle.size() < settings.minimumIdle() && totalConnections.get() < settings.maximumPoolSize()) {
+            if (!permits.tryAcquire()) return;
+            try {
+                PooledConnection pc = open();
+                pc.markReturned();
+                idle.offerLast(pc);
+            } catch (SQLException ex) {
+                logger.warning("Failed to open idle MySQL connection: " + ex.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /** Closes all idle connections and stops maintenance; borrowed connections are closed on release. */
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) retire(pc);
+    }
+
+    // --- internals ---
+
+    private PooledConnection open() throws SQLException {
+        Connection raw = factory.create();
+        totalConnections.incrementAndGet();
+        created.increment();
+        return new PooledConnection(raw, new StatementCache(raw, settings.statementCacheSize(), statementCounters));
+    }
+
+    private void retire(PooledConnection pc) {
+        if (!pc.retire()) return;
+        totalConnections.decrementAndGet();
+        retired.increment();
+        pc.statements().closeAll();
+        try {
+            pc.connection().close();
+        } catch (SQLException ignored) {}
+    }
+
+    private boolean isExpired(PooledConnection pc) {
+        return System.currentTimeMillis() - pc.createdAtMillis() >= settings.maxLifetimeMillis();
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsedMillis() < VALIDATION_BYPASS_MILLIS) return true;
+        try {
+            if (pc.connection().isValid(settings.validationTimeoutSeconds())) return true;
+        } catch (SQLException ignored) {}
+        validationFailures.increment();
+        return false;
+    }
+
+    /** Restores auto-commit mode so the next borrower starts from a clean session state. */
+    private boolean reset(PooledConnection pc) {
+        try {
+            Connection c = pc.connection();
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private void maintain() {
+        if (closed) return;
+        try {
+            long now = System.currentTimeMillis();
+            int surplus = idle.size() - settings.minimumIdle();
+            for (PooledConnection pc : idle) {
+                boolean expired = isExpired(pc);
+                boolean stale = surplus > 0 && now - pc.lastUsedMillis() >= settings.idleTimeoutMillis();
+                if ((expired || stale) && idle.remove(pc)) {
+                    retire(pc);
+                    if (stale) surplus--;
+                }
+            }
+            fillToMinimumIdle();
+        } catch (RuntimeException ex) {
+            logger.warning("MySQL pool maintenance failed: " + ex.getMessage());
+        }
+    }
+
+    /** Opens a new physical connection. */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Pool tuning parameters.
+     *
+     * @param maximumPoolSize          upper bound of physical connections
+     * @param minimumIdle              idle connections kept warm by the maintenance task
+     * @param borrowTimeoutMillis      max wait for a free connection before failing
+     * @param maxLifetimeMillis        age after which a connection is retired
+     * @param idleTimeoutMillis        idle time after which surplus connections are closed
+     * @param validationTimeoutSeconds timeout passed to {@link Connection#isValid(int)}
+     * @param statementCacheSize       prepared statements cached per connection (0 disables caching)
+     */
+    public record Settings(int maximumPoolSize, int minimumIdle, long borrowTimeoutMillis,
+                           long maxLifetimeMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+                           int statementCacheSize) {
+        public Settings {
+            maximumPoolSize = Math.max(1, maximumPoolSize);
+            minimumIdle = Math.max(0, Math.min(maximumPoolSize, minimumIdle));
+            borrowTimeoutMillis = Math.max(250L, borrowTimeoutMillis);
+            maxLifetimeMillis = Math.max(30_000L, maxLifetimeMillis);
+            idleTimeoutMillis = Math.max(10_000L, idleTimeoutMillis);
+            validationTimeoutSeconds = Math.max(1, validationTimeoutSeconds);
+            statementCacheSize = Math.max(0, statementCacheSize);
+        }
+    }
+
+    /**
+     * Snapshot of pool counters.
+     *
+     * @param total              physical connections currently open
+     * @param active             connections currently borrowed
+     * @param idle               connections waiting in the pool
+     * @param maximum            configured maximum pool size
+     * @param waiting            threads currently blocked in borrow
+     * @param borrows            successful borrows since start
+     * @param created            physical connections opened since start
+     * @param retired            physical connections closed since start
+     * @param timeouts           borrows that timed out
+     * @param validationFailures idle connections discarded because validation failed
+     * @param avgBorrowWaitMillis average time spent acquiring a connection
+     * @param statementHits      prepared statements served from a connection's cache
+     * @param statementMisses    prepared statements that had to be prepared
+     * @param statementEvictions cached statements closed to respect the per-connection bound
+     */
+    public record Stats(int total, int active, int idle, int maximum, int waiting, long borrows, long created,
+                        long retired, long timeouts, long validationFailures, double avgBorrowWaitMillis,
+                        long statementHits, long statementMisses, long statementEvictions) {
+
+        /** @return share of statement lookups served from cache, 0..1. */
+        public double statementHitRate() {
+            long lookups = statementHits + statementMisses;
+            return lookups == 0 ? 0.0 : (double) statementHits / lookups;
+        }
+    }
+
+    /** A physical connection plus the bookkeeping the pool needs. */
+    public static final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statements;
+        private final long createdAtMillis;
+        private volatile long lastUsedMillis;
+        private volatile boolean retired;
+
+        PooledConnection(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+            this.createdAtMillis = System.currentTimeMillis();
+            this.lastUsedMillis = createdAtMillis;
+        }
+
+        public Connection connection() { return connection; }
+        StatementCache statements() { return statements; }
+        long createdAtMillis() { return createdAtMillis; }
+        long lastUsedMillis() { return lastUsedMillis; }
+
+        void markBorrowed() { lastUsedMillis = System.currentTimeMillis(); }
+        void markReturned() { lastUsedMillis = System.currentTimeMillis(); }
+
+        /** @return true the first time this connection is retired. */
+        synchronized boolean retire() {
+            if (retired) return false;
+            retired = true;
+            return true;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package net.democracycraft.elections.internal.database;
 
 import net.democracycraft.elections.internal.database.entity.*;
+import net.democracycraft.elections.internal.database.migration.Migration;
+import net.democracycraft.elections.internal.database.migration.SchemaMigrator;
+import net.democracycraft.elections.internal.database.migration.SchemaStep;
 import net.democracycraft.elections.internal.database.table.AutoTable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
- * Creates database tables and exposes AutoTable helpers for ORM-style access.
+ * Declares the schema as versioned migrations and exposes AutoTable helpers for ORM-style access.
  */
 public class DatabaseSchema {
     private final MySQLManager mysql;
@@ -35,125 +43,159 @@ public class DatabaseSchema {
         this.statusChanges = new AutoTable<>(mysql, StatusChangeEntity.class, "election_status_changes", "id");
     }
 
-    /** Creates all tables and adds necessary indexes/constraints. */
+    /**
+     * Creates or upgrades all tables, indexes and constraints by applying pending {@link #migrations()}.
+     * When the database is current this is a single read of the schema_version table.
+     */
     public void createAll() {
-        // Base tables via AutoTable
-        elections.createTable();
-        electionRequirements.createTable();
-        requirementPermissions.createTable();
-        candidates.createTable();
-        candidateHeadItems.createTable();
-        polls.createTable();
-        voters.createTable();
-        ballots.createTable();
-        ballotSelections.createTable();
-        statusChanges.createTable();
-
-        // Add unique constraints and FKs (ignore if existing)
-        mysql.withConnection(conn -> {
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `elections` ADD INDEX `idx_elections_status` (`status`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `elections` ADD INDEX `idx_elections_system` (`system`)");
-            } catch (Exception ignored) {}
-            // Add ballotMode column for per-election voting mode (ignore if exists)
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `elections` ADD COLUMN `ballotMode` VARCHAR(32) NULL AFTER `durationSecond`");
-            } catch (Exception ignored) {}
-
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `candidates` ADD COLUMN `party` VARCHAR(128) NULL AFTER `name`");
-            } catch (Exception ignored) {}
-
-            // requirements 1:1
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `election_requirements` ADD CONSTRAINT `fk_req_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // requirement permissions unique + fk
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `election_requirement_permissions` ADD UNIQUE `uq_reqperm` (`electionId`,`permission`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `election_requirement_permissions` ADD CONSTRAINT `fk_reqperm_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // candidates unique + fk
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `candidates` ADD UNIQUE `uq_cand_name` (`electionId`,`name`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `candidates` ADD CONSTRAINT `fk_cand_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // candidate head item 1:1
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `candidate_head_item` ADD CONSTRAINT `fk_head_cand` FOREIGN KEY (`candidateId`) REFERENCES `candidates`(`id`) ON DELETE CASCADE ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // polls unique + fk
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `polls` ADD UNIQUE `uq_poll_loc` (`electionId`,`world`,`x`,`y`,`z`)");
-            } catch (Exception ignored) {}
-            // global unique to forbid same (world,x,y,z) across elections
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `polls` ADD UNIQUE `uq_poll_global` (`world`,`x`,`y`,`z`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `polls` ADD CONSTRAINT `fk_poll_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // voters unique + fk
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `voters` ADD UNIQUE `uq_voter_name` (`electionId`,`name`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `voters` ADD CONSTRAINT `fk_voter_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // ballots unique + fks
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballots` ADD UNIQUE `uq_ballot_once` (`electionId`,`voterId`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballots` ADD CONSTRAINT `fk_ballot_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballots` ADD CONSTRAINT `fk_ballot_voter` FOREIGN KEY (`voterId`) REFERENCES `voters`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // ballot selections uniques + fks
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballot_selections` ADD UNIQUE `uq_sel_candidate` (`ballotId`,`candidateId`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballot_selections` ADD UNIQUE `uq_sel_position` (`ballotId`,`position`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballot_selections` ADD CONSTRAINT `fk_sel_ballot` FOREIGN KEY (`ballotId`) REFERENCES `ballots`(`id`) ON DELETE CASCADE ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `ballot_selections` ADD CONSTRAINT `fk_sel_candidate` FOREIGN KEY (`candidateId`) REFERENCES `candidates`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // status changes fk + index
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `election_status_changes` ADD INDEX `idx_sc_election_time` (`electionId`,`changedAtEpochMillis`)");
-            } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) {
-                st.execute("ALTER TABLE `election_status_changes` ADD CONSTRAINT `fk_sc_election` FOREIGN KEY (`electionId`) REFERENCES `elections`(`id`) ON DELETE RESTRICT ON UPDATE RESTRICT");
-            } catch (Exception ignored) {}
-
-            // Ensure AUTO_INCREMENT on integer PK 'id' for existing installs (ignore if already correct)
-            try (var st = conn.createStatement()) { st.execute("ALTER TABLE `elections` MODIFY `id` INT NOT NULL AUTO_INCREMENT"); } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) { st.execute("ALTER TABLE `candidates` MODIFY `id` INT NOT NULL AUTO_INCREMENT"); } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) { st.execute("ALTER TABLE `voters` MODIFY `id` INT NOT NULL AUTO_INCREMENT"); } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) { st.execute("ALTER TABLE `ballots` MODIFY `id` INT NOT NULL AUTO_INCREMENT"); } catch (Exception ignored) {}
-            try (var st = conn.createStatement()) { st.execute("ALTER TABLE `election_status_changes` MODIFY `id` INT NOT NULL AUTO_INCREMENT"); } catch (Exception ignored) {}
-
-            return null;
+        new SchemaMigrator(mysql, mysql.logger()).migrate(migrations());
+    }
+
+    /**
+     * Ordered schema migrations. Never edit a released migration; append a new one with the next version.
+     * Steps derived from code that keeps changing are frozen as literals ({@link #legacyColumnIndexes()}); TABLE
+     * steps are the one exception, as their DDL follows the entities and is not checksummed (see {@link Migration}).
+     * Unique keys the service relies on to reject duplicate writes are required steps.
+     */
+    public List<Migration> migrations() {
+        return List.of(baseline(), declaredIndexes(), scheduledOpening(), electionSeats(), electionSeatsDefault());
+    }
+
+    /**
+     * Per-column {@code <column>_idx} indexes created by the first releases, by table. Frozen here so that columns
+     * added to the entities later do not change migrations 1 and 2.
+     */
+    private static Map<String, List<String>> legacyColumnIndexes() {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        out.put("elections", List.of("ballotMode", "createdAtEpochMillis", "durationDays", "durationHour", "durationMinute",
+                "durationSecond", "minimumVotes", "status", "system", "title"));
+        out.put("election_requirements", List.of("minActivePlaytimeMinutes"));
+        out.put("election_requirement_permissions", List.of("electionId", "permission"));
+        out.put("candidates", List.of("electionId", "name", "party"));
+        out.put("polls", List.of("electionId", "world", "x", "y", "z"));
+        out.put("voters", List.of("electionId", "name"));
+        out.put("ballots", List.of("electionId", "submittedAtEpochMillis", "voterId"));
+        out.put("ballot_selections", List.of("ballotId", "candidateId", "position"));
+        out.put("election_status_changes", List.of("actor", "changedAtEpochMillis", "details", "electionId", "type"));
+        return out;
+    }
+
+    /** @return every managed table. */
+    public List<AutoTable<?>> tables() {
+        return List.of(elections, electionRequirements, requirementPermissions, candidates,
+                candidateHeadItems, polls, voters, ballots, ballotSelections, statusChanges);
+    }
+
+    /**
+     * Version 1: the schema previously (re)created on every startup. Existing installs already contain most of
+     * these objects, which the migrator detects through information_schema and skips.
+     */
+    private Migration baseline() {
+        List<AutoTable<?>> tables = tables();
+        List<SchemaStep> steps = new ArrayList<>();
+        for (AutoTable<?> t : tables) steps.add(SchemaStep.table(t.tableName(), t.createTableSql()));
+
+        // Columns added after the first release
+        steps.add(SchemaStep.column("elections", "ballotMode", "VARCHAR(32) NULL AFTER `durationSecond`"));
+        steps.add(SchemaStep.column("candidates", "party", "VARCHAR(128) NULL AFTER `name`"));
+
+        // Simple secondary index per non-key column (binary columns cannot be indexed without a prefix).
+        // Migration 2 drops them again, so fresh installs skip them
+        legacyColumnIndexes().forEach((table, columns) -> {
+            for (String column : columns) steps.add(SchemaStep.legacyIndex(table, column + "_idx", column));
         });
+
+        steps.add(SchemaStep.index("elections", "idx_elections_status", "status"));
+        steps.add(SchemaStep.index("elections", "idx_elections_system", "system"));
+
+        // requirements 1:1
+        steps.add(SchemaStep.foreignKey("election_requirements", "fk_req_election", "electionId", "elections", "id", "RESTRICT"));
+        // requirement permissions unique + fk
+        steps.add(SchemaStep.unique("election_requirement_permissions", "uq_reqperm", "electionId", "permission"));
+        steps.add(SchemaStep.foreignKey("election_requirement_permissions", "fk_reqperm_election", "electionId", "elections", "id", "RESTRICT"));
+        // candidates unique + fk
+        steps.add(SchemaStep.unique("candidates", "uq_cand_name", "electionId", "name").asRequired());
+        steps.add(SchemaStep.foreignKey("candidates", "fk_cand_election", "electionId", "elections", "id", "RESTRICT"));
+        // candidate head item 1:1
+        steps.add(SchemaStep.foreignKey("candidate_head_item", "fk_head_cand", "candidateId", "candidates", "id", "CASCADE"));
+        // polls unique per election, and globally unique location across elections
+        steps.add(SchemaStep.unique("polls", "uq_poll_loc", "electionId", "world", "x", "y", "z").asRequired());
+        steps.add(SchemaStep.unique("polls", "uq_poll_global", "world", "x", "y", "z").asRequired());
+        steps.add(SchemaStep.foreignKey("polls", "fk_poll_election", "electionId", "elections", "id", "RESTRICT"));
+        // voters unique + fk
+        steps.add(SchemaStep.unique("voters", "uq_voter_name", "electionId", "name").asRequired());
+        steps.add(SchemaStep.foreignKey("voters", "fk_voter_election", "electionId", "elections", "id", "RESTRICT"));
+        // ballots unique + fks
+        steps.add(SchemaStep.unique("ballots", "uq_ballot_once", "electionId", "voterId").asRequired());
+        steps.add(SchemaStep.foreignKey("ballots", "fk_ballot_election", "electionId", "elections", "id", "RESTRICT"));
+        steps.add(SchemaStep.foreignKey("ballots", "fk_ballot_voter", "voterId", "voters", "id", "RESTRICT"));
+        // ballot selections uniques + fks
+        steps.add(SchemaStep.unique("ballot_selections", "uq_sel_candidate", "ballotId", "candidateId").asRequired());
+        steps.add(SchemaStep.unique("ballot_selections", "uq_sel_position", "ballotId", "position").asRequired());
+        steps.add(SchemaStep.foreignKey("ballot_selections", "fk_sel_ballot", "ballotId", "ballots", "id", "CASCADE"));
+        steps.add(SchemaStep.foreignKey("ballot_selections", "fk_sel_candidate", "candidateId", "candidates", "id", "RESTRICT"));
+        // status changes index + fk
+        steps.add(SchemaStep.index("election_status_changes", "idx_sc_election_time", "electionId", "changedAtEpochMillis"));
+        steps.add(SchemaStep.foreignKey("election_status_changes", "fk_sc_election", "electionId", "elections", "id", "RESTRICT"));
+
+        // AUTO_INCREMENT on integer PK 'id' for installs created before it was part of the DDL
+        for (String table : List.of("elections", "candidates", "voters", "ballots", "election_status_changes")) {
+            steps.add(SchemaStep.autoIncrement(table, "id"));
+        }
+        return new Migration(1, "Baseline schema", steps);
+    }
+
+    /**
+     * Version 2: switch to the indexes declared on the entities with {@code @Index}. Creates any declared index
+     * that is missing and drops the per-column {@code <column>_idx} indexes (and the unused system index) that no
+     * query needs, so inserts into ballots, selections and status changes update fewer indexes.
+     */
+    private Migration declaredIndexes() {
+        List<SchemaStep> steps = new ArrayList<>();
+        steps.add(SchemaStep.index("elections", "idx_elections_status", "status"));
+        steps.add(SchemaStep.unique("election_requirement_permissions", "uq_reqperm", "electionId", "permission"));
+        steps.add(SchemaStep.unique("candidates", "uq_cand_name", "electionId", "name").asRequired());
+        steps.add(SchemaStep.unique("polls", "uq_poll_loc", "electionId", "world", "x", "y", "z").asRequired());
+        steps.add(SchemaStep.unique("polls", "uq_poll_global", "world", "x", "y", "z").asRequired());
+        steps.add(SchemaStep.unique("voters", "uq_voter_name", "electionId", "name").asRequired());
+        steps.add(SchemaStep.unique("ballots", "uq_ballot_once", "electionId", "voterId").asRequired());
+        steps.add(SchemaStep.index("ballots", "voterId_idx", "voterId"));
+        steps.add(SchemaStep.unique("ballot_selections", "uq_sel_position", "ballotId", "position").asRequired());
+        steps.add(SchemaStep.unique("ballot_selections", "uq_sel_candidate", "ballotId", "candidateId").asRequired());
+        steps.add(SchemaStep.index("ballot_selections", "candidateId_idx", "candidateId"));
+        steps.add(SchemaStep.index("election_status_changes", "idx_sc_election_time", "electionId", "changedAtEpochMillis"));
+
+        // Kept: ballots.voterId_idx and ballot_selections.candidateId_idx back the fk_ballot_voter / fk_sel_candidate keys
+        legacyColumnIndexes().forEach((table, columns) -> {
+            for (String column : columns) {
+                String legacy = column + "_idx";
+                if (legacy.equals("voterId_idx") || legacy.equals("candidateId_idx")) continue;
+                steps.add(SchemaStep.dropIndex(table, legacy));
+            }
+        });
+        steps.add(SchemaStep.dropIndex("elections", "idx_elections_system"));
+        return new Migration(2, "Declared entity indexes", steps);
+    }
+
+    /** Version 3: scheduled opening time for elections (nullable epoch millis). */
+    private Migration scheduledOpening() {
+        return new Migration(3, "Scheduled election opening", List.of(
+                SchemaStep.column("elections", "opensAtEpochMillis", "BIGINT NULL AFTER `ballotMode`")));
+    }
+
+    /** Version 4: number of seats an election fills (multi-winner preferential counts). */
+    private Migration electionSeats() {
+        return new Migration(4, "Election seats", List.of(
+                SchemaStep.column("elections", "seats", "INT NOT NULL DEFAULT 1 AFTER `minimumVotes`")));
+    }
+
+    /**
+     * Version 5: the seats default of version 4 on installs whose elections table was created with the column already
+     * (the TABLE step follows the entity, without defaults), so inserts leaving it out work on every install.
+     */
+    private Migration electionSeatsDefault() {
+        return new Migration(5, "Election seats default", List.of(
+                SchemaStep.columnDefault("elections", "seats", "INT NOT NULL DEFAULT 1")));
     }
 
     // Getters for tables
@@ -0,0 +1,170 @@
+package net.democracycraft.elections.internal.database;
+
+import net.democracycraft.elections.internal.database.table.AutoTable;
+import net.democracycraft.elections.internal.database.table.TableIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Reports secondary indexes on the managed tables that cost writes without serving the plugin's queries.
+ *
+ * Contract:
+ * - UNDECLARED: the index exists in the database but is not declared on the entity (e.g. legacy per-column indexes).
+ * - REDUNDANT: a non-unique index whose columns are a leftmost prefix of another index on the same table.
+ * - UNUSED: a non-unique index with no reads since the MySQL server started (needs performance_schema; reported only).
+ * - Only non-unique UNDECLARED or REDUNDANT indexes are dropped; unique indexes enforce constraints and are kept.
+ *   A drop fails (and is reported) while a foreign key still needs the index.
+ */
+public final class IndexAuditor {
+
+    /** Why an index was reported. */
+    public enum Reason { UNDECLARED, REDUNDANT, UNUSED }
+
+    /**
+     * One reported index.
+     *
+     * @param table   table name
+     * @param index   index name
+     * @param columns indexed columns in order
+     * @param unique  whether the index is unique
+     * @param reason  why it was reported
+     * @param detail  human-readable explanation
+     */
+    public record Finding(String table, String index, List<String> columns, boolean unique, Reason reason, String detail) {
+        /** @return true when {@link #drop(List)} would try to drop this index. */
+        public boolean droppable() {
+            return !unique && reason != Reason.UNUSED;
+        }
+    }
+
+    /**
+     * Audit result.
+     *
+     * @param findings       reported indexes, ordered by table
+     * @param usageAvailable whether index usage statistics could be read from performance_schema
+     */
+    public record Report(List<Finding> findings, boolean usageAvailable) {}
+
+    /**
+     * Outcome of dropping one index.
+     *
+     * @param finding the index
+     * @param error   null when dropped, otherwise the database error
+     */
+    public record DropOutcome(Finding finding, String error) {}
+
+    private record DbIndex(String name, boolean unique, List<String> columns) {}
+
+    private final MySQLManager mysql;
+    private final List<AutoTable<?>> tables;
+
+    public IndexAuditor(MySQLManager mysql, List<AutoTable<?>> tables) {
+        this.mysql = Objects.requireNonNull(mysql, "mysql");
+        this.tables = List.copyOf(tables);
+    }
+
+    /** Reads index metadata and usage counters and classifies every secondary index. */
+    public Report audit() {
+        return mysql.withConnection(conn -> {
+            Map<String, Map<String, DbIndex>> byTable = readIndexes(conn);
+            Set<String> unused = new HashSet<>();
+            boolean usageAvailable = readUnused(conn, unused);
+            List<Finding> out = new ArrayList<>();
+            for (AutoTable<?> t : tables) {
+                Map<String, DbIndex> existing = byTable.getOrDefault(t.tableName().toLowerCase(Locale.ROOT), Map.of());
+                Set<String> declared = new HashSet<>();
+                for (TableIndex ti : t.indexes()) declared.add(ti.name().toLowerCase(Locale.ROOT));
+                for (DbIndex idx : existing.values()) {
+                    String redundantTo = coveringIndex(idx, existing.values());
+                    if (redundantTo != null) {
+                        out.add(new Finding(t.tableName(), idx.name(), idx.columns(), idx.unique(), Reason.REDUNDANT,
+                                "columns " + idx.columns() + " are a prefix of " + redundantTo));
+                    } else if (!declared.contains(idx.name().toLowerCase(Locale.ROOT))) {
+                        out.add(new Finding(t.tableName(), idx.name(), idx.columns(), idx.unique(), Reason.UNDECLARED,
+                                "not declared on " + t.tableName() + (idx.unique() ? " (unique, kept)" : "")));
+                    } else if (!idx.unique() && unused.contains(key(t.tableName(), idx.name()))) {
+                        out.add(new Finding(t.tableName(), idx.name(), idx.columns(), false, Reason.UNUSED,
+                                "no reads since the MySQL server started"));
+                    }
+                }
+            }
+            out.sort(Comparator.comparing(Finding::table).thenComparing(Finding::index));
+            return new Report(out, usageAvailable);
+        });
+    }
+
+    /** Drops the droppable findings one by one, reporting each outcome. */
+    public List<DropOutcome> drop(List<Finding> findings) {
+        return mysql.withConnection(conn -> {
+            List<DropOutcome> out = new ArrayList<>();
+            for (Finding f : findings) {
+                if (!f.droppable()) continue;
+                try (Statement st = conn.createStatement()) {
+                    st.execute("ALTER TABLE `" + f.table() + "` DROP INDEX `" + f.index() + "`");
+                    out.add(new DropOutcome(f, null));
+                } catch (SQLException ex) {
+                    out.add(new DropOutcome(f, ex.getMessage()));
+                }
+            }
+            return out;
+        });
+    }
+
+    // --- internals ---
+
+    /** @return the name of another index that makes this one redundant, or null. */
+    private static String coveringIndex(DbIndex idx, Collection<DbIndex> all) {
+        if (idx.unique()) return null;
+        for (DbIndex other : all) {
+            if (other == idx || other.columns().size() < idx.columns().size()) continue;
+            if (!other.columns().subList(0, idx.columns().size()).equals(idx.columns())) continue;
+            // Two identical non-unique indexes: report only one of them
+            if (other.columns().size() == idx.columns().size() && !other.unique() && other.name().compareTo(idx.name()) > 0) continue;
+            return other.name();
+        }
+        return null;
+    }
+
+    private static Map<String, Map<String, DbIndex>> readIndexes(Connection conn) throws SQLException {
+        Map<String, Map<String, List<String>>> cols = new HashMap<>();
+        Map<String, Boolean> unique = new HashMap<>();
+        String sql = "SELECT TABLE_NAME, INDEX_NAME, NON_UNIQUE, COLUMN_NAME FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND INDEX_NAME <> 'PRIMARY' ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String table = rs.getString(1).toLowerCase(Locale.ROOT);
+                String index = rs.getString(2);
+                cols.computeIfAbsent(table, k -> new LinkedHashMap<>()).computeIfAbsent(index, k -> new ArrayList<>()).add(rs.getString(4));
+                unique.put(key(table, index), rs.getInt(3) == 0);
+            }
+        }
+        Map<String, Map<String, DbIndex>> out = new HashMap<>();
+        cols.forEach((table, indexes) -> {
+            Map<String, DbIndex> m = new LinkedHashMap<>();
+            indexes.forEach((name, c) -> m.put(name, new DbIndex(name, unique.get(key(table, name)), List.copyOf(c))));
+            out.put(table, m);
+        });
+        return out;
+    }
+
+    /** @return false when performance_schema is disabled or not readable. */
+    private static boolean readUnused(Connection conn, Set<String> out) {
+        String sql = "SELECT OBJECT_NAME, INDEX_NAME FROM performance_schema.table_io_waits_summary_by_index_usage "
+                + "WHERE OBJECT_SCHEMA = DATABASE() AND INDEX_NAME IS NOT NULL AND INDEX_NAME <> 'PRIMARY' AND COUNT_READ = 0";
+        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) out.add(key(rs.getString(1), rs.getString(2)));
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private static String key(String table, String index) {
+        return (table + "." + index).toLowerCase(Locale.ROOT);
+    }
+}
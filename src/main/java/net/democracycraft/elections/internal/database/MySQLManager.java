@@ -6,8 +6,16 @@ import net.democracycraft.elections.Elections;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
 import java.util.Objects;
+import java.util.logging.Logger;
 
 import static net.democracycraft.elections.internal.util.config.ConfigPaths.*;
 
@@ -15,10 +23,12 @@ import static net.democracycraft.elections.internal.util.config.ConfigPaths.*;
  * Thin MySQL manager for obtaining JDBC connections and running small tasks asynchronously.
  *
  * Contract:
- * - Reads configuration keys from plugin config: mysql.host, mysql.port, mysql.database, mysql.user, mysql.password, mysql.useSSL.
- * - Provides a lazily created JDBC connection (auto-reconnect on demand via getConnection()).
+ * - Reads configuration keys from plugin config: mysql.host, mysql.port, mysql.database, mysql.user, mysql.password, mysql.useSSL
+ *   and the pool tuning keys under mysql.pool.*.
+ * - Owns a bounded {@link ConnectionPool}; concurrent callers run on separate connections.
  * - Exposes a Gson instance for JSON serialization used by table helpers.
- * - Offers withConnection utility to safely execute code with the current connection.
+ * - Offers withConnection utility to safely execute code with a borrowed connection.
+ * - Offers withStatement to reuse prepared statements cached on the borrowed connection (mysql.pool.statementCacheSize).
  */
 public class MySQLManager {
 
@@ -33,9 +43,13 @@ public class MySQLManager {
     private final String user;
     private final String password;
     private final boolean useSSL;
+    private final ConnectionPool.Settings poolSettings;
+    private final int streamFetchSize;
 
-    private volatile Connection connection;
-    private final Object connectionLock = new Object();
+    private volatile ConnectionPool pool;
+    private final Object poolLock = new Object();
+    /** Connection borrowed by the current thread, so statements prepared on it can come from its cache. */
+    private final ThreadLocal<ConnectionPool.PooledConnection> current = new ThreadLocal<>();
 
     public MySQLManager(Elections plugin) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
@@ -46,6 +60,16 @@ public class MySQLManager {
         this.user = Objects.requireNonNull(cfg.getString(MYSQL_USER.getPath()), MYSQL_USER.getPath());
         this.password = Objects.requireNonNull(cfg.getString(MYSQL_PASSWORD.getPath()), MYSQL_PASSWORD.getPath());
         this.useSSL = cfg.getBoolean(MYSQL_USE_SSL.getPath());
+        this.poolSettings = new ConnectionPool.Settings(
+                cfg.getInt(MYSQL_POOL_MAXIMUM_SIZE.getPath(), 8),
+                cfg.getInt(MYSQL_POOL_MINIMUM_IDLE.getPath(), 2),
+                cfg.getLong(MYSQL_POOL_BORROW_TIMEOUT_MILLIS.getPath(), 10_000L),
+                cfg.getLong(MYSQL_POOL_MAX_LIFETIME_MILLIS.getPath(), 1_800_000L),
+                cfg.getLong(MYSQL_POOL_IDLE_TIMEOUT_MILLIS.getPath(), 600_000L),
+                cfg.getInt(MYSQL_POOL_VALIDATION_TIMEOUT_SECONDS.getPath(), 3),
+                cfg.getInt(MYSQL_POOL_STATEMENT_CACHE_SIZE.getPath(), 64)
+        );
+        this.streamFetchSize = Math.max(0, cfg.getInt(MYSQL_STREAM_FETCH_SIZE.getPath(), 0));
     }
 
     /** Ensures that the target database exists; creates it if missing. */
@@ -62,22 +86,27 @@ public class MySQLManager {
     }
 
     /**
-     * Opens a connection if none exists or it is closed.
+     * Creates the connection pool if none exists and warms it up to mysql.pool.minimumIdle.
+     * Pooled connections are validated on borrow, so the driver's autoReconnect is not used.
      */
     public void connect() {
-        try {
-            if (connection != null && !connection.isClosed()) return;
-        } catch (SQLException ignored) {}
-
-        final String url = "jdbc:mysql://" + host + ":" + port + "/" + database +
-                "?useSSL=" + useSSL + "&autoReconnect=true&characterEncoding=UTF-8&serverTimezone=UTC";
-        try {
-            connection = DriverManager.getConnection(url, user, password);
-            plugin.getLogger().info("Connected to MySQL");
-        } catch (SQLException ex) {
-            connection = null; // ensure null on failure
-            plugin.getLogger().severe("Failed to connect to MySQL (" + url + ") as '" + user + "'. Cause: " + ex.getMessage());
-            ex.printStackTrace();
+        synchronized (poolLock) {
+            if (pool != null) return;
+            final String url = "jdbc:mysql://" + host + ":" + port + "/" + database +
+                    "?useSSL=" + useSSL + "&characterEncoding=UTF-8&serverTimezone=UTC" +
+                    (streamFetchSize > 0 ? "&useCursorFetch=true" : "");
+            ConnectionPool created = new ConnectionPool(() -> DriverManager.getConnection(url, user, password), poolSettings, plugin.getLogger());
+            try {
+                ConnectionPool.PooledConnection probe = created.borrow();
+                created.release(probe, false);
+                created.fillToMinimumIdle();
+                pool = created;
+                plugin.getLogger().info("Connected to MySQL (pool max=" + poolSettings.maximumPoolSize() + ", minIdle=" + poolSettings.minimumIdle() + ")");
+            } catch (SQLException ex) {
+                created.close();
+                plugin.getLogger().severe("Failed to connect to MySQL (" + url + ") as '" + user + "'. Cause: " + ex.getMessage());
+                ex.printStackTrace();
+            }
         }
     }
 
@@ -88,53 +117,161 @@ public class MySQLManager {
     }
 
     /**
-     * Closes the active connection, if any.
+     * Closes the pool and every idle connection. Borrowed connections are closed when released.
      */
     public void disconnect() {
-        try {
-            if (connection != null) connection.close();
-            plugin.getLogger().info("Disconnected from MySQL");
-        } catch (SQLException ex) {
-            plugin.getLogger().severe("Failed to disconnect MySQL: " + ex.getMessage());
-            ex.printStackTrace();
+        synchronized (poolLock) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
         }
+        plugin.getLogger().info("Disconnected from MySQL");
     }
 
     /**
-     * Guaranteed to return a live connection; reconnects as needed and throws if unavailable.
+     * Verifies that a live connection can be borrowed; connects first if needed and throws if unavailable.
      */
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connect();
-            }
-        } catch (SQLException e) {
+    public void checkConnectivity() {
+        withConnection(conn -> null);
+    }
+
+    /**
+     * Fetch size for streaming cursors: Integer.MIN_VALUE makes Connector/J stream row by row (mysql.streamFetchSize 0),
+     * a positive value reads through a server-side cursor in batches of that many rows.
+     */
+    public int streamFetchSize() {
+        return streamFetchSize > 0 ? streamFetchSize : Integer.MIN_VALUE;
+    }
+
+    /** @return the plugin logger, for database components that report progress. */
+    public Logger logger() {
+        return plugin.getLogger();
+    }
+
+    /** @return current pool counters, or null when not connected. */
+    public ConnectionPool.Stats poolStats() {
+        ConnectionPool p = pool;
+        return p == null ? null : p.stats();
+    }
+
+    private ConnectionPool requirePool() {
+        ConnectionPool p = pool;
+        if (p == null) {
             connect();
+            p = pool;
         }
-        if (connection == null) {
+        if (p == null) {
             throw new IllegalStateException("MySQL connection is not available. Verify mysql.host/port/database/user/password, server reachability, and privileges.");
         }
-        return connection;
+        return p;
     }
 
     /**
-     * Thread-safe execution with a JDBC connection, returning a value.
+     * Thread-safe execution with a pooled JDBC connection, returning a value.
+     * The connection is returned to the pool afterwards; connection-level failures discard it.
      */
     public <R> R withConnection(IOFunction<Connection, R> fn) {
-        synchronized (connectionLock) {
-            Connection conn = null;
-            try {
-                conn = getConnection();
-            } catch (RuntimeException e) {
-                // Re-throw with clearer context for callers
-                throw new RuntimeException("No MySQL connection available for operation.", e);
+        ConnectionPool p;
+        ConnectionPool.PooledConnection pc;
+        try {
+            p = requirePool();
+            pc = p.borrow();
+        } catch (Exception e) {
+            // Re-throw with clearer context for callers; a missing connection is a connection failure for them
+            throw new RuntimeException("No MySQL connection available for operation.",
+                    e instanceof SQLTransientConnectionException ? e : new SQLTransientConnectionException(e.getMessage(), e));
+        }
+        boolean broken = false;
+        ConnectionPool.PooledConnection outer = current.get();
+        current.set(pc);
+        try {
+            return fn.apply(pc.connection());
+        } catch (Exception e) {
+            broken = isConnectionFailure(e);
+            throw new RuntimeException(e);
+        } finally {
+            if (outer != null) current.set(outer); else current.remove();
+            p.release(pc, broken);
+        }
+    }
+
+    /**
+     * Runs the callback with a prepared statement for the SQL text on a pooled connection.
+     * The statement is reused from the connection's cache; the callback must not close it.
+     */
+    public <R> R withStatement(String sql, StatementFunction<R> fn) {
+        return withConnection(conn -> withStatement(conn, sql, false, fn));
+    }
+
+    /**
+     * Variant of {@link #withStatement(String, StatementFunction)} on the caller's connection. The statement comes from
+     * the cache when the connection was borrowed by this thread through {@link #withConnection}; otherwise it is
+     * prepared and closed around the callback. A statement whose callback fails is dropped from the cache.
+     */
+    public <R> R withStatement(Connection conn, String sql, boolean returnGeneratedKeys, StatementFunction<R> fn) throws SQLException {
+        ConnectionPool.PooledConnection pc = current.get();
+        if (pc == null || pc.connection() != conn || !pc.statements().enabled()) {
+            try (PreparedStatement ps = returnGeneratedKeys ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conn.prepareStatement(sql)) {
+                return fn.apply(ps);
             }
+        }
+        PreparedStatement ps = pc.statements().get(sql, returnGeneratedKeys);
+        try {
+            return fn.apply(ps);
+        } catch (SQLException | RuntimeException e) {
+            pc.statements().evict(sql, returnGeneratedKeys);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the function inside a single JDBC transaction on one pooled connection.
+     * Commits when the function returns; rolls back and rethrows when it fails.
+     */
+    public <R> R inTransaction(IOFunction<Connection, R> fn) {
+        return withConnection(conn -> {
+            conn.setAutoCommit(false);
             try {
-                return fn.apply(conn);
+                R result = fn.apply(conn);
+                conn.commit();
+                return result;
             } catch (Exception e) {
-                throw new RuntimeException(e);
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                throw e;
+            } finally {
+                try { conn.setAutoCommit(true); } catch (SQLException ignored) {}
             }
+        });
+    }
+
+    /** @return true when the failure (or one of its causes) is a unique/foreign key constraint violation. */
+    public static boolean isConstraintViolation(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof SQLIntegrityConstraintViolationException) return true;
+        }
+        return false;
+    }
+
+    /** SQLState class 08 and the JDBC connection exception types mark the physical connection as unusable. */
+    public static boolean isConnectionFailure(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof SQLNonTransientConnectionException || c instanceof SQLTransientConnectionException) return true;
+            if (c instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true when retrying the same statements may succeed: connection failures, timeouts, deadlocks and other
+     * transient or recoverable errors. Anything else (constraint violations, bad data) fails again on retry.
+     */
+    public static boolean isTransientFailure(Throwable t) {
+        if (isConnectionFailure(t)) return true;
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof SQLTransientException || c instanceof SQLRecoverableException) return true;
         }
+        return false;
     }
 
     /**
@@ -144,6 +281,12 @@ public class MySQLManager {
         plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
     }
 
+    /** Callback that works with a prepared statement. */
+    @FunctionalInterface
+    public interface StatementFunction<R> {
+        R apply(PreparedStatement ps) throws SQLException;
+    }
+
     /**
      * IO-like functional interface allowing lambdas that throw checked exceptions.
      */
@@ -0,0 +1,99 @@
+package net.democracycraft.elections.internal.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements bound to one physical connection.
+ *
+ * Contract:
+ * - Owned by a {@link ConnectionPool.PooledConnection}; only the current borrower touches it, so it is not synchronized.
+ * - Statements are keyed by SQL text (plus the generated-keys flag) and reused across borrows of the same connection.
+ * - The least recently used statement is closed once more than maxSize statements are cached.
+ * - {@link #closeAll()} runs when the pool retires the connection.
+ * - Hit/miss/eviction counters are shared by all caches of a pool.
+ */
+final class StatementCache {
+
+    /** Pool-wide counters. */
+    static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+    }
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Counters counters;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int maxSize, Counters counters) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.counters = counters;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /** @return false when caching is disabled (statement cache size 0). */
+    boolean enabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the cached statement for the SQL text, preparing it on a miss.
+     * The caller must not close it; parameters are overwritten by the next use.
+     */
+    PreparedStatement get(String sql, boolean returnGeneratedKeys) throws SQLException {
+        String key = returnGeneratedKeys ? "K|" + sql : sql;
+        PreparedStatement ps = statements.get(key);
+        if (ps != null && !ps.isClosed()) {
+            counters.hits.increment();
+            return ps;
+        }
+        counters.misses.increment();
+        ps = returnGeneratedKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        statements.put(key, ps);
+        evictOverflow();
+        return ps;
+    }
+
+    /** Closes and drops the statement, e.g. after it failed and may hold a half-built batch. */
+    void evict(String sql, boolean returnGeneratedKeys) {
+        PreparedStatement ps = statements.remove(returnGeneratedKeys ? "K|" + sql : sql);
+        if (ps != null) close(ps);
+    }
+
+    /** @return number of statements currently cached. */
+    int size() {
+        return statements.size();
+    }
+
+    /** Closes every cached statement. */
+    void closeAll() {
+        for (PreparedStatement ps : statements.values()) close(ps);
+        statements.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, PreparedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            close(it.next().getValue());
+            it.remove();
+            counters.evictions.increment();
+        }
+    }
+
+    private static void close(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {}
+    }
+}
@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Database row representing a single cast ballot in an election.
  *
@@ -8,6 +10,8 @@ package net.democracycraft.elections.internal.database.entity;
  * - FK electionId -> elections(id)
  * - FK voterId -> voters(id)
  */
+@Index(name = "uq_ballot_once", columns = {"electionId", "voterId"}, unique = true)
+@Index(name = "voterId_idx", columns = "voterId")
 public class BallotEntity {
     /** Primary key. */
     public int id;
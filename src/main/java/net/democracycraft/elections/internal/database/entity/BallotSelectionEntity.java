@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Database row representing a single selection within a ballot.
  *
@@ -9,6 +11,9 @@ package net.democracycraft.elections.internal.database.entity;
  * - FK ballotId -> ballots(id) ON DELETE CASCADE
  * - FK candidateId -> candidates(id)
  */
+@Index(name = "uq_sel_position", columns = {"ballotId", "position"}, unique = true)
+@Index(name = "uq_sel_candidate", columns = {"ballotId", "candidateId"}, unique = true)
+@Index(name = "candidateId_idx", columns = "candidateId")
 public class BallotSelectionEntity {
     /** Owning ballot identifier (FK to ballots.id). */
     public int ballotId;
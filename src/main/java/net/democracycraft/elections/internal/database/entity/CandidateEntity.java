@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Candidate row within an election.
  *
@@ -7,6 +9,7 @@ package net.democracycraft.elections.internal.database.entity;
  * - UNIQUE (electionId, name)
  * - FK electionId -> elections(id)
  */
+@Index(name = "uq_cand_name", columns = {"electionId", "name"}, unique = true)
 public class CandidateEntity {
     /** Primary key. */
     public int id;
@@ -1,16 +1,21 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * RDBMS row for elections. Timestamps stored as epoch millis (UTC).
  *
  * Note: Closing time is computed at runtime from OPENED time + duration. No closesAt column is persisted.
  */
+@Index(name = "idx_elections_status", columns = "status")
 public class ElectionEntity {
     public int id;
     public String title;
     public String status;
     public String system;
     public int minimumVotes;
+    /** Seats to fill; rows written before migration 4 read as 1. */
+    public int seats = 1;
     public long createdAtEpochMillis;
     public Integer durationDays; // nullable
     public Integer durationHour; // nullable
@@ -18,6 +23,8 @@ public class ElectionEntity {
     public Integer durationSecond; // nullable
     /** Ballot UI mode: MANUAL or SIMPLE (stored as string). */
     public String ballotMode; // nullable -> defaults to MANUAL
+    /** Scheduled opening time; cleared when the election opens. */
+    public Long opensAtEpochMillis; // nullable
 
     public ElectionEntity() {}
 }
@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Single permission requirement entry for an election.
  *
@@ -7,6 +9,7 @@ package net.democracycraft.elections.internal.database.entity;
  * - UNIQUE (electionId, permission)
  * - FK electionId -> elections(id)
  */
+@Index(name = "uq_reqperm", columns = {"electionId", "permission"}, unique = true)
 public class ElectionRequirementPermissionEntity {
     /** Owning election identifier (FK to elections.id). */
     public int electionId;
@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Poll location row for an election. Represents a voting booth block location.
  *
@@ -7,6 +9,8 @@ package net.democracycraft.elections.internal.database.entity;
  * - UNIQUE (electionId, world, x, y, z)
  * - FK electionId -> elections(id)
  */
+@Index(name = "uq_poll_loc", columns = {"electionId", "world", "x", "y", "z"}, unique = true)
+@Index(name = "uq_poll_global", columns = {"world", "x", "y", "z"}, unique = true)
 public class PollEntity {
     /** Owning election identifier (FK to elections.id). */
     public int electionId;
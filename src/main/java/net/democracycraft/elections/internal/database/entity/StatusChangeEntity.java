@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Audit row describing a change in an election's lifecycle or configuration.
  *
@@ -8,6 +10,7 @@ package net.democracycraft.elections.internal.database.entity;
  * - FK electionId -> elections(id)
  * - INDEX (electionId, changedAtEpochMillis)
  */
+@Index(name = "idx_sc_election_time", columns = {"electionId", "changedAtEpochMillis"})
 public class StatusChangeEntity {
     /** Primary key. */
     public int id;
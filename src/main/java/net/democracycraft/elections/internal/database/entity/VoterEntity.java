@@ -1,5 +1,7 @@
 package net.democracycraft.elections.internal.database.entity;
 
+import net.democracycraft.elections.internal.database.table.Index;
+
 /**
  * Voter row within a specific election.
  *
@@ -7,6 +9,7 @@ package net.democracycraft.elections.internal.database.entity;
  * - UNIQUE (electionId, name)
  * - FK electionId -> elections(id)
  */
+@Index(name = "uq_voter_name", columns = {"electionId", "name"}, unique = true)
 public class VoterEntity {
     /** Primary key. */
     public int id;
@@ -0,0 +1,38 @@
+package net.democracycraft.elections.internal.database.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A numbered, ordered group of schema steps applied once and recorded in {@code schema_version}.
+ *
+ * Applied migrations must not be edited: the checksum over the step DDL is stored with the version,
+ * and a mismatch on a later start is reported. Schema changes go into a new migration with a higher version.
+ * TABLE steps are the exception: their DDL follows the current entity (so fresh installs get every column at once)
+ * and only their table name is checksummed; columns added later still need their own COLUMN step, and a default such
+ * a step declares needs a COLUMN_DEFAULT step too, since the entity DDL has none.
+ *
+ * @param version     strictly increasing version number, starting at 1
+ * @param description short human-readable summary stored with the version
+ * @param steps       steps in execution order
+ */
+public record Migration(int version, String description, List<SchemaStep> steps) {
+
+    public Migration {
+        if (version < 1) throw new IllegalArgumentException("Migration version must be >= 1: " + version);
+        steps = List.copyOf(steps);
+    }
+
+    /** @return CRC32 over the description and every step's kind, target and DDL (except TABLE DDL). */
+    public long checksum() {
+        CRC32 crc = new CRC32();
+        crc.update(description.getBytes(StandardCharsets.UTF_8));
+        for (SchemaStep s : steps) {
+            String ddl = s.kind() == SchemaStep.Kind.TABLE ? "" : s.ddl();
+            String line = "\n" + s.kind() + "|" + s.table() + "|" + s.name() + "|" + ddl;
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return crc.getValue();
+    }
+}
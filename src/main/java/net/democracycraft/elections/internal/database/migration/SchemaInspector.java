@@ -0,0 +1,91 @@
+package net.democracycraft.elections.internal.database.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Snapshot of the current database's tables, columns, indexes and constraints read from information_schema.
+ * Loaded once per migration run (only when migrations are pending) and updated as steps are applied.
+ */
+final class SchemaInspector {
+
+    private final Set<String> tables = new HashSet<>();
+    private final Set<String> columns = new HashSet<>();
+    private final Set<String> autoIncrementColumns = new HashSet<>();
+    private final Set<String> defaultedColumns = new HashSet<>();
+    private final Set<String> indexes = new HashSet<>();
+    private final Set<String> foreignKeys = new HashSet<>();
+    /** Tables created by this run. */
+    private final Set<String> createdTables = new HashSet<>();
+
+    static SchemaInspector load(Connection conn) throws SQLException {
+        SchemaInspector in = new SchemaInspector();
+        query(conn, "SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE()", rs ->
+                in.tables.add(key(rs.getString(1))));
+        query(conn, "SELECT TABLE_NAME, COLUMN_NAME, EXTRA, COLUMN_DEFAULT FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()", rs -> {
+            String k = key(rs.getString(1), rs.getString(2));
+            in.columns.add(k);
+            String extra = rs.getString(3);
+            if (extra != null && extra.toLowerCase(Locale.ROOT).contains("auto_increment")) in.autoIncrementColumns.add(k);
+            if (rs.getString(4) != null) in.defaultedColumns.add(k);
+        });
+        query(conn, "SELECT DISTINCT TABLE_NAME, INDEX_NAME FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()", rs ->
+                in.indexes.add(key(rs.getString(1), rs.getString(2))));
+        query(conn, "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS WHERE TABLE_SCHEMA = DATABASE() AND CONSTRAINT_TYPE = 'FOREIGN KEY'", rs ->
+                in.foreignKeys.add(key(rs.getString(1), rs.getString(2))));
+        return in;
+    }
+
+    /** @return true when the database is already in the state the step produces. */
+    boolean satisfied(SchemaStep step) {
+        return switch (step.kind()) {
+            case TABLE -> tables.contains(key(step.table()));
+            case COLUMN -> columns.contains(key(step.table(), step.name()));
+            case INDEX -> indexes.contains(key(step.table(), step.name()));
+            case FOREIGN_KEY -> foreignKeys.contains(key(step.table(), step.name()));
+            case AUTO_INCREMENT -> autoIncrementColumns.contains(key(step.table(), step.name()));
+            case COLUMN_DEFAULT -> defaultedColumns.contains(key(step.table(), step.name()));
+            case DROP_INDEX -> !indexes.contains(key(step.table(), step.name()));
+        };
+    }
+
+    /** Records a freshly applied step so later steps of the same run see it. */
+    void applied(SchemaStep step) {
+        switch (step.kind()) {
+            case TABLE -> {
+                tables.add(key(step.table()));
+                createdTables.add(key(step.table()));
+            }
+            case COLUMN -> columns.add(key(step.table(), step.name()));
+            case INDEX -> indexes.add(key(step.table(), step.name()));
+            case FOREIGN_KEY -> foreignKeys.add(key(step.table(), step.name()));
+            case AUTO_INCREMENT -> autoIncrementColumns.add(key(step.table(), step.name()));
+            case COLUMN_DEFAULT -> defaultedColumns.add(key(step.table(), step.name()));
+            case DROP_INDEX -> indexes.remove(key(step.table(), step.name()));
+        }
+    }
+
+    /** @return true when this run created the table, i.e. it holds no objects of earlier releases. */
+    boolean created(String table) {
+        return createdTables.contains(key(table));
+    }
+
+    private static String key(String... parts) {
+        return String.join(".", parts).toLowerCase(Locale.ROOT);
+    }
+
+    private interface RowHandler {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    private static void query(Connection conn, String sql, RowHandler handler) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) handler.accept(rs);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package net.democracycraft.elections.internal.database.migration;
+
+import net.democracycraft.elections.internal.database.MySQLManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Applies versioned schema migrations and records them in the {@code schema_version} table.
+ *
+ * Contract:
+ * - When every migration is already recorded, startup costs a single SELECT on {@code schema_version}.
+ * - Pending migrations run in version order under a MySQL named lock, so two servers sharing a database
+ *   do not migrate concurrently; the recorded versions are re-read after the lock is taken.
+ * - Each step is skipped when information_schema shows the database is already in the state it produces
+ *   (e.g. installs created by the pre-migration startup code), otherwise its DDL runs once. Legacy steps only run
+ *   on tables that predate the first migration run.
+ * - A failing required step aborts startup. A failing optional step is logged and its migration is left unrecorded,
+ *   so the next start retries it (steps that took effect are then skipped as satisfied); later migrations still run.
+ * - A recorded migration whose checksum differs from the code is reported but not re-run.
+ */
+public final class SchemaMigrator {
+
+    private static final String VERSION_TABLE = "schema_version";
+    private static final String LOCK_NAME = "democracy_elections_schema";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Outcome of a migration run.
+     *
+     * @param fromVersion   highest version recorded before the run (0 on a fresh database)
+     * @param toVersion     highest version recorded after the run
+     * @param applied       migrations recorded by this run
+     * @param deferred      pending migrations left unrecorded because an optional step failed
+     * @param executedSteps steps whose DDL was executed
+     * @param skippedSteps  steps skipped because the database was already in their target state
+     * @param millis        wall time of the run
+     */
+    public record Result(int fromVersion, int toVersion, int applied, int deferred, int executedSteps, int skippedSteps, long millis) {}
+
+    private final MySQLManager mysql;
+    private final Logger logger;
+
+    public SchemaMigrator(MySQLManager mysql, Logger logger) {
+        this.mysql = Objects.requireNonNull(mysql, "mysql");
+        this.logger = Objects.requireNonNull(logger, "logger");
+    }
+
+    /** Brings the database up to the latest of the given migrations. */
+    public Result migrate(List<Migration> migrations) {
+        List<Migration> ordered = validate(migrations);
+        long t0 = System.nanoTime();
+        return mysql.withConnection(conn -> {
+            Map<Integer, Long> recorded = readRecorded(conn);
+            int from = recorded == null ? 0 : highest(recorded);
+            if (recorded != null && pending(ordered, recorded).isEmpty()) {
+                verifyChecksums(ordered, recorded);
+                return new Result(from, from, 0, 0, 0, 0, (System.nanoTime() - t0) / 1_000_000L);
+            }
+            // Legacy steps only concern installs made by the pre-migration startup code, which have no version table
+            boolean preMigration = recorded == null;
+            lock(conn);
+            try {
+                if (recorded == null) createVersionTable(conn);
+                recorded = readRecorded(conn);
+                verifyChecksums(ordered, recorded);
+                List<Migration> todo = pending(ordered, recorded);
+                SchemaInspector inspector = SchemaInspector.load(conn);
+                int executed = 0, skipped = 0, deferred = 0;
+                for (Migration m : todo) {
+                    long m0 = System.nanoTime();
+                    int failed = 0;
+                    for (SchemaStep step : m.steps()) {
+                        if (inspector.satisfied(step) || (step.legacy() && (!preMigration || inspector.created(step.table())))) {
+                            skipped++;
+                            continue;
+                        }
+                        if (execute(conn, m, step)) inspector.applied(step);
+                        else failed++;
+                        executed++;
+                    }
+                    if (failed == 0) {
+                        record(conn, m, (System.nanoTime() - m0) / 1_000_000L);
+                    } else {
+                        deferred++;
+                        logger.warning("Schema migration " + m.version() + " (" + m.description() + ") left " + failed
+                                + " optional step(s) unapplied; it stays pending and is retried on the next start.");
+                    }
+                }
+                int to = highest(readRecorded(conn));
+                long ms = (System.nanoTime() - t0) / 1_000_000L;
+                logger.info("Schema migrated from version " + from + " to " + to + " (" + (todo.size() - deferred) + " migrations, "
+                        + deferred + " deferred, " + executed + " steps executed, " + skipped + " already satisfied) in " + ms + " ms.");
+                return new Result(from, to, todo.size() - deferred, deferred, executed, skipped, ms);
+            } finally {
+                unlock(conn);
+            }
+        });
+    }
+
+    // --- internals ---
+
+    private static List<Migration> validate(List<Migration> migrations) {
+        List<Migration> ordered = new ArrayList<>(migrations);
+        ordered.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < ordered.size(); i++) {
+            if (ordered.get(i).version() == ordered.get(i - 1).version()) {
+                throw new IllegalArgumentException("Duplicate schema migration version " + ordered.get(i).version());
+            }
+        }
+        return ordered;
+    }
+
+    private static List<Migration> pending(List<Migration> ordered, Map<Integer, Long> recorded) {
+        List<Migration> out = new ArrayList<>();
+        for (Migration m : ordered) if (!recorded.containsKey(m.version())) out.add(m);
+        return out;
+    }
+
+    private static int highest(Map<Integer, Long> recorded) {
+        int max = 0;
+        for (int v : recorded.keySet()) max = Math.max(max, v);
+        return max;
+    }
+
+    /** @return recorded version to checksum, or null when the version table does not exist yet. */
+    private static Map<Integer, Long> readRecorded(Connection conn) throws SQLException {
+        Map<Integer, Long> out = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `version`, `checksum` FROM `" + VERSION_TABLE + "`");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) out.put(rs.getInt(1), rs.getLong(2));
+        } catch (SQLException ex) {
+            // ER_NO_SUCH_TABLE
+            if (ex.getErrorCode() == 1146 || "42S02".equals(ex.getSQLState())) return null;
+            throw ex;
+        }
+        return out;
+    }
+
+    private void verifyChecksums(List<Migration> ordered, Map<Integer, Long> recorded) {
+        for (Migration m : ordered) {
+            Long stored = recorded.get(m.version());
+            if (stored != null && stored != m.checksum()) {
+                logger.warning("Schema migration " + m.version() + " (" + m.description() + ") differs from the applied version "
+                        + "(checksum " + stored + " != " + m.checksum() + "). Applied migrations must not be edited; add a new one instead.");
+            }
+        }
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS `" + VERSION_TABLE + "` ("
+                    + "`version` INT NOT NULL PRIMARY KEY, "
+                    + "`description` VARCHAR(255) NOT NULL, "
+                    + "`checksum` BIGINT NOT NULL, "
+                    + "`appliedAtEpochMillis` BIGINT NOT NULL, "
+                    + "`executionMillis` BIGINT NOT NULL)");
+        }
+    }
+
+    /** @return true when the step took effect. */
+    private boolean execute(Connection conn, Migration m, SchemaStep step) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(step.ddl());
+            return true;
+        } catch (SQLException ex) {
+            if (step.required()) {
+                throw new SQLException("Schema migration " + m.version() + " failed on " + step.kind() + " " + step.table() + "." + step.name() + ": " + ex.getMessage(), ex);
+            }
+            logger.warning("Schema migration " + m.version() + ": could not apply " + step.kind() + " " + step.table() + "." + step.name()
+                    + " (" + ex.getMessage() + "); continuing without it for now.");
+            return false;
+        }
+    }
+
+    private static void record(Connection conn, Migration m, long executionMillis) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `" + VERSION_TABLE
+                + "` (`version`, `description`, `checksum`, `appliedAtEpochMillis`, `executionMillis`) VALUES (?, ?, ?, ?, ?)")) {
+            ps.setInt(1, m.version());
+            ps.setString(2, m.description());
+            ps.setLong(3, m.checksum());
+            ps.setLong(4, System.currentTimeMillis());
+            ps.setLong(5, executionMillis);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock held by another server");
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,99 @@
+package net.democracycraft.elections.internal.database.migration;
+
+/**
+ * One idempotent DDL change inside a {@link Migration}.
+ *
+ * Before a step runs, the migrator asks information_schema whether the object it creates
+ * (table, column, index, foreign key, AUTO_INCREMENT attribute or column default) already exists, or for DROP_INDEX
+ * whether the index is already gone, so steps are skipped on installs that are already in the target state.
+ *
+ * @param kind     what the step creates; decides how existence is checked
+ * @param table    table the object belongs to
+ * @param name     column, index or constraint name (the table name for TABLE steps)
+ * @param ddl      statement that creates the object
+ * @param required when false a failure is logged and the migration continues (legacy data may violate a new unique key),
+ *                 and the migration stays pending so the step is retried on the next start
+ * @param legacy   only runs on tables that existed before the first migration run (objects of the pre-migration
+ *                 startup code that a later migration removes again); skipped on fresh installs
+ */
+public record SchemaStep(Kind kind, String table, String name, String ddl, boolean required, boolean legacy) {
+
+    /** Object kinds a step can create. */
+    public enum Kind { TABLE, COLUMN, INDEX, FOREIGN_KEY, AUTO_INCREMENT, COLUMN_DEFAULT, DROP_INDEX }
+
+    public static SchemaStep table(String table, String createSql) {
+        return new SchemaStep(Kind.TABLE, table, table, createSql, true, false);
+    }
+
+    public static SchemaStep column(String table, String column, String definition) {
+        return new SchemaStep(Kind.COLUMN, table, column,
+                "ALTER TABLE `" + table + "` ADD COLUMN `" + column + "` " + definition, true, false);
+    }
+
+    public static SchemaStep index(String table, String name, String... columns) {
+        return new SchemaStep(Kind.INDEX, table, name,
+                "ALTER TABLE `" + table + "` ADD INDEX `" + name + "` (" + quote(columns) + ")", false, false);
+    }
+
+    /** Index created by the pre-migration startup code; see {@link #legacy()}. */
+    public static SchemaStep legacyIndex(String table, String name, String... columns) {
+        SchemaStep s = index(table, name, columns);
+        return new SchemaStep(s.kind, table, name, s.ddl, false, true);
+    }
+
+    public static SchemaStep unique(String table, String name, String... columns) {
+        return new SchemaStep(Kind.INDEX, table, name,
+                "ALTER TABLE `" + table + "` ADD UNIQUE `" + name + "` (" + quote(columns) + ")", false, false);
+    }
+
+    /** Drops an index; fails (and is logged) while a foreign key still depends on it. */
+    public static SchemaStep dropIndex(String table, String name) {
+        return new SchemaStep(Kind.DROP_INDEX, table, name, "ALTER TABLE `" + table + "` DROP INDEX `" + name + "`", false, false);
+    }
+
+    /**
+     * Foreign key from table.column to refTable.refColumn.
+     *
+     * @param onDelete referential action, e.g. RESTRICT or CASCADE
+     */
+    public static SchemaStep foreignKey(String table, String name, String column, String refTable, String refColumn, String onDelete) {
+        return new SchemaStep(Kind.FOREIGN_KEY, table, name,
+                "ALTER TABLE `" + table + "` ADD CONSTRAINT `" + name + "` FOREIGN KEY (`" + column + "`) REFERENCES `"
+                        + refTable + "`(`" + refColumn + "`) ON DELETE " + onDelete + " ON UPDATE RESTRICT", false, false);
+    }
+
+    /** Makes an integer primary key AUTO_INCREMENT; skipped when the column already has the attribute. */
+    public static SchemaStep autoIncrement(String table, String column) {
+        return new SchemaStep(Kind.AUTO_INCREMENT, table, column,
+                "ALTER TABLE `" + table + "` MODIFY `" + column + "` INT NOT NULL AUTO_INCREMENT", false, false);
+    }
+
+    /**
+     * Re-declares an existing column with a default value; skipped when the column already has a default. TABLE steps
+     * follow the entity, which declares no defaults, so a column some installs got through a COLUMN step with a
+     * default needs this step for the others.
+     *
+     * @param definition full column definition, including the default
+     */
+    public static SchemaStep columnDefault(String table, String column, String definition) {
+        return new SchemaStep(Kind.COLUMN_DEFAULT, table, column,
+                "ALTER TABLE `" + table + "` MODIFY `" + column + "` " + definition, true, false);
+    }
+
+    /**
+     * @return this step with failures aborting startup, for constraints the service relies on for correctness
+     * (e.g. unique keys that reject duplicate writes). Not part of the checksum.
+     */
+    public SchemaStep asRequired() {
+        return new SchemaStep(kind, table, name, ddl, true, legacy);
+    }
+
+    private static String quote(String... columns) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('`').append(columns[i]).append('`');
+        }
+        return sb.toString();
+    }
+}
@@ -2,14 +2,10 @@ package net.democracycraft.elections.internal.database.table;
 
 import net.democracycraft.elections.internal.database.MySQLManager;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
-
 /**
  * Base class for SQL table helpers.
  *
- * Provides a connection accessor and a default dropTable implementation.
+ * Provides the MySQL manager and a default dropTable implementation.
  */
 public abstract class AbstractTable {
     protected final MySQLManager mysql;
@@ -18,19 +14,17 @@ public abstract class AbstractTable {
         this.mysql = mysql;
     }
 
-    /** @return the live JDBC connection (reconnecting as needed). */
-    protected Connection connection() { return mysql.getConnection(); }
-
     /** Creates the table if it does not exist. */
     public abstract void createTable();
 
     /** Drops the table if it exists. */
     public void dropTable() {
-        try (Statement st = connection().createStatement()) {
-            st.execute("DROP TABLE IF EXISTS `" + tableName() + "`");
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        mysql.withConnection(conn -> {
+            try (var st = conn.createStatement()) {
+                st.execute("DROP TABLE IF EXISTS `" + tableName() + "`");
+            }
+            return null;
+        });
     }
 
     /** @return the table name. */
@@ -5,11 +5,16 @@ import net.democracycraft.elections.internal.database.MySQLManager;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -23,8 +28,18 @@ public class AutoTable<T> extends AbstractTable {
     protected final String primaryKey;
 
     protected final List<Column<?>> columns;
+    protected final List<TableIndex> indexes;
     protected final Gson gson;
 
+    /** Resolved field accessors; built once so per-row work needs no reflection lookups. */
+    private final EntityMapper<T> mapper;
+    /** Statement text that only depends on the entity shape, built once per table. */
+    private final String upsertSql;
+    private final String insertNonPkSql;
+    private final String insertIgnoreNonPkSql;
+    /** SQL text per statement shape (operation plus column set), so repeated lookups reuse the same string. */
+    private final Map<String, String> sqlByShape = new ConcurrentHashMap<>();
+
     public AutoTable(MySQLManager mysqlManager, Class<T> clazz, String tableName) {
         this(mysqlManager, clazz, tableName, "uuid");
     }
@@ -36,25 +51,39 @@ public class AutoTable<T> extends AbstractTable {
         this.primaryKey = Objects.requireNonNull(primaryKey, "primaryKey");
         this.gson = mysqlManager.gson;
         this.columns = computeColumns(clazz, primaryKey);
+        this.indexes = computeIndexes(clazz);
+        this.mapper = new EntityMapper<>(clazz, primaryKey, gson);
+        this.upsertSql = buildUpsertSql();
+        this.insertNonPkSql = buildInsertNonPkSql("INSERT INTO");
+        this.insertIgnoreNonPkSql = buildInsertNonPkSql("INSERT IGNORE INTO");
     }
 
     @Override
     public String tableName() { return tableName; }
 
+    /** @return the mapped columns in deterministic name order. */
+    public List<Column<?>> columns() { return Collections.unmodifiableList(columns); }
+
+    /** @return the secondary indexes declared on the entity with {@link Index}. */
+    public List<TableIndex> indexes() { return indexes; }
+
+    /** @return the CREATE TABLE IF NOT EXISTS statement derived from the entity fields. */
+    public String createTableSql() {
+        String columnsSql = columns.stream().map(Column::definition).collect(Collectors.joining(",\n"));
+        return "CREATE TABLE IF NOT EXISTS `" + tableName + "` (\n" + columnsSql + "\n);";
+    }
+
     @Override
     public void createTable() {
-        String columnsSql = columns.stream().map(Column::definition).collect(Collectors.joining(",\n"));
-        String sql = "CREATE TABLE IF NOT EXISTS `" + tableName + "` (\n" + columnsSql + "\n);";
+        String sql = createTableSql();
         mysql.withConnection(conn -> {
             try (var st = conn.createStatement()) {
                 st.execute(sql);
             }
-            // Add simple secondary indexes to speed up lookups (ignore failures on existing)
-            for (Column<?> col : columns) {
-                if (col.isPrimaryKey()) continue;
-                String idx = "CREATE INDEX `" + col.getName() + "_idx` ON `" + tableName + "`(`" + col.getName() + "`);";
+            // Declared secondary indexes (ignore failures on existing)
+            for (TableIndex index : indexes) {
                 try (var st = conn.createStatement()) {
-                    st.execute(idx);
+                    st.execute(index.createSql(tableName));
                 } catch (SQLException ignored) {}
             }
             return null;
@@ -63,351 +92,500 @@ public class AutoTable<T> extends AbstractTable {
 
     /** Inserts or updates by primary key using MySQL's duplicate key update. */
     public void insertOrUpdate(T obj) {
-        List<Field> fields = modelFields();
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String updates = fields.stream().filter(f -> !f.getName().equals(primaryKey))
-                .map(f -> "`" + f.getName() + "` = VALUES(`" + f.getName() + "`)")
-                .collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ") ON DUPLICATE KEY UPDATE " + updates + ";";
-        mysql.runAsync(() -> executeSingle(sql, fields, obj));
+        mysql.runAsync(() -> executeSingle(upsertSql, mapper.all(), obj));
     }
 
     /** Batch insert/update using a single prepared statement. */
     public void insertBatch(Collection<T> objs) {
         if (objs == null || objs.isEmpty()) return;
-        List<Field> fields = modelFields();
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String updates = fields.stream().filter(f -> !f.getName().equals(primaryKey))
-                .map(f -> "`" + f.getName() + "` = VALUES(`" + f.getName() + "`)")
-                .collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ") ON DUPLICATE KEY UPDATE " + updates + ";";
-        mysql.runAsync(() -> mysql.withConnection(conn -> {
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (T obj : objs) {
-                    for (int i = 0; i < fields.size(); i++) {
-                        Field f = fields.get(i);
-                        f.setAccessible(true);
-                        Object v = f.get(obj);
-                        ps.setObject(i + 1, serializeValue(v));
-                    }
-                    ps.addBatch();
-                }
-                ps.executeBatch();
+        mysql.runAsync(() -> executeBatch(upsertSql, objs));
+    }
+
+    /** Insert a new row excluding the primary key field, returning an auto-generated integer key if available. */
+    public Integer insertReturningIntKey(T obj) {
+        return mysql.withConnection(conn -> insertReturningIntKey(conn, obj));
+    }
+
+    /**
+     * Variant of {@link #insertReturningIntKey(Object)} that runs on the caller's connection,
+     * so it can take part in a transaction opened with {@link MySQLManager#inTransaction}.
+     */
+    public Integer insertReturningIntKey(Connection conn, T obj) throws SQLException {
+        return mysql.withStatement(conn, insertNonPkSql, true, ps -> {
+            mapper.bind(ps, 1, mapper.nonPk(), obj);
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) return keys.getInt(1);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Inserts a row excluding the primary key with INSERT IGNORE, so a unique key collision costs no extra query.
+     * Only duplicate keys are ignored: any other problem IGNORE turns into a warning (foreign key, truncation,
+     * bad value) is thrown, see {@link #failUnlessDuplicate(Statement)}.
+     *
+     * @return the generated integer key, or null when the row was skipped (duplicate unique key)
+     */
+    public Integer insertIgnoreReturningIntKey(T obj) {
+        return mysql.withConnection(conn -> mysql.withStatement(conn, insertIgnoreNonPkSql, true, ps -> {
+            mapper.bind(ps, 1, mapper.nonPk(), obj);
+            ps.clearWarnings();
+            int inserted = ps.executeUpdate();
+            failUnlessDuplicate(ps);
+            if (inserted == 0) return null;
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) return keys.getInt(1);
             }
             return null;
         }));
     }
 
-    /** Insert a new row excluding the primary key field, returning an auto-generated integer key if available. */
-    public Integer insertReturningIntKey(T obj) {
-        List<Field> fields = modelFields().stream().filter(f -> !f.getName().equals(primaryKey)).collect(Collectors.toList());
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ");";
-        return mysql.withConnection(conn -> {
-            try (PreparedStatement ps = conn.prepareStatement(sql, java.sql.Statement.RETURN_GENERATED_KEYS)) {
-                for (int i = 0; i < fields.size(); i++) {
-                    Field f = fields.get(i);
-                    f.setAccessible(true);
-                    Object v = f.get(obj);
-                    ps.setObject(i + 1, serializeValue(v));
-                }
-                ps.executeUpdate();
-                try (ResultSet keys = ps.getGeneratedKeys()) {
-                    if (keys.next()) return keys.getInt(1);
-                }
-                return null;
+    /**
+     * Inserts a row excluding the primary key with INSERT IGNORE. Only duplicate keys are ignored.
+     *
+     * @return true when inserted, false when a unique key collision skipped it
+     */
+    public boolean insertIgnoreNonPkSync(T obj) {
+        return mysql.withStatement(insertIgnoreNonPkSql, ps -> {
+            mapper.bind(ps, 1, mapper.nonPk(), obj);
+            ps.clearWarnings();
+            int inserted = ps.executeUpdate();
+            failUnlessDuplicate(ps);
+            return inserted > 0;
+        });
+    }
+
+    /**
+     * Inserts all rows (excluding the primary key) with a single multi-row INSERT on the caller's connection.
+     *
+     * @return affected row count
+     */
+    public int insertAllNonPk(Connection conn, Collection<T> objs) throws SQLException {
+        return insertRows(conn, "INSERT INTO", mapper.nonPk(), objs, false);
+    }
+
+    /**
+     * Inserts all rows including the primary key with a single multi-row INSERT IGNORE on the caller's connection.
+     * Rows that collide with an existing primary or unique key are skipped, which makes replays idempotent;
+     * any other row error is thrown.
+     *
+     * @return number of rows actually inserted
+     */
+    public int insertAllIgnore(Connection conn, Collection<T> objs) throws SQLException {
+        return insertRows(conn, "INSERT IGNORE INTO", mapper.all(), objs, true);
+    }
+
+    /** @return the rows whose primary key is one of the given keys, read on the caller's connection. */
+    public List<T> findAllByKeys(Connection conn, Collection<?> keys) throws SQLException {
+        List<T> out = new ArrayList<>();
+        if (keys == null || keys.isEmpty()) return out;
+        String sql = "SELECT * FROM `" + tableName + "` WHERE `" + primaryKey + "` IN ("
+                + String.join(",", Collections.nCopies(keys.size(), "?")) + ");";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int idx = 1;
+            for (Object k : keys) ps.setObject(idx++, param(k));
+            try (ResultSet rs = ps.executeQuery()) {
+                readAll(rs, out::add);
+            }
+        }
+        return out;
+    }
+
+    /** @return the highest integer primary key, or 0 when the table is empty. */
+    public int maxIntKey() {
+        String sql = sqlFor("maxKey", () -> "SELECT MAX(`" + primaryKey + "`) FROM `" + tableName + "`;");
+        return mysql.withStatement(sql, ps -> {
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
         });
     }
 
     /** Simple insert excluding primary key. */
     public void insertNonPk(T obj) {
-        List<Field> fields = modelFields().stream().filter(f -> !f.getName().equals(primaryKey)).collect(Collectors.toList());
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ");";
-        mysql.runAsync(() -> executeSingle(sql, fields, obj));
+        mysql.runAsync(() -> executeSingle(insertNonPkSql, mapper.nonPk(), obj));
+    }
+
+    /**
+     * Partial update by primary key: emits {@code UPDATE ... SET} for the given columns only, so concurrent edits of
+     * other columns of the same row are not overwritten (unlike {@link #insertOrUpdateSync}, which writes every column).
+     *
+     * @param pk     primary key value
+     * @param values columns to write (iteration order is the bind order); must not contain the primary key
+     * @return 1 when the row exists, 0 otherwise
+     */
+    public int updateColumns(Object pk, Map<String, Object> values) {
+        if (values.keySet().stream().anyMatch(primaryKey::equalsIgnoreCase)) {
+            throw new IllegalArgumentException("Primary key " + primaryKey + " cannot be updated");
+        }
+        return updateWhere(values, Map.of(primaryKey, pk));
     }
 
     /** Synchronous variant of insertOrUpdate. */
     public void insertOrUpdateSync(T obj) {
-        List<Field> fields = modelFields();
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String updates = fields.stream().filter(f -> !f.getName().equals(primaryKey))
-                .map(f -> "`" + f.getName() + "` = VALUES(`" + f.getName() + "`)")
-                .collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ") ON DUPLICATE KEY UPDATE " + updates + ";";
-        executeSingle(sql, fields, obj);
+        executeSingle(upsertSql, mapper.all(), obj);
     }
 
     /** Synchronous batch insert/update. */
     public void insertBatchSync(Collection<T> objs) {
         if (objs == null || objs.isEmpty()) return;
-        List<Field> fields = modelFields();
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String updates = fields.stream().filter(f -> !f.getName().equals(primaryKey))
-                .map(f -> "`" + f.getName() + "` = VALUES(`" + f.getName() + "`)")
-                .collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ") ON DUPLICATE KEY UPDATE " + updates + ";";
-        mysql.withConnection(conn -> {
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (T obj : objs) {
-                    for (int i = 0; i < fields.size(); i++) {
-                        Field f = fields.get(i);
-                        f.setAccessible(true);
-                        Object v = f.get(obj);
-                        ps.setObject(i + 1, serializeValue(v));
-                    }
-                    ps.addBatch();
-                }
-                ps.executeBatch();
-            }
-            return null;
-        });
+        executeBatch(upsertSql, objs);
     }
 
     /** Synchronous simple insert excluding primary key. */
     public boolean insertNonPkSync(T obj) {
-        List<Field> fields = modelFields().stream().filter(f -> !f.getName().equals(primaryKey)).collect(Collectors.toList());
-        String names = fields.stream().map(f -> "`" + f.getName() + "`").collect(Collectors.joining(","));
-        String placeholders = fields.stream().map(f -> "?").collect(Collectors.joining(","));
-        String sql = "INSERT INTO `" + tableName + "` (" + names + ") VALUES (" + placeholders + ");";
-        return mysql.withConnection(conn -> {
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (int i = 0; i < fields.size(); i++) {
-                    Field f = fields.get(i);
-                    f.setAccessible(true);
-                    Object v = f.get(obj);
-                    ps.setObject(i + 1, serializeValue(v));
-                }
-                return ps.executeUpdate() > 0;
-            }
+        return mysql.withStatement(insertNonPkSql, ps -> {
+            mapper.bind(ps, 1, mapper.nonPk(), obj);
+            return ps.executeUpdate() > 0;
         });
     }
 
     /** Finds a single record by an indexed field or primary key. */
     public T findBy(String field, Object value) {
-        ensureFieldExists(field);
-        String sql = "SELECT * FROM `" + tableName + "` WHERE `" + field + "` = ? LIMIT 1;";
-        return mysql.withConnection(conn -> {
-            try (PreparedStatement st = conn.prepareStatement(sql)) {
-                st.setObject(1, (value instanceof UUID) ? value.toString() : value);
-                try (ResultSet rs = st.executeQuery()) {
-                    if (rs.next()) return buildFromResultSet(rs);
-                    return null;
-                }
+        String sql = sqlFor("findBy|" + field, () -> {
+            ensureFieldExists(field);
+            return "SELECT * FROM `" + tableName + "` WHERE `" + field + "` = ? LIMIT 1;";
+        });
+        return mysql.withStatement(sql, st -> {
+            st.setObject(1, param(value));
+            try (ResultSet rs = st.executeQuery()) {
+                if (rs.next()) return mapper.read(rs, mapper.columnIndices(rs.getMetaData()));
+                return null;
             }
         });
     }
 
     /** Returns all rows where field equals value, ordered if requested. */
     public List<T> findAllBy(String field, Object value, String orderBy) {
-        ensureFieldExists(field);
-        StringBuilder sql = new StringBuilder("SELECT * FROM `" + tableName + "` WHERE `" + field + "` = ?");
-        if (orderBy != null) { ensureFieldExists(orderBy); sql.append(" ORDER BY `").append(orderBy).append("`"); }
-        sql.append(";");
-        return mysql.withConnection(conn -> {
+        String sql = sqlFor("findAllBy|" + field + "|" + orderBy, () -> {
+            ensureFieldExists(field);
+            return "SELECT * FROM `" + tableName + "` WHERE `" + field + "` = ?" + orderByClause(orderBy) + ";";
+        });
+        return mysql.withStatement(sql, st -> {
             List<T> out = new ArrayList<>();
-            try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
-                st.setObject(1, (value instanceof UUID) ? value.toString() : value);
-                try (ResultSet rs = st.executeQuery()) { while (rs.next()) out.add(buildFromResultSet(rs)); }
-            }
+            st.setObject(1, param(value));
+            try (ResultSet rs = st.executeQuery()) { readAll(rs, out::add); }
             return out;
         });
     }
 
     /** Returns all rows matching equality conditions in 'where', ordered if requested. */
     public List<T> findAllByMany(Map<String, Object> where, String orderBy) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM `" + tableName + "`");
-        List<String> conds = new ArrayList<>();
-        List<Object> params = new ArrayList<>();
-        if (where != null && !where.isEmpty()) {
-            sql.append(" WHERE ");
-            for (Map.Entry<String, Object> e : where.entrySet()) {
-                ensureFieldExists(e.getKey());
-                conds.add("`" + e.getKey() + "` = ?");
-                params.add(e.getValue());
-            }
-            sql.append(String.join(" AND ", conds));
-        }
-        if (orderBy != null) { ensureFieldExists(orderBy); sql.append(" ORDER BY `").append(orderBy).append("`"); }
-        sql.append(";");
-        return mysql.withConnection(conn -> {
+        List<String> keys = (where == null) ? List.of() : new ArrayList<>(where.keySet());
+        String sql = sqlFor("findAllByMany|" + keys + "|" + orderBy,
+                () -> "SELECT * FROM `" + tableName + "`" + whereClause(keys) + orderByClause(orderBy) + ";");
+        return mysql.withStatement(sql, st -> {
             List<T> out = new ArrayList<>();
-            try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
-                for (int i = 0; i < params.size(); i++) {
-                    Object v = params.get(i);
-                    st.setObject(i + 1, (v instanceof UUID) ? v.toString() : v);
-                }
-                try (ResultSet rs = st.executeQuery()) { while (rs.next()) out.add(buildFromResultSet(rs)); }
-            }
+            for (int i = 0; i < keys.size(); i++) st.setObject(i + 1, param(where.get(keys.get(i))));
+            try (ResultSet rs = st.executeQuery()) { readAll(rs, out::add); }
             return out;
         });
     }
 
     /** Returns all rows with an optional LIMIT. */
     public List<T> getAll(Integer limit) {
-        String base = "SELECT * FROM `" + tableName + "`";
-        String sql = (limit != null) ? base + " LIMIT " + limit : base;
+        String sql = sqlFor("getAll|" + limit, () -> {
+            String base = "SELECT * FROM `" + tableName + "`";
+            return (limit != null) ? base + " LIMIT " + limit : base;
+        });
         return queryList(sql);
     }
 
-    /** Returns a page using LIMIT/OFFSET. */
-    public List<T> getPage(int offset, int pageSize) {
-        String sql = "SELECT * FROM `" + tableName + "` LIMIT " + pageSize + " OFFSET " + offset + ";";
-        return queryList(sql);
+    /**
+     * Streams every row whose {@code field} lies in [from, to] to the consumer, ordered if requested.
+     * Rows are hydrated one at a time from a forward-only cursor instead of being collected into a list.
+     *
+     * @return number of rows streamed
+     */
+    public int forEachInRange(String field, long from, long to, String orderBy, Consumer<T> consumer) {
+        String sql = sqlFor("range|" + field + "|" + orderBy, () -> {
+            ensureFieldExists(field);
+            return "SELECT * FROM `" + tableName + "` WHERE `" + field + "` BETWEEN ? AND ?" + orderByClause(orderBy) + ";";
+        });
+        return streamQuery(sql, List.of(from, to), consumer);
+    }
+
+    /**
+     * Streams rows of this table that belong to parent rows whose {@code parentField} lies in [from, to].
+     * Joins {@code this.field = parent.primaryKey}, so child tables without an election id
+     * (e.g. ballot selections, head items) can be loaded for a whole election range in one query.
+     *
+     * @return number of rows streamed
+     */
+    public int forEachJoinedInRange(String field, AutoTable<?> parent, String parentField, long from, long to,
+                                    String orderBy, Consumer<T> consumer) {
+        ensureFieldExists(field);
+        parent.ensureFieldExists(parentField);
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM `" + tableName + "` t JOIN `" + parent.tableName + "` p ON p.`"
+                + parent.primaryKey + "` = t.`" + field + "` WHERE p.`" + parentField + "` BETWEEN ? AND ?");
+        if (orderBy != null) { ensureFieldExists(orderBy); sql.append(" ORDER BY t.`").append(orderBy).append("`"); }
+        sql.append(";");
+        return streamQuery(sql.toString(), List.of(from, to), consumer);
+    }
+
+    /**
+     * Counts the rows per value of an int column for values in [from, to] with one grouped query,
+     * so per-parent totals can be read without streaming the rows themselves.
+     *
+     * @return row count per column value; values without rows are absent
+     */
+    public Map<Integer, Integer> countByInRange(String field, long from, long to) {
+        String sql = sqlFor("countBy|" + field, () -> {
+            ensureFieldExists(field);
+            return "SELECT `" + field + "`, COUNT(*) FROM `" + tableName + "` WHERE `" + field + "` BETWEEN ? AND ? GROUP BY `" + field + "`;";
+        });
+        return mysql.withStatement(sql, st -> {
+            st.setLong(1, from);
+            st.setLong(2, to);
+            Map<Integer, Integer> out = new HashMap<>();
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) out.put(rs.getInt(1), rs.getInt(2));
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Streams every row to the consumer from a forward-only cursor, ordered if requested.
+     * The connection stays borrowed until the last row was consumed; prefer {@link #forEachPage} when the
+     * consumer itself runs slow work or many queries per row.
+     *
+     * @return number of rows streamed
+     */
+    public int forEach(String orderBy, Consumer<T> consumer) {
+        String sql = sqlFor("all|" + orderBy, () -> "SELECT * FROM `" + tableName + "`" + orderByClause(orderBy) + ";");
+        return streamQuery(sql, List.of(), consumer);
+    }
+
+    /**
+     * Streams every row where field equals value to the consumer from a forward-only cursor, ordered if requested.
+     *
+     * @return number of rows streamed
+     */
+    public int forEachBy(String field, Object value, String orderBy, Consumer<T> consumer) {
+        String sql = sqlFor("allBy|" + field + "|" + orderBy, () -> {
+            ensureFieldExists(field);
+            return "SELECT * FROM `" + tableName + "` WHERE `" + field + "` = ?" + orderByClause(orderBy) + ";";
+        });
+        return streamQuery(sql, Collections.singletonList(param(value)), consumer);
+    }
+
+    /**
+     * Keyset pagination: returns up to pageSize rows whose primary key is greater than afterKey, ordered by primary key.
+     * Pass null for the first page and the key of the last returned row for the next one. Unlike LIMIT/OFFSET,
+     * every page costs one index range scan regardless of how deep it is.
+     */
+    public List<T> getPageAfter(Object afterKey, int pageSize) {
+        int limit = Math.max(1, pageSize);
+        if (afterKey == null) {
+            String sql = sqlFor("firstPage", () -> "SELECT * FROM `" + tableName + "` ORDER BY `" + primaryKey + "` LIMIT ?;");
+            return queryList(sql, List.of(limit));
+        }
+        String sql = sqlFor("pageAfter", () -> "SELECT * FROM `" + tableName + "` WHERE `" + primaryKey + "` > ? ORDER BY `" + primaryKey + "` LIMIT ?;");
+        return queryList(sql, List.of(param(afterKey), limit));
+    }
+
+    /**
+     * Walks the whole table in primary key order, one keyset page at a time. No connection is held while the
+     * consumer runs, so it may issue its own queries or updates.
+     *
+     * @return number of rows visited
+     */
+    public int forEachPage(int pageSize, Consumer<List<T>> pageConsumer) {
+        EntityMapper.Property key = mapper.primaryKey();
+        if (key == null) throw new IllegalStateException("Table " + tableName + " has no mapped primary key field");
+        int total = 0;
+        Object after = null;
+        while (true) {
+            List<T> page = getPageAfter(after, pageSize);
+            if (page.isEmpty()) return total;
+            pageConsumer.accept(page);
+            total += page.size();
+            if (page.size() < pageSize) return total;
+            after = mapper.get(key, page.getLast());
+        }
     }
 
     /** Deletes a row by primary key. */
     public void deleteById(Object id) {
-        String sql = "DELETE FROM `" + tableName + "` WHERE `" + primaryKey + "` = ?;";
-        mysql.runAsync(() -> mysql.withConnection(conn -> {
-            try (PreparedStatement st = conn.prepareStatement(sql)) {
-                st.setObject(1, (id instanceof UUID) ? id.toString() : id);
-                st.executeUpdate();
-            }
-            return null;
+        String sql = sqlFor("deleteById", () -> "DELETE FROM `" + tableName + "` WHERE `" + primaryKey + "` = ?;");
+        mysql.runAsync(() -> mysql.withStatement(sql, st -> {
+            st.setObject(1, param(id));
+            return st.executeUpdate();
         }));
     }
 
     /** Deletes rows matching equality conditions. */
     public void deleteWhere(Map<String, Object> where) {
         if (where == null || where.isEmpty()) return;
-        StringBuilder sql = new StringBuilder("DELETE FROM `" + tableName + "` WHERE ");
-        List<Object> params = new ArrayList<>();
-        boolean first = true;
-        for (Map.Entry<String, Object> e : where.entrySet()) {
-            ensureFieldExists(e.getKey());
-            if (!first) sql.append(" AND ");
-            first = false;
-            sql.append("`").append(e.getKey()).append("` = ?");
-            params.add(e.getValue());
-        }
-        sql.append(";");
-        mysql.runAsync(() -> mysql.withConnection(conn -> {
-            try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
-                for (int i = 0; i < params.size(); i++) {
-                    Object v = params.get(i);
-                    st.setObject(i + 1, (v instanceof UUID) ? v.toString() : v);
-                }
-                st.executeUpdate();
-            }
-            return null;
-        }));
+        Map<String, Object> snapshot = new LinkedHashMap<>(where);
+        String sql = deleteWhereSql(snapshot.keySet());
+        mysql.runAsync(() -> mysql.withStatement(sql, st -> executeWhere(st, snapshot)));
     }
 
     /** Synchronous delete with where clause; returns affected rows. */
     public int deleteWhereSync(Map<String, Object> where) {
         if (where == null || where.isEmpty()) return 0;
-        StringBuilder sql = new StringBuilder("DELETE FROM `" + tableName + "` WHERE ");
-        List<Object> params = new ArrayList<>();
-        boolean first = true;
-        for (Map.Entry<String, Object> e : where.entrySet()) {
-            ensureFieldExists(e.getKey());
-            if (!first) sql.append(" AND ");
-            first = false;
-            sql.append("`").append(e.getKey()).append("` = ?");
-            params.add(e.getValue());
-        }
-        sql.append(";");
-        return mysql.withConnection(conn -> {
-            try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
-                for (int i = 0; i < params.size(); i++) {
-                    Object v = params.get(i);
-                    st.setObject(i + 1, (v instanceof UUID) ? v.toString() : v);
-                }
-                return st.executeUpdate();
+        String sql = deleteWhereSql(where.keySet());
+        return mysql.withStatement(sql, st -> executeWhere(st, where));
+    }
+
+    /**
+     * Updates the given columns of every row matching the equality conditions, in one statement.
+     * Extra conditions turn it into a compare-and-set, e.g. {@code status = 'CLOSED'} for a state transition.
+     *
+     * @param set   column values to write (iteration order is the bind order)
+     * @param where equality conditions (iteration order is the bind order)
+     * @return matched rows (the driver reports found rows, so rows already holding the values count too)
+     */
+    public int updateWhere(Map<String, Object> set, Map<String, Object> where) {
+        if (set == null || set.isEmpty() || where == null || where.isEmpty()) return 0;
+        List<String> setKeys = new ArrayList<>(set.keySet());
+        List<String> whereKeys = new ArrayList<>(where.keySet());
+        String sql = sqlFor("updateWhere|" + setKeys + "|" + whereKeys, () -> {
+            StringJoiner assignments = new StringJoiner(", ");
+            for (String f : setKeys) {
+                ensureFieldExists(f);
+                assignments.add("`" + f + "` = ?");
             }
+            return "UPDATE `" + tableName + "` SET " + assignments + whereClause(whereKeys) + ";";
+        });
+        return mysql.withStatement(sql, st -> {
+            int idx = 1;
+            for (Object v : set.values()) st.setObject(idx++, param(v));
+            for (Object v : where.values()) st.setObject(idx++, param(v));
+            return st.executeUpdate();
         });
     }
 
     // --- internals ---
 
     private List<T> queryList(String sql) {
-        return mysql.withConnection(conn -> {
+        return queryList(sql, List.of());
+    }
+
+    private List<T> queryList(String sql, List<Object> params) {
+        return mysql.withStatement(sql, st -> {
             List<T> out = new ArrayList<>();
-            try (PreparedStatement st = conn.prepareStatement(sql);
-                 ResultSet rs = st.executeQuery()) {
-                while (rs.next()) {
-                    T row = buildFromResultSet(rs);
-                    if (row != null) out.add(row);
-                }
+            for (int i = 0; i < params.size(); i++) st.setObject(i + 1, params.get(i));
+            try (ResultSet rs = st.executeQuery()) {
+                readAll(rs, out::add);
             }
             return out;
         });
     }
 
-    private T buildFromResultSet(ResultSet rs) throws SQLException {
-        try {
-            T instance = clazz.getDeclaredConstructor().newInstance();
-            for (Field f : modelFields()) {
-                f.setAccessible(true);
-                String name = f.getName();
-                Object raw = rs.getObject(name);
-                if (raw == null) { f.set(instance, null); continue; }
-                Class<?> target = f.getType();
-
-                Object value;
-                if (target == UUID.class) {
-                    value = UUID.fromString(raw.toString());
-                } else if (target == String.class) {
-                    value = rs.getString(name);
-                } else if (isPrimitiveOrBox(target)) {
-                    // Let JDBC perform primitive conversions
-                    value = raw;
-                } else if (raw instanceof byte[] && target == byte[].class) {
-                    value = raw;
-                } else {
-                    // JSON-backed field
-                    String json = rs.getString(name);
-                    Type t = f.getGenericType();
-                    value = gson.fromJson(json, t);
-                }
-                f.set(instance, value);
-            }
-            return instance;
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException("Failed to hydrate " + clazz.getSimpleName(), e);
+    /** @return the SQL text for a statement shape, building (and validating) it only the first time. */
+    private String sqlFor(String shape, Supplier<String> builder) {
+        String sql = sqlByShape.get(shape);
+        return sql != null ? sql : sqlByShape.computeIfAbsent(shape, k -> builder.get());
+    }
+
+    private String orderByClause(String orderBy) {
+        if (orderBy == null) return "";
+        ensureFieldExists(orderBy);
+        return " ORDER BY `" + orderBy + "`";
+    }
+
+    private String whereClause(Collection<String> fields) {
+        if (fields.isEmpty()) return "";
+        StringJoiner conds = new StringJoiner(" AND ", " WHERE ", "");
+        for (String f : fields) {
+            ensureFieldExists(f);
+            conds.add("`" + f + "` = ?");
         }
+        return conds.toString();
     }
 
-    private Object serializeValue(Object value) {
-        if (value == null) return null;
-        if (value instanceof UUID uuid) return uuid.toString();
-        if (value instanceof byte[]) return value;
-        if (value instanceof CharSequence) return value.toString();
-        if (isPrimitiveOrBox(value.getClass())) return value;
-        if (value instanceof Collection<?> || value instanceof Map<?,?>) return gson.toJson(value);
-        // Complex types -> JSON
-        return gson.toJson(value);
+    private String deleteWhereSql(Collection<String> fields) {
+        List<String> keys = new ArrayList<>(fields);
+        return sqlFor("deleteWhere|" + keys, () -> "DELETE FROM `" + tableName + "`" + whereClause(keys) + ";");
     }
 
-    private boolean isPrimitiveOrBox(Class<?> c) {
-        return c.isPrimitive() ||
-                c == Integer.class || c == Long.class || c == Double.class || c == Float.class ||
-                c == Boolean.class || c == Character.class || c == Short.class || c == Byte.class ||
-                c == String.class;
+    /** Binds the equality values in map iteration order (the order used to build the statement) and executes it. */
+    private static int executeWhere(PreparedStatement st, Map<String, Object> where) throws SQLException {
+        int idx = 1;
+        for (Object v : where.values()) st.setObject(idx++, param(v));
+        return st.executeUpdate();
     }
 
-    private List<Field> modelFields() {
-        List<Field> fields = new ArrayList<>();
-        Class<?> c = clazz;
-        while (c != null && c != Object.class) {
-            for (Field f : c.getDeclaredFields()) {
-                int mod = f.getModifiers();
-                if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || f.isSynthetic()) continue;
-                fields.add(f);
-            }
-            c = c.getSuperclass();
+    private static Object param(Object value) {
+        return (value instanceof UUID) ? value.toString() : value;
+    }
+
+    /** Hydrates every remaining row; column indices are resolved once for the whole result set. */
+    private int readAll(ResultSet rs, Consumer<T> consumer) throws SQLException {
+        int[] columnIndices = null;
+        int count = 0;
+        while (rs.next()) {
+            if (columnIndices == null) columnIndices = mapper.columnIndices(rs.getMetaData());
+            consumer.accept(mapper.read(rs, columnIndices));
+            count++;
+        }
+        return count;
+    }
+
+    private int insertRows(Connection conn, String verb, EntityMapper.Property[] fields, Collection<T> objs, boolean ignore) throws SQLException {
+        if (objs == null || objs.isEmpty()) return 0;
+        String row = Arrays.stream(fields).map(f -> "?").collect(Collectors.joining(",", "(", ")"));
+        String sql = verb + " `" + tableName + "` (" + columnList(fields) + ") VALUES " + String.join(",", Collections.nCopies(objs.size(), row)) + ";";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int idx = 1;
+            for (T obj : objs) idx = mapper.bind(ps, idx, fields, obj);
+            int inserted = ps.executeUpdate();
+            if (ignore) failUnlessDuplicate(ps);
+            return inserted;
         }
-        // Keep deterministic order
-        fields.sort(Comparator.comparing(Field::getName));
-        return fields;
+    }
+
+    /**
+     * INSERT IGNORE downgrades every row error to a warning, not just duplicate keys. Rethrows the first warning
+     * that is not ER_DUP_ENTRY (1062), so callers only read a skipped row as "already there".
+     */
+    private static void failUnlessDuplicate(Statement st) throws SQLException {
+        for (SQLWarning w = st.getWarnings(); w != null; w = w.getNextWarning()) {
+            if (w.getErrorCode() != 1062) throw new SQLException(w.getMessage(), w.getSQLState(), w.getErrorCode());
+        }
+    }
+
+    /**
+     * Runs a read-only query with a streaming cursor and hands each hydrated row to the consumer.
+     * Streaming statements are not cached: the driver keeps the connection busy until the cursor is drained.
+     */
+    private int streamQuery(String sql, List<Object> params, Consumer<T> consumer) {
+        return mysql.withConnection(conn -> {
+            try (PreparedStatement st = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Row-by-row streaming (MIN_VALUE) or server-side cursor batches, see mysql.streamFetchSize
+                st.setFetchSize(mysql.streamFetchSize());
+                for (int i = 0; i < params.size(); i++) st.setObject(i + 1, params.get(i));
+                try (ResultSet rs = st.executeQuery()) {
+                    return readAll(rs, consumer);
+                }
+            }
+        });
+    }
+
+    private static String columnList(EntityMapper.Property[] fields) {
+        return Arrays.stream(fields).map(f -> "`" + f.name() + "`").collect(Collectors.joining(","));
+    }
+
+    private static String placeholders(EntityMapper.Property[] fields) {
+        return Arrays.stream(fields).map(f -> "?").collect(Collectors.joining(","));
+    }
+
+    private String buildUpsertSql() {
+        EntityMapper.Property[] fields = mapper.all();
+        String updates = Arrays.stream(mapper.nonPk())
+                .map(f -> "`" + f.name() + "` = VALUES(`" + f.name() + "`)")
+                .collect(Collectors.joining(","));
+        return "INSERT INTO `" + tableName + "` (" + columnList(fields) + ") VALUES (" + placeholders(fields) + ") ON DUPLICATE KEY UPDATE " + updates + ";";
+    }
+
+    private String buildInsertNonPkSql(String verb) {
+        EntityMapper.Property[] fields = mapper.nonPk();
+        return verb + " `" + tableName + "` (" + columnList(fields) + ") VALUES (" + placeholders(fields) + ");";
     }
 
     private void ensureFieldExists(String name) {
@@ -436,19 +614,32 @@ public class AutoTable<T> extends AbstractTable {
         return cols;
     }
 
+    /** Reads {@link Index} declarations, rejecting unknown field names early. */
+    private List<TableIndex> computeIndexes(Class<?> clazz) {
+        List<TableIndex> out = new ArrayList<>();
+        for (Index index : clazz.getAnnotationsByType(Index.class)) {
+            for (String c : index.columns()) ensureFieldExists(c);
+            out.add(new TableIndex(index.name(), index.unique(), List.of(index.columns())));
+        }
+        return List.copyOf(out);
+    }
+
     /** Executes a single prepared statement for the given fields and object. */
-    private void executeSingle(String sql, List<Field> fields, T obj) {
-        mysql.withConnection(conn -> {
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (int i = 0; i < fields.size(); i++) {
-                    Field f = fields.get(i);
-                    f.setAccessible(true);
-                    Object v = f.get(obj);
-                    ps.setObject(i + 1, serializeValue(v));
-                }
-                ps.executeUpdate();
+    private void executeSingle(String sql, EntityMapper.Property[] fields, T obj) {
+        mysql.withStatement(sql, ps -> {
+            mapper.bind(ps, 1, fields, obj);
+            return ps.executeUpdate();
+        });
+    }
+
+    /** Executes the statement once per object as a JDBC batch, binding every mapped field. */
+    private void executeBatch(String sql, Collection<T> objs) {
+        mysql.withStatement(sql, ps -> {
+            for (T obj : objs) {
+                mapper.bind(ps, 1, mapper.all(), obj);
+                ps.addBatch();
             }
-            return null;
+            return ps.executeBatch();
         });
     }
 }
@@ -0,0 +1,178 @@
+package net.democracycraft.elections.internal.database.table;
+
+import com.google.gson.Gson;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Precomputed row mapper for one entity class.
+ *
+ * Fields, their JDBC access kind and method-handle accessors are resolved once when the table is created.
+ * Result-set columns are resolved to indices once per query (not per row), so hydrating a row is a sequence of
+ * typed {@code rs.getXxx(index)} calls and direct setter invocations. Binding parameters works the same way.
+ * Field order is the deterministic name order used by {@link AutoTable} for columns.
+ */
+final class EntityMapper<T> {
+
+    /** How a field is read from and written to JDBC. */
+    private enum Kind { INT, LONG, DOUBLE, FLOAT, BOOLEAN, SHORT, BYTE, OBJECT, STRING, UUID, BYTES, JSON }
+
+    /** One mapped field. */
+    record Property(String name, Kind kind, boolean primitive, boolean primaryKey, Type genericType,
+                    MethodHandle getter, MethodHandle setter) {}
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> clazz;
+    private final Gson gson;
+    private final MethodHandle constructor;
+    private final Property[] all;
+    private final Property[] nonPk;
+    private final Property primaryKey;
+
+    EntityMapper(Class<T> clazz, String primaryKey, Gson gson) {
+        this.clazz = clazz;
+        this.gson = gson;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            var ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+            List<Property> props = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    int mod = f.getModifiers();
+                    if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || f.isSynthetic()) continue;
+                    f.setAccessible(true);
+                    props.add(new Property(f.getName(), kindOf(f.getType()), f.getType().isPrimitive(), f.getName().equals(primaryKey),
+                            f.getGenericType(), lookup.unreflectGetter(f).asType(GETTER_TYPE), lookup.unreflectSetter(f).asType(SETTER_TYPE)));
+                }
+            }
+            // Keep deterministic order
+            props.sort(Comparator.comparing(Property::name));
+            this.all = props.toArray(new Property[0]);
+            this.nonPk = props.stream().filter(p -> !p.primaryKey()).toArray(Property[]::new);
+            this.primaryKey = props.stream().filter(Property::primaryKey).findFirst().orElse(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot map " + clazz.getName() + ": it needs a no-arg constructor and accessible fields", e);
+        }
+    }
+
+    /** @return all mapped fields in column order. */
+    Property[] all() { return all; }
+
+    /** @return mapped fields excluding the primary key, in column order. */
+    Property[] nonPk() { return nonPk; }
+
+    /** @return the primary key field, or null when the entity has none (e.g. join tables). */
+    Property primaryKey() { return primaryKey; }
+
+    /**
+     * Resolves each mapped field to its column index in the result set.
+     *
+     * @throws SQLException when a mapped column is missing from the result set
+     */
+    int[] columnIndices(ResultSetMetaData md) throws SQLException {
+        Map<String, Integer> byLabel = new HashMap<>();
+        for (int i = md.getColumnCount(); i >= 1; i--) byLabel.put(md.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        int[] out = new int[all.length];
+        for (int i = 0; i < all.length; i++) {
+            Integer idx = byLabel.get(all[i].name().toLowerCase(Locale.ROOT));
+            if (idx == null) throw new SQLException("Column '" + all[i].name() + "' not found in result set");
+            out[i] = idx;
+        }
+        return out;
+    }
+
+    /** Hydrates the current row using indices from {@link #columnIndices(ResultSetMetaData)}. */
+    @SuppressWarnings("unchecked")
+    T read(ResultSet rs, int[] columns) throws SQLException {
+        try {
+            Object instance = constructor.invokeExact();
+            for (int i = 0; i < all.length; i++) {
+                Property p = all[i];
+                Object value = readValue(rs, columns[i], p);
+                // Primitive fields keep their default when the column is NULL
+                if (value == null && p.primitive()) continue;
+                p.setter().invokeExact(instance, value);
+            }
+            return (T) instance;
+        } catch (SQLException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to hydrate " + clazz.getSimpleName(), t);
+        }
+    }
+
+    /**
+     * Binds the given fields of {@code obj} starting at parameter {@code index}.
+     *
+     * @return the next free parameter index
+     */
+    int bind(PreparedStatement ps, int index, Property[] props, T obj) throws SQLException {
+        for (Property p : props) ps.setObject(index++, serialize(p, get(p, obj)));
+        return index;
+    }
+
+    Object get(Property p, T obj) {
+        try {
+            return p.getter().invokeExact((Object) obj);
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to read " + clazz.getSimpleName() + "." + p.name(), t);
+        }
+    }
+
+    // --- internals ---
+
+    private Object readValue(ResultSet rs, int col, Property p) throws SQLException {
+        Object v;
+        switch (p.kind()) {
+            case INT -> { int x = rs.getInt(col); v = rs.wasNull() ? null : x; }
+            case LONG -> { long x = rs.getLong(col); v = rs.wasNull() ? null : x; }
+            case DOUBLE -> { double x = rs.getDouble(col); v = rs.wasNull() ? null : x; }
+            case FLOAT -> { float x = rs.getFloat(col); v = rs.wasNull() ? null : x; }
+            case BOOLEAN -> { boolean x = rs.getBoolean(col); v = rs.wasNull() ? null : x; }
+            case SHORT -> { short x = rs.getShort(col); v = rs.wasNull() ? null : x; }
+            case BYTE -> { byte x = rs.getByte(col); v = rs.wasNull() ? null : x; }
+            case STRING -> v = rs.getString(col);
+            case UUID -> { String s = rs.getString(col); v = s == null ? null : java.util.UUID.fromString(s); }
+            case BYTES -> v = rs.getBytes(col);
+            case JSON -> { String json = rs.getString(col); v = json == null ? null : gson.fromJson(json, p.genericType()); }
+            default -> v = rs.getObject(col);
+        }
+        return v;
+    }
+
+    private Object serialize(Property p, Object value) {
+        if (value == null) return null;
+        return switch (p.kind()) {
+            case UUID -> value.toString();
+            case JSON -> (value instanceof CharSequence cs) ? cs.toString() : gson.toJson(value);
+            default -> value;
+        };
+    }
+
+    private static Kind kindOf(Class<?> t) {
+        if (t == int.class || t == Integer.class) return Kind.INT;
+        if (t == long.class || t == Long.class) return Kind.LONG;
+        if (t == double.class || t == Double.class) return Kind.DOUBLE;
+        if (t == float.class || t == Float.class) return Kind.FLOAT;
+        if (t == boolean.class || t == Boolean.class) return Kind.BOOLEAN;
+        if (t == short.class || t == Short.class) return Kind.SHORT;
+        if (t == byte.class || t == Byte.class) return Kind.BYTE;
+        if (t.isPrimitive() || t == Character.class) return Kind.OBJECT;
+        if (t == String.class) return Kind.STRING;
+        if (t == java.util.UUID.class) return Kind.UUID;
+        if (t == byte[].class) return Kind.BYTES;
+        // Complex types are stored as JSON
+        return Kind.JSON;
+    }
+}
@@ -0,0 +1,25 @@
+package net.democracycraft.elections.internal.database.table;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares a secondary index on an entity's table. Repeat the annotation for several indexes.
+ *
+ * Only declared indexes are created by {@link AutoTable}; every index costs an extra write per insert,
+ * so declare the ones the queries actually use (composite indexes also serve their leftmost prefix).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(Indexes.class)
+public @interface Index {
+
+    /** Index name, unique within the table. */
+    String name();
+
+    /** Indexed field names in index order. */
+    String[] columns();
+
+    /** Whether the index also enforces uniqueness. */
+    boolean unique() default false;
+}
@@ -0,0 +1,11 @@
+package net.democracycraft.elections.internal.database.table;
+
+import java.lang.annotation.*;
+
+/** Container for repeated {@link Index} annotations. */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Indexes {
+    Index[] value();
+}
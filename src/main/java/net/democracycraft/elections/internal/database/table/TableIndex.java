@@ -0,0 +1,27 @@
+package net.democracycraft.elections.internal.database.table;
+
+import java.util.List;
+
+/**
+ * Resolved index declaration of a table.
+ *
+ * @param name    index name
+ * @param unique  whether the index enforces uniqueness
+ * @param columns indexed columns in order
+ */
+public record TableIndex(String name, boolean unique, List<String> columns) {
+
+    public TableIndex {
+        columns = List.copyOf(columns);
+    }
+
+    /** @return the ALTER TABLE statement that creates this index on the given table. */
+    public String createSql(String table) {
+        StringBuilder cols = new StringBuilder();
+        for (String c : columns) {
+            if (!cols.isEmpty()) cols.append(',');
+            cols.append('`').append(c).append('`');
+        }
+        return "ALTER TABLE `" + table + "` ADD " + (unique ? "UNIQUE" : "INDEX") + " `" + name + "` (" + cols + ")";
+    }
+}
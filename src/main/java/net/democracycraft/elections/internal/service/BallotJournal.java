@@ -0,0 +1,424 @@
+package net.democracycraft.elections.internal.service;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for ballots (opt-in write-behind mode).
+ *
+ * Contract:
+ * - {@link #append(Entry)} writes the ballot to an append-only file; the returned future completes once the
+ *   record has been fsync'd. Appends arriving within one fsync interval share a single fsync (group commit).
+ * - A committer thread drains durable entries into MySQL in batches through the {@link BatchWriter}.
+ *   Batches failing with a transient error are retried with backoff and stay in the file until written. A batch
+ *   failing otherwise is written one entry at a time, and an entry that fails on its own too is moved to the
+ *   dead-letter file next to the journal (same record layout) instead of holding up every later ballot.
+ * - The file is truncated whenever every appended entry has been committed.
+ * - A failed write or fsync cuts the file back to its last durable length, so a rejected ballot is neither replayed
+ *   nor left as a torn record in front of later ones. When that cut fails too, the journal stops accepting ballots
+ *   ({@link #isAccepting()}) and callers write directly instead.
+ * - {@link #recover()} returns the entries left in the file by a previous run; the writer must be idempotent
+ *   (the uq_ballot_once constraint and explicit ballot ids make replay safe).
+ *
+ * Record layout: int payloadLength, payload, int crc32(payload). A torn or corrupt tail is ignored on recovery.
+ */
+public final class BallotJournal implements AutoCloseable {
+
+    /** Writes a batch of ballots to the database in one transaction. */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<Entry> batch) throws Exception;
+
+        /** @return true when writing the same entries again may succeed (e.g. the database is unreachable). */
+        default boolean isTransient(Exception failure) { return true; }
+
+        /** Called once an entry has been moved to the dead-letter file; it is not written again. */
+        default void deadLettered(Entry entry) {}
+    }
+
+    /**
+     * A journaled ballot.
+     *
+     * @param ballotId               pre-assigned ballot id
+     * @param electionId             owning election
+     * @param voterId                voter id
+     * @param submittedAtEpochMillis submission time
+     * @param selections             candidate ids in rank order
+     */
+    public record Entry(int ballotId, int electionId, int voterId, long submittedAtEpochMillis, int[] selections) {}
+
+    /**
+     * Journal counters.
+     *
+     * @param pending          entries appended but not yet committed to MySQL
+     * @param appended         entries made durable since start
+     * @param committed        entries committed since start
+     * @param fsyncs           fsync calls since start
+     * @param failedCommits    batches that failed and were retried
+     * @param deadLettered     entries moved to the dead-letter file since start
+     * @param lastCommitMillis duration of the last successful batch commit
+     */
+    public record Stats(long pending, long appended, long committed, long fsyncs, long failedCommits, long deadLettered,
+                        long lastCommitMillis) {}
+
+    private final Path file;
+    /** Entries that could not be written to MySQL. */
+    private final Path deadLetters;
+    private final BatchWriter writer;
+    private final Logger logger;
+    private final long fsyncIntervalMillis;
+    private final long commitIntervalMillis;
+    private final int batchSize;
+
+    private final Object appendLock = new Object();
+    private final FileChannel channel;
+    /** Entries written to the file and waiting for the next group fsync. */
+    private final List<Pending> unsynced = new ArrayList<>();
+    /** Durable entries waiting to be written to MySQL. */
+    private final BlockingQueue<Entry> durable = new LinkedBlockingQueue<>();
+
+    /** File length covered by fsync'd records; a failed fsync cuts the file back to it. */
+    private long durableLength;
+    /** File length covered by fully written records; a failed write cuts the file back to it. */
+    private long writtenLength;
+    /** Set when the file could not be cut back after a failure; no further ballots are accepted. */
+    private volatile boolean failed;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong fsyncs = new AtomicLong();
+    private final AtomicLong failedCommits = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private volatile long lastCommitMillis;
+
+    private final ScheduledExecutorService flusher;
+    private final Thread committer;
+    /** Ends the committer's backoff waits on close; threads doing channel I/O are never interrupted. */
+    private final CountDownLatch stopping = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    private record Pending(Entry entry, CompletableFuture<Void> future) {}
+
+    public BallotJournal(Path file, BatchWriter writer, Logger logger, long fsyncIntervalMillis, long commitIntervalMillis, int batchSize) throws IOException {
+        this.file = file;
+        this.deadLetters = file.resolveSibling(file.getFileName() + ".dead");
+        this.writer = writer;
+        this.logger = logger;
+        this.fsyncIntervalMillis = Math.max(1L, fsyncIntervalMillis);
+        this.commitIntervalMillis = Math.max(10L, commitIntervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        Files.createDirectories(file.getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DemocracyElections-JournalSync");
+            t.setDaemon(true);
+            return t;
+        });
+        this.committer = new Thread(this::commitLoop, "DemocracyElections-JournalCommit");
+        this.committer.setDaemon(true);
+    }
+
+    /**
+     * Reads every intact record left in the file by a previous run and cuts off a torn tail,
+     * so new records are appended right after the last intact one. Call before {@link #start(List)}.
+     */
+    public List<Entry> recover() throws IOException {
+        List<Entry> out = new ArrayList<>();
+        long valid = 0L;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int len;
+                try { len = in.readInt(); } catch (EOFException eof) { break; }
+                if (len <= 0 || len > 1 << 20) break;
+                byte[] payload = new byte[len];
+                int crc;
+                try {
+                    in.readFully(payload);
+                    crc = in.readInt();
+                } catch (EOFException torn) {
+                    break;
+                }
+                CRC32 c = new CRC32();
+                c.update(payload);
+                if ((int) c.getValue() != crc) break;
+                out.add(decode(payload));
+                valid += 8L + len;
+            }
+        }
+        synchronized (appendLock) {
+            if (channel.size() > valid) {
+                logger.warning("Ballot journal has a torn tail after " + out.size() + " records; discarding " + (channel.size() - valid) + " bytes.");
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            durableLength = valid;
+            writtenLength = valid;
+        }
+        return out;
+    }
+
+    /**
+     * Queues still-uncommitted recovered entries (they are already durable) and starts the background threads.
+     * When nothing is left to commit, records from the previous run are discarded.
+     */
+    public void start(List<Entry> uncommitted) {
+        if (uncommitted != null && !uncommitted.isEmpty()) {
+            appended.addAndGet(uncommitted.size());
+            durable.addAll(uncommitted);
+        } else {
+            truncateIfDrained();
+        }
+        flusher.scheduleWithFixedDelay(this::syncPending, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        committer.start();
+    }
+
+    /**
+     * Appends a ballot to the journal.
+     *
+     * @return a future completed once the record is on disk
+     */
+    public CompletableFuture<Void> append(Entry entry) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ByteBuffer buf = record(entry);
+        synchronized (appendLock) {
+            if (closed || failed) {
+                future.completeExceptionally(new IllegalStateException("Ballot journal is " + (closed ? "closed" : "unusable")));
+                return future;
+            }
+            try {
+                while (buf.hasRemaining()) channel.write(buf);
+            } catch (IOException ex) {
+                // Earlier unsynced records are intact; only the partial one is cut off
+                logger.severe("Ballot journal write failed: " + ex.getMessage());
+                rollback(writtenLength);
+                future.completeExceptionally(ex);
+                return future;
+            }
+            writtenLength += buf.limit();
+            unsynced.add(new Pending(entry, future));
+        }
+        return future;
+    }
+
+    /** @return false once closed, or after a failure left the file in an unknown state. */
+    public boolean isAccepting() {
+        return !closed && !failed;
+    }
+
+    /** @return current counters. */
+    public Stats stats() {
+        return new Stats(appended.get() - committed.get() - deadLettered.get(), appended.get(), committed.get(), fsyncs.get(),
+                failedCommits.get(), deadLettered.get(), lastCommitMillis);
+    }
+
+    /**
+     * Stops accepting ballots, makes pending records durable and tries to drain them within the timeout.
+     * Whatever is not committed stays in the file and is replayed on the next start.
+     */
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) return;
+            closed = true;
+        }
+        // Interrupting a thread inside channel.force would close the channel under every pending ballot
+        flusher.shutdown();
+        stopping.countDown();
+        try {
+            flusher.awaitTermination(5_000L, TimeUnit.MILLISECONDS);
+            syncPending();
+            committer.join(10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) {
+            try { channel.close(); } catch (IOException ignored) {}
+        }
+        long left = appended.get() - committed.get() - deadLettered.get();
+        if (left > 0) logger.warning(left + " journaled ballots were not committed to MySQL; they will be replayed on next start.");
+    }
+
+    // --- internals ---
+
+    /** Group commit: one fsync for everything appended since the last call. */
+    private void syncPending() {
+        List<Pending> batch;
+        synchronized (appendLock) {
+            if (unsynced.isEmpty()) return;
+            batch = new ArrayList<>(unsynced);
+            unsynced.clear();
+            try {
+                channel.force(false);
+                fsyncs.incrementAndGet();
+                durableLength = writtenLength;
+            } catch (IOException ex) {
+                // The players are told these ballots failed, so they must not be replayed either
+                logger.severe("Ballot journal fsync failed: " + ex.getMessage());
+                rollback(durableLength);
+                for (Pending p : batch) p.future().completeExceptionally(ex);
+                return;
+            }
+            appended.addAndGet(batch.size());
+        }
+        for (Pending p : batch) {
+            durable.add(p.entry());
+            p.future().complete(null);
+        }
+    }
+
+    /**
+     * Cuts the file back to {@code length} after a failed write or fsync, dropping the records written past it.
+     * Caller holds {@link #appendLock}.
+     */
+    private void rollback(long length) {
+        writtenLength = length;
+        try {
+            channel.truncate(length);
+            channel.position(length);
+            channel.force(false);
+        } catch (IOException ex) {
+            failed = true;
+            logger.severe("Failed to cut back the ballot journal after an I/O error; no further ballots are journaled: " + ex.getMessage());
+        }
+    }
+
+    private void commitLoop() {
+        long backoff = commitIntervalMillis;
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = durable.poll(commitIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (closed) return;
+                        continue;
+                    }
+                    batch.add(first);
+                    durable.drainTo(batch, batchSize - 1);
+                }
+                long t0 = System.nanoTime();
+                writer.write(batch);
+                lastCommitMillis = (System.nanoTime() - t0) / 1_000_000L;
+                committed.addAndGet(batch.size());
+                batch.clear();
+                backoff = commitIntervalMillis;
+                truncateIfDrained();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception ex) {
+                failedCommits.incrementAndGet();
+                if (!writer.isTransient(ex)) {
+                    logger.warning("Ballot journal commit of " + batch.size() + " ballots failed, writing them one by one: " + ex.getMessage());
+                    batch.subList(0, commitSeparately(batch)).clear();
+                    if (batch.isEmpty()) {
+                        backoff = commitIntervalMillis;
+                        truncateIfDrained();
+                        continue;
+                    }
+                }
+                logger.warning("Ballot journal commit of " + batch.size() + " ballots failed, retrying in " + backoff + " ms: " + ex.getMessage());
+                if (closed) return;
+                try {
+                    if (stopping.await(backoff, TimeUnit.MILLISECONDS)) return;
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoff = Math.min(30_000L, backoff * 2);
+            }
+        }
+    }
+
+    /**
+     * Writes the entries of a failed batch one at a time, dead-lettering those that fail on their own.
+     * @return entries dealt with, stopping before the first one that failed transiently
+     */
+    private int commitSeparately(List<Entry> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Entry e = batch.get(i);
+            try {
+                writer.write(List.of(e));
+                committed.incrementAndGet();
+            } catch (Exception ex) {
+                if (writer.isTransient(ex)) return i;
+                deadLetter(e, ex);
+            }
+        }
+        return batch.size();
+    }
+
+    /** Moves an entry MySQL keeps rejecting to the dead-letter file, so later ballots are not held up behind it. */
+    private void deadLetter(Entry e, Exception cause) {
+        String ballot = "ballot " + e.ballotId() + " (election " + e.electionId() + ", voter " + e.voterId() + ", submitted "
+                + e.submittedAtEpochMillis() + ", selections " + Arrays.toString(e.selections()) + ")";
+        try {
+            ByteBuffer buf = record(e);
+            Files.write(deadLetters, Arrays.copyOf(buf.array(), buf.limit()), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            logger.severe("Journaled " + ballot + " was rejected by MySQL and moved to " + deadLetters + ": " + cause.getMessage());
+        } catch (IOException ex) {
+            logger.severe("Journaled " + ballot + " was rejected by MySQL (" + cause.getMessage() + ") and could not be written to "
+                    + deadLetters + "; it is only recorded in this log: " + ex.getMessage());
+        }
+        deadLettered.incrementAndGet();
+        try {
+            writer.deadLettered(e);
+        } catch (RuntimeException ex) {
+            logger.warning("Failed to handle dead-lettered ballot " + e.ballotId() + ": " + ex.getMessage());
+        }
+    }
+
+    /** Empties the file once every appended record has reached MySQL. */
+    private void truncateIfDrained() {
+        synchronized (appendLock) {
+            if (closed || appended.get() != committed.get() + deadLettered.get() || !unsynced.isEmpty()) return;
+            try {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(false);
+                durableLength = 0L;
+                writtenLength = 0L;
+            } catch (IOException ex) {
+                logger.warning("Failed to truncate ballot journal: " + ex.getMessage());
+            }
+        }
+    }
+
+    /** @return the framed record of an entry, ready to write. */
+    private static ByteBuffer record(Entry e) {
+        byte[] payload = encode(e);
+        CRC32 c = new CRC32();
+        c.update(payload);
+        ByteBuffer buf = ByteBuffer.allocate(8 + payload.length);
+        buf.putInt(payload.length).put(payload).putInt((int) c.getValue()).flip();
+        return buf;
+    }
+
+    private static byte[] encode(Entry e) {
+        ByteBuffer b = ByteBuffer.allocate(4 * 3 + 8 + 4 + 4 * e.selections().length);
+        b.putInt(e.ballotId()).putInt(e.electionId()).putInt(e.voterId()).putLong(e.submittedAtEpochMillis());
+        b.putInt(e.selections().length);
+        for (int s : e.selections()) b.putInt(s);
+        return b.array();
+    }
+
+    private static Entry decode(byte[] payload) {
+        ByteBuffer b = ByteBuffer.wrap(payload);
+        int ballotId = b.getInt(), electionId = b.getInt(), voterId = b.getInt();
+        long at = b.getLong();
+        int[] sel = new int[b.getInt()];
+        for (int i = 0; i < sel.length; i++) sel[i] = b.getInt();
+        return new Entry(ballotId, electionId, voterId, at, sel);
+    }
+}
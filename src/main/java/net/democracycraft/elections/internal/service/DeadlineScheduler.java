@@ -0,0 +1,150 @@
+package net.democracycraft.elections.internal.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * In-memory timer for election deadlines: scheduled openings and duration-based closings.
+ *
+ * Contract:
+ * - At most one deadline is armed per election and {@link Kind}; arming again replaces it, arming null disarms it.
+ *   Re-arming with the same time is a no-op, so callers may re-arm after every mirror change.
+ * - A single daemon thread blocks on a {@link DelayQueue} and hands each due deadline to the {@link Handler};
+ *   nothing polls and no database is read between deadlines. Deadlines already in the past fire immediately.
+ * - Replaced deadlines stay in the queue until their time and are skipped then, which keeps re-arming O(log n).
+ * - The handler runs on the scheduler thread and must hand blocking work to another executor.
+ */
+public final class DeadlineScheduler implements AutoCloseable {
+
+    /** What happens when the deadline is reached. */
+    public enum Kind { OPEN, CLOSE }
+
+    /** Receives due deadlines. */
+    @FunctionalInterface
+    public interface Handler {
+        void onDeadline(int electionId, Kind kind);
+    }
+
+    /**
+     * Scheduler counters.
+     *
+     * @param armed             deadlines currently armed
+     * @param nextEpochMillis   earliest armed deadline, or null when none is armed
+     * @param fired             deadlines handed to the handler since start
+     */
+    public record Stats(int armed, Long nextEpochMillis, long fired) {}
+
+    private static final class Deadline implements Delayed {
+        final int electionId;
+        final Kind kind;
+        final long atEpochMillis;
+
+        Deadline(int electionId, Kind kind, long atEpochMillis) {
+            this.electionId = electionId;
+            this.kind = kind;
+            this.atEpochMillis = atEpochMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(atEpochMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(atEpochMillis, ((Deadline) o).atEpochMillis);
+        }
+    }
+
+    private final Handler handler;
+    private final Logger logger;
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    /** Current deadline per election and kind; queue entries not present here are stale. */
+    private final Map<Long, Deadline> armed = new ConcurrentHashMap<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile long fired;
+
+    public DeadlineScheduler(Handler handler, Logger logger) {
+        this.handler = handler;
+        this.logger = logger;
+        this.worker = new Thread(this::run, "DemocracyElections-Deadlines");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Arms, replaces or clears the deadline of one election.
+     *
+     * @param atEpochMillis when to fire; null disarms
+     */
+    public void arm(int electionId, Kind kind, Long atEpochMillis) {
+        long key = key(electionId, kind);
+        if (atEpochMillis == null) {
+            armed.remove(key);
+            return;
+        }
+        long at = atEpochMillis;
+        Deadline[] added = {null};
+        armed.compute(key, (k, current) -> {
+            if (current != null && current.atEpochMillis == at) return current;
+            added[0] = new Deadline(electionId, kind, at);
+            return added[0];
+        });
+        if (added[0] != null) queue.add(added[0]);
+    }
+
+    /** Clears every deadline of an election. */
+    public void disarmAll(int electionId) {
+        for (Kind kind : Kind.values()) armed.remove(key(electionId, kind));
+    }
+
+    /** @return the armed deadline in epoch millis, or null. */
+    public Long armedAt(int electionId, Kind kind) {
+        Deadline d = armed.get(key(electionId, kind));
+        return d == null ? null : d.atEpochMillis;
+    }
+
+    public Stats stats() {
+        Long next = null;
+        for (Deadline d : armed.values()) {
+            if (next == null || d.atEpochMillis < next) next = d.atEpochMillis;
+        }
+        return new Stats(armed.size(), next, fired);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        armed.clear();
+        queue.clear();
+    }
+
+    private void run() {
+        while (running) {
+            Deadline d;
+            try {
+                d = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            // Skip deadlines that were replaced or disarmed after being queued
+            if (!armed.remove(key(d.electionId, d.kind), d)) continue;
+            fired++;
+            try {
+                handler.onDeadline(d.electionId, d.kind);
+            } catch (RuntimeException ex) {
+                logger.warning("Deadline handler failed for election " + d.electionId + " (" + d.kind + "): " + ex.getMessage());
+            }
+        }
+    }
+
+    private static long key(int electionId, Kind kind) {
+        return ((long) electionId << 1) | kind.ordinal();
+    }
+}
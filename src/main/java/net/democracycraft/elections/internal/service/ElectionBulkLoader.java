@@ -0,0 +1,218 @@
+package net.democracycraft.elections.internal.service;
+
+import net.democracycraft.elections.internal.data.*;
+import net.democracycraft.elections.internal.database.DatabaseSchema;
+import net.democracycraft.elections.internal.database.entity.*;
+import net.democracycraft.elections.internal.util.collection.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Set-based hydration of elections from the database.
+ *
+ * Elections are loaded in chunks of consecutive ids. For every chunk each table is read once
+ * (child tables without an election id are joined through their parent), rows are streamed and
+ * grouped in memory by election/candidate/ballot id. A chunk costs a fixed number of queries
+ * regardless of how many candidates, ballots or status changes it contains.
+ *
+ * Elections rejected by the caller's filter are loaded as summaries ({@link ElectionDto#markSummary(int, int)}):
+ * head items, voters, ballots, selections and status changes are not kept, voters and ballots are counted instead.
+ * Chunks without any fully loaded election skip those tables altogether.
+ */
+final class ElectionBulkLoader {
+
+    /** Queries issued per fully loaded chunk (elections, requirements, permissions, candidates, heads, polls, voters, ballots, selections, status changes). */
+    static final int QUERIES_PER_CHUNK = 10;
+    /** Extra queries of a chunk containing summaries (voter and ballot counts). */
+    static final int SUMMARY_QUERIES_PER_CHUNK = 2;
+
+    private final DatabaseSchema schema;
+    private final int chunkSize;
+
+    /** @return elections loaded per chunk (also a sensible keyset page size for election scans). */
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    ElectionBulkLoader(DatabaseSchema schema, int chunkSize) {
+        this.schema = schema;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Loads every election with all of its state.
+     *
+     * @return the loaded elections ordered by id, with load statistics
+     */
+    Result loadAll() {
+        return loadAll(row -> true);
+    }
+
+    /**
+     * Loads every election; those rejected by {@code fullyLoaded} as summaries.
+     *
+     * @return the loaded elections ordered by id, with load statistics
+     */
+    Result loadAll(Predicate<ElectionEntity> fullyLoaded) {
+        long t0 = System.nanoTime();
+        List<Integer> ids = new ArrayList<>();
+        schema.elections().forEach("id", row -> ids.add(row.id));
+        int[] queries = {1};
+        List<ElectionDto> out = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            int lo = ids.get(i);
+            int hi = ids.get(Math.min(ids.size(), i + chunkSize) - 1);
+            out.addAll(loadRange(lo, hi, fullyLoaded, queries));
+        }
+        int summaries = (int) out.stream().filter(ElectionDto::isSummary).count();
+        return new Result(out, summaries, queries[0], (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    /** Loads a single election with all of its state, or null when the row does not exist. */
+    ElectionDto loadOne(int id) {
+        List<ElectionDto> list = loadRange(id, id, row -> true, new int[1]);
+        return list.isEmpty() ? null : list.getFirst();
+    }
+
+    /**
+     * Loads all elections whose id lies in [lo, hi], ordered by id; those rejected by {@code fullyLoaded} as summaries.
+     * Adds the queries issued to {@code queries[0]}.
+     */
+    List<ElectionDto> loadRange(int lo, int hi, Predicate<ElectionEntity> fullyLoaded, int[] queries) {
+        List<ElectionDto> ordered = new ArrayList<>();
+        IntObjectMap<ElectionDto> elections = new IntObjectMap<>();
+        // Subset of elections loaded with voters, ballots, head items and status changes
+        IntObjectMap<ElectionDto> full = new IntObjectMap<>();
+        IntObjectMap<ElectionEntity> rows = new IntObjectMap<>();
+        schema.elections().forEachInRange("id", lo, hi, "id", row -> {
+            ElectionDto e = toElectionDto(row);
+            elections.put(row.id, e);
+            if (fullyLoaded.test(row)) full.put(row.id, e);
+            rows.put(row.id, row);
+            ordered.add(e);
+        });
+        queries[0]++;
+        if (ordered.isEmpty()) return ordered;
+        boolean anyFull = !full.isEmpty();
+        queries[0] += anyFull ? QUERIES_PER_CHUNK - 1 : QUERIES_PER_CHUNK - 5;
+
+        IntObjectMap<ElectionRequirementsEntity> requirements = new IntObjectMap<>();
+        schema.electionRequirements().forEachInRange("electionId", lo, hi, null, r -> requirements.put(r.electionId, r));
+        IntObjectMap<List<String>> permissions = new IntObjectMap<>();
+        schema.requirementPermissions().forEachInRange("electionId", lo, hi, "permission",
+                p -> permissions.computeIfAbsent(p.electionId, k -> new ArrayList<>()).add(p.permission));
+        elections.forEach((id, e) -> {
+            ElectionRequirementsEntity req = requirements.get(id);
+            List<String> perms = permissions.get(id);
+            if ((req != null && req.minActivePlaytimeMinutes != null) || perms != null) {
+                long minutes = (req == null || req.minActivePlaytimeMinutes == null) ? 0L : req.minActivePlaytimeMinutes;
+                e.setRequirements(new RequirementsDto(perms == null ? new ArrayList<>() : perms, minutes));
+            }
+        });
+
+        IntObjectMap<CandidateDto> candidates = new IntObjectMap<>();
+        schema.candidates().forEachInRange("electionId", lo, hi, "id", c -> {
+            ElectionDto e = elections.get(c.electionId);
+            if (e == null) return;
+            CandidateDto dto = new CandidateDto(c.id, c.name);
+            dto.setParty(c.party);
+            e.addCandidate(dto);
+            if (full.get(c.electionId) != null) candidates.put(c.id, dto);
+        });
+        if (anyFull) {
+            schema.candidateHeadItems().forEachJoinedInRange("candidateId", schema.candidates(), "electionId", lo, hi, null, h -> {
+                CandidateDto c = candidates.get(h.candidateId);
+                if (c != null) c.setHeadItemBytes(h.headItemBytes);
+            });
+        }
+
+        schema.polls().forEachInRange("electionId", lo, hi, null, p -> {
+            ElectionDto e = elections.get(p.electionId);
+            if (e != null) e.addPoll(new PollDto(p.world, p.x, p.y, p.z));
+        });
+        if (anyFull) {
+            schema.voters().forEachInRange("electionId", lo, hi, "id", v -> {
+                ElectionDto e = full.get(v.electionId);
+                if (e != null) e.addVoter(new VoterDto(v.id, v.name));
+            });
+
+            // Ballots are staged until their selections are read, then appended to the elections' columnar stores
+            IntObjectMap<BallotDto> ballots = new IntObjectMap<>();
+            List<BallotDto> ballotOrder = new ArrayList<>();
+            schema.ballots().forEachInRange("electionId", lo, hi, "id", b -> {
+                if (full.get(b.electionId) == null) return;
+                BallotDto dto = new BallotDto(b.id, b.electionId, b.voterId);
+                if (b.submittedAtEpochMillis != null) dto.setSubmittedAt(SqlElectionsService.epochToTs(b.submittedAtEpochMillis));
+                ballots.put(b.id, dto);
+                ballotOrder.add(dto);
+            });
+            // Ordered by position, so selections arrive in rank order within each ballot
+            schema.ballotSelections().forEachJoinedInRange("ballotId", schema.ballots(), "electionId", lo, hi, "position", s -> {
+                BallotDto b = ballots.get(s.ballotId);
+                if (b != null) b.addSelection(s.candidateId);
+            });
+            for (BallotDto b : ballotOrder) full.get(b.getElectionId()).appendBallot(b);
+        }
+        if (full.size() < ordered.size()) {
+            Map<Integer, Integer> voterCounts = schema.voters().countByInRange("electionId", lo, hi);
+            Map<Integer, Integer> ballotCounts = schema.ballots().countByInRange("electionId", lo, hi);
+            queries[0] += SUMMARY_QUERIES_PER_CHUNK;
+            for (ElectionDto e : ordered) {
+                if (full.get(e.getId()) == null) e.markSummary(voterCounts.getOrDefault(e.getId(), 0), ballotCounts.getOrDefault(e.getId(), 0));
+            }
+        }
+
+        schema.statusChanges().forEachInRange("electionId", lo, hi, "changedAtEpochMillis", sc -> {
+            ElectionDto e = elections.get(sc.electionId);
+            if (e == null) return;
+            if (full.get(sc.electionId) != null) e.addStatusChange(SqlElectionsService.toStatusChangeDto(sc));
+            // Duration counts from the last OPENED change
+            if (sc.type != null && sc.type.equalsIgnoreCase(StateChangeType.OPENED.name())) {
+                e.setDurationStartEpochMillis(sc.changedAtEpochMillis);
+            }
+        });
+
+        for (ElectionDto e : ordered) {
+            ElectionEntity row = rows.get(e.getId());
+            Long end = SqlElectionsService.computeEndEpochFromDuration(e.getDurationStartEpochMillis(),
+                    row.durationDays, row.durationHour, row.durationMinute, row.durationSecond);
+            e.setClosesAt(SqlElectionsService.epochToTs(end));
+        }
+        return ordered;
+    }
+
+    private static ElectionDto toElectionDto(ElectionEntity eRow) {
+        VotingSystem system = VotingSystem.valueOf(eRow.system);
+        ElectionDto e = new ElectionDto(eRow.id, eRow.title, system, eRow.minimumVotes, null, SqlElectionsService.epochToTs(eRow.createdAtEpochMillis));
+        e.setStatus(ElectionStatus.valueOf(eRow.status));
+        e.setSeats(eRow.seats);
+        if (eRow.durationDays != null) e.setDurationDays(eRow.durationDays);
+        if (eRow.durationHour != null || eRow.durationMinute != null || eRow.durationSecond != null) {
+            int hour = eRow.durationHour == null ? 0 : Math.max(0, eRow.durationHour);
+            int minute = eRow.durationMinute == null ? 0 : Math.max(0, eRow.durationMinute);
+            int second = eRow.durationSecond == null ? 0 : Math.max(0, eRow.durationSecond);
+            e.setDurationTime(new TimeDto(second, minute, hour));
+        }
+        BallotMode mode = BallotMode.MANUAL;
+        if (eRow.ballotMode != null) {
+            try { mode = BallotMode.valueOf(eRow.ballotMode); } catch (IllegalArgumentException ignored) {}
+        }
+        e.setBallotMode(mode);
+        e.setOpensAt(SqlElectionsService.epochToTs(eRow.opensAtEpochMillis));
+        e.setDurationStartEpochMillis(eRow.createdAtEpochMillis);
+        return e;
+    }
+
+    /**
+     * Outcome of a full load.
+     *
+     * @param elections loaded elections ordered by id
+     * @param summaries how many of them were loaded as summaries
+     * @param queries   number of SQL queries issued
+     * @param millis    wall time of the load
+     */
+    record Result(List<ElectionDto> elections, int summaries, int queries, long millis) {}
+}
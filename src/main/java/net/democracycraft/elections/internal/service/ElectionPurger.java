@@ -0,0 +1,163 @@
+package net.democracycraft.elections.internal.service;
+
+import net.democracycraft.elections.internal.data.ElectionStatus;
+import net.democracycraft.elections.internal.data.StateChangeType;
+import net.democracycraft.elections.internal.database.MySQLManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Set-based removal of DELETED elections past their retention.
+ *
+ * Contract:
+ * - One query selects the candidates: DELETED elections whose latest DELETED status change is at or before the threshold.
+ * - Large child tables (ballots with their selections, voters, candidates, polls) are deleted in chunks of at most
+ *   {@code chunkSize} parent rows, one transaction per chunk, so no statement holds locks for long.
+ * - The remaining small rows (requirements, permissions, status changes) and the election row go in one final
+ *   transaction. Until then the DELETED status change is kept, so an election interrupted by the row budget or an
+ *   error is selected again by the next run and finished there.
+ * - A run stops starting new chunks once {@code rowBudget} rows were deleted.
+ * - Fully purged election ids are reported to the caller, which evicts them from the mirror.
+ */
+public final class ElectionPurger {
+
+    private static final String SELECT_CANDIDATES =
+            "SELECT e.`id` FROM `elections` e JOIN `election_status_changes` sc ON sc.`electionId` = e.`id` AND sc.`type` = ? "
+                    + "WHERE e.`status` = ? GROUP BY e.`id` HAVING MAX(sc.`changedAtEpochMillis`) <= ? ORDER BY e.`id`";
+    /** Highest voterId of the next chunk of ballots (ballots are walked along uq_ballot_once). */
+    private static final String BALLOT_CHUNK_END =
+            "SELECT `voterId` FROM `ballots` WHERE `electionId` = ? ORDER BY `voterId` LIMIT 1 OFFSET ?";
+    private static final String DELETE_SELECTIONS =
+            "DELETE bs FROM `ballot_selections` bs JOIN `ballots` b ON b.`id` = bs.`ballotId` WHERE b.`electionId` = ? AND b.`voterId` <= ?";
+    private static final String DELETE_BALLOTS = "DELETE FROM `ballots` WHERE `electionId` = ? AND `voterId` <= ?";
+    /** Chunked child tables after ballots, in foreign key order; candidate head items follow their candidate (CASCADE). */
+    private static final List<String> CHUNKED_TABLES = List.of("voters", "candidates", "polls");
+    /** Small per-election tables removed together with the election row. */
+    private static final List<String> FINAL_TABLES = List.of("election_requirement_permissions", "election_requirements", "election_status_changes");
+
+    /**
+     * Outcome of one purge run.
+     *
+     * @param eligible        DELETED elections past retention at the start of the run
+     * @param purged          elections removed completely
+     * @param rowsDeleted     rows deleted across all tables (cascaded candidate head items not counted)
+     * @param transactions    committed transactions
+     * @param failed          elections skipped after an error (retried next run)
+     * @param budgetExhausted true when the run stopped at the row budget with work left
+     * @param millis          wall time of the run
+     */
+    public record Result(int eligible, int purged, long rowsDeleted, int transactions, int failed, boolean budgetExhausted, long millis) {}
+
+    private final MySQLManager mysql;
+    private final Logger logger;
+    private final int chunkSize;
+    private final long rowBudget;
+
+    ElectionPurger(MySQLManager mysql, Logger logger, int chunkSize, long rowBudget) {
+        this.mysql = mysql;
+        this.logger = logger;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.rowBudget = Math.max(1, rowBudget);
+    }
+
+    /**
+     * Purges eligible elections until done or out of budget.
+     *
+     * @param thresholdEpochMillis latest DELETED change time that is old enough to purge
+     * @param onPurged             called with each fully purged election id
+     */
+    Result purge(long thresholdEpochMillis, IntConsumer onPurged) {
+        long t0 = System.nanoTime();
+        List<Integer> ids = candidates(thresholdEpochMillis);
+        Run run = new Run();
+        int purged = 0, failed = 0;
+        for (int id : ids) {
+            if (run.rows >= rowBudget) break;
+            try {
+                if (purgeOne(id, run)) {
+                    purged++;
+                    onPurged.accept(id);
+                }
+            } catch (RuntimeException ex) {
+                failed++;
+                logger.warning("Purge of election " + id + " failed, retrying next run: " + ex.getMessage());
+            }
+        }
+        boolean exhausted = purged + failed < ids.size();
+        return new Result(ids.size(), purged, run.rows, run.transactions, failed, exhausted, (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    // --- internals ---
+
+    private static final class Run {
+        long rows;
+        int transactions;
+    }
+
+    private List<Integer> candidates(long thresholdEpochMillis) {
+        return mysql.withStatement(SELECT_CANDIDATES, ps -> {
+            ps.setString(1, StateChangeType.DELETED.name());
+            ps.setString(2, ElectionStatus.DELETED.name());
+            ps.setLong(3, thresholdEpochMillis);
+            List<Integer> out = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(rs.getInt(1));
+            }
+            return out;
+        });
+    }
+
+    /** @return true when the election row is gone; false when the row budget ran out first. */
+    private boolean purgeOne(int electionId, Run run) {
+        // Ballots (and their selections) first: they reference voters and candidates
+        boolean[] lastChunk = {false};
+        while (!lastChunk[0] && run.rows < rowBudget) {
+            tx(run, conn -> {
+                Integer end = mysql.withStatement(conn, BALLOT_CHUNK_END, false, ps -> {
+                    ps.setInt(1, electionId);
+                    ps.setInt(2, chunkSize - 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : null;
+                    }
+                });
+                lastChunk[0] = end == null;
+                int upTo = end == null ? Integer.MAX_VALUE : end;
+                return update(conn, DELETE_SELECTIONS, electionId, upTo) + update(conn, DELETE_BALLOTS, electionId, upTo);
+            });
+        }
+        for (String table : CHUNKED_TABLES) {
+            String sql = "DELETE FROM `" + table + "` WHERE `electionId` = ? LIMIT " + chunkSize;
+            while (run.rows < rowBudget) {
+                if (tx(run, conn -> update(conn, sql, electionId, null)) < chunkSize) break;
+            }
+        }
+        if (run.rows >= rowBudget) return false;
+        tx(run, conn -> {
+            int rows = 0;
+            for (String table : FINAL_TABLES) rows += update(conn, "DELETE FROM `" + table + "` WHERE `electionId` = ?", electionId, null);
+            return rows + update(conn, "DELETE FROM `elections` WHERE `id` = ?", electionId, null);
+        });
+        return true;
+    }
+
+    private int tx(Run run, MySQLManager.IOFunction<Connection, Integer> fn) {
+        int rows = mysql.inTransaction(fn);
+        run.rows += rows;
+        run.transactions++;
+        return rows;
+    }
+
+    private int update(Connection conn, String sql, int electionId, Integer second) throws SQLException {
+        return mysql.withStatement(conn, sql, false, ps -> {
+            ps.setInt(1, electionId);
+            if (second != null) ps.setInt(2, second);
+            return ps.executeUpdate();
+        });
+    }
+}
@@ -6,13 +6,26 @@ import net.democracycraft.elections.api.model.*;
 import net.democracycraft.elections.api.service.ElectionsService;
 import net.democracycraft.elections.internal.data.BallotMode;
 import net.democracycraft.elections.internal.data.*;
+import net.democracycraft.elections.internal.tally.CondorcetResult;
+import net.democracycraft.elections.internal.tally.InstantRunoff;
+import net.democracycraft.elections.internal.tally.IrvResult;
+import net.democracycraft.elections.internal.tally.Schulze;
+import net.democracycraft.elections.internal.tally.SingleTransferableVote;
+import net.democracycraft.elections.internal.tally.StvMethod;
+import net.democracycraft.elections.internal.tally.StvResult;
+import net.democracycraft.elections.internal.tally.TieBreak;
 import org.jetbrains.annotations.NotNull;
 import org.jspecify.annotations.NonNull;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static net.democracycraft.elections.internal.command.framework.CommandContext.tsToString;
@@ -20,11 +33,40 @@ import static net.democracycraft.elections.internal.command.framework.CommandCon
 /**
  * In-memory implementation of ElectionsService, without external persistence.
  * Focused on domain logic and independent from any UI concerns.
+ *
+ * Concurrency:
+ * - Each election is held as a snapshot that is never modified once published. Readers take the current
+ *   snapshot from a concurrent map without locking, so they never block and never see a half-applied change.
+ * - Writers are serialized on this instance: they copy the current snapshot ({@link ElectionDto#copy()}), change
+ *   the copy and publish it with a single map put. Ballots and status changes are shared between versions, so a
+ *   write costs O(candidates + polls), not O(ballots).
+ * - Views returned by this service wrap the snapshot current at the time of the call.
+ * - Poll locations are indexed across elections ({@link PollIndex}); the index is updated with every publish.
+ *
+ * Tiering (only with a {@link Hydrator}, see {@link #enableTiering(Hydrator, long)}):
+ * - OPEN elections are always fully resident. CLOSED and DELETED ones may be held as summaries
+ *   ({@link ElectionDto#summarize()}) and are hydrated from the backing store on first access to their ballots,
+ *   voters, status changes or head items.
+ * - Fully loaded CLOSED/DELETED elections are kept in an LRU bounded by a byte budget ({@link ResidentElections});
+ *   once they exceed it, the least recently used ones are turned back into summaries.
+ * - Hydration reads the backing store without holding the writer lock: writers hydrate an election before taking
+ *   it, and ballots for a summary are rejected from its status (summaries are never OPEN) without hydrating it.
  */
 public class MemoryElectionsService implements ElectionsService {
 
-    private final Map<Integer, ElectionDto> elections = new LinkedHashMap<>();
+    private final ConcurrentNavigableMap<Integer, ElectionDto> elections = new ConcurrentSkipListMap<>();
     private final AtomicInteger electionIdSeq = new AtomicInteger(1);
+    private final PollIndex pollIndex = new PollIndex();
+    /** Null until tiering is enabled; every election then stays fully resident. */
+    private volatile Hydrator hydrator;
+    private volatile ResidentElections residency;
+
+    /** Loads the full state of an election from the backing store. */
+    @FunctionalInterface
+    public interface Hydrator {
+        /** @return the fully loaded election, or null when it no longer exists */
+        ElectionDto load(int electionId);
+    }
 
     private static @NonNull TimeStampDto now() {
         Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
@@ -36,396 +78,712 @@ public class MemoryElectionsService implements ElectionsService {
 
     // Snapshot API
     @Override
-    public synchronized List<Election> listElectionsSnapshot() {
+    public List<Election> listElectionsSnapshot() {
         return listElections();
     }
 
     @Override
-    public synchronized Optional<Election> getElectionSnapshot(int id) {
+    public Optional<Election> getElectionSnapshot(int id) {
         return getElection(id);
     }
 
+    @Override
+    public Optional<Election> getElectionByPollSnapshot(String world, int x, int y, int z) {
+        int id = pollIndex.electionAt(world, x, y, z);
+        return id == PollIndex.NONE ? Optional.empty() : getElection(id);
+    }
+
+    @Override
+    public Optional<LiveTally.Snapshot> getLiveTallySnapshot(int electionId) {
+        ElectionDto dto = elections.get(electionId);
+        return dto == null || dto.isSummary() ? Optional.empty() : Optional.of(dto.getLiveTally());
+    }
+
     // Legacy synchronous helpers (no longer overriding interface)
     public synchronized Election createElection(String title, VotingSystem system, int minimumVotes, RequirementsDto requirements, String actor) {
         int id = electionIdSeq.getAndIncrement();
         ElectionDto dto = new ElectionDto(id, title, system, minimumVotes, requirements, now());
         dto.addStatusChange(new StatusChangeDto(dto.getCreatedAt(), StateChangeType.CREATED, actor, "title=" + title + ",system=" + system + ",min=" + Math.max(1, minimumVotes)));
-        elections.put(id, dto);
+        publish(dto);
         return wrapElection(dto);
     }
 
-    public synchronized Optional<Election> getElection(int id) {
+    public Optional<Election> getElection(int id) {
         ElectionDto dto = elections.get(id);
         return Optional.ofNullable(dto).map(this::wrapElection);
     }
 
-    public synchronized List<Election> listElections() {
-        return elections.values().stream().map(this::wrapElection).toList();
+    /**
+     * Like {@link #getElection(int)}, hydrating a summarized election first (internal helper; may block on the
+     * backing store, so call it off the main thread).
+     */
+    public Optional<Election> getElectionFull(int id) {
+        return Optional.ofNullable(resident(id)).map(this::wrapElection);
     }
 
-    public synchronized boolean deleteElection(int id, String actor) {
-        ElectionDto dto = elections.get(id);
-        if (dto == null) return false;
-        if (dto.getStatus() == ElectionStatus.DELETED) return true;
-        dto.setStatus(ElectionStatus.DELETED);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.DELETED, actor, null));
-        return true;
-    }
-
-    public synchronized boolean setTitle(int electionId, String title, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        String newTitle = Objects.requireNonNullElse(title, "");
-        if (Objects.equals(dto.getTitle(), newTitle)) return true;
-        String old = dto.getTitle();
-        dto.setTitle(newTitle);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.TITLE_CHANGED, actor, "old=" + old + ",new=" + newTitle));
-        return true;
-    }
-
-    public synchronized boolean setSystem(int electionId, VotingSystem system, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        if (dto.getSystem() == system) return true;
-        VotingSystem old = dto.getSystem();
-        dto.setSystem(system);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.SYSTEM_CHANGED, actor, "old=" + old + ",new=" + system));
-        return true;
+    public List<Election> listElections() {
+        return elections.values().stream().map(this::wrapElection).toList();
     }
 
-    public synchronized boolean setMinimumVotes(int electionId, int minimum, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        int newMin = Math.max(0, minimum);
-        int effectiveNewMin = Math.max(1, newMin);
-        if (dto.getMinimumVotes() == effectiveNewMin) return true;
-        int old = dto.getMinimumVotes();
-        dto.setMinimumVotes(newMin);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.MINIMUM_CHANGED, actor, "old=" + old + ",new=" + effectiveNewMin));
-        // Auto-close if currently OPEN and new minimum exceeds number of candidates (system-agnostic)
-        if (dto.getStatus() == ElectionStatus.OPEN) {
-            int cands = dto.getCandidates().size();
-            if (effectiveNewMin > cands) {
-                dto.setStatus(ElectionStatus.CLOSED);
-                dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CLOSED, actor, "auto-closed: min>candidates"));
+    public boolean deleteElection(int id, String actor) {
+        return writing(id, () -> {
+            ElectionDto dto = edit(id);
+            if (dto == null) return false;
+            if (dto.getStatus() == ElectionStatus.DELETED) return true;
+            dto.setStatus(ElectionStatus.DELETED);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.DELETED, actor, null));
+            return publish(dto);
+        });
+    }
+
+    public boolean setTitle(int electionId, String title, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            String newTitle = Objects.requireNonNullElse(title, "");
+            if (Objects.equals(dto.getTitle(), newTitle)) return true;
+            String old = dto.getTitle();
+            dto.setTitle(newTitle);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.TITLE_CHANGED, actor, "old=" + old + ",new=" + newTitle));
+            return publish(dto);
+        });
+    }
+
+    public boolean setSystem(int electionId, VotingSystem system, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            if (dto.getSystem() == system) return true;
+            VotingSystem old = dto.getSystem();
+            dto.setSystem(system);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.SYSTEM_CHANGED, actor, "old=" + old + ",new=" + system));
+            return publish(dto);
+        });
+    }
+
+    public boolean setMinimumVotes(int electionId, int minimum, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            int newMin = Math.max(0, minimum);
+            int effectiveNewMin = Math.max(1, newMin);
+            if (dto.getMinimumVotes() == effectiveNewMin) return true;
+            int old = dto.getMinimumVotes();
+            dto.setMinimumVotes(newMin);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.MINIMUM_CHANGED, actor, "old=" + old + ",new=" + effectiveNewMin));
+            // Auto-close if currently OPEN and new minimum exceeds number of candidates (system-agnostic)
+            if (dto.getStatus() == ElectionStatus.OPEN) {
+                int cands = dto.getCandidates().size();
+                if (effectiveNewMin > cands) {
+                    dto.setStatus(ElectionStatus.CLOSED);
+                    dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CLOSED, actor, "auto-closed: min>candidates"));
+                }
             }
-        }
-        return true;
-    }
-
-    public synchronized boolean setRequirements(int electionId, RequirementsDto requirements, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        RequirementsDto old = dto.getRequirements();
-        boolean changed;
-        if (old == null && requirements == null) {
-            changed = false;
-        } else if (old == null || requirements == null) {
-            changed = true;
-        } else {
-            changed = !Objects.equals(old.permissions(), requirements.permissions())
-                    || old.minActivePlaytimeMinutes() != requirements.minActivePlaytimeMinutes();
-        }
-        if (!changed) return true;
-        dto.setRequirements(requirements);
-        String details = (requirements == null) ? "null" : "perms=" + (requirements.permissions()==null?0:requirements.permissions().size()) + ",minutes=" + requirements.minActivePlaytimeMinutes();
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.REQUIREMENTS_CHANGED, actor, details));
-        return true;
-    }
-
-    public synchronized boolean openElection(int electionId, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        if (dto.getStatus() == ElectionStatus.OPEN) return true;
-        // Enforce constraint: minVotes <= candidates regardless of system
-        int min = Math.max(1, dto.getMinimumVotes());
-        int cands = dto.getCandidates().size();
-        if (min > cands) return false;
-        dto.setStatus(ElectionStatus.OPEN);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.OPENED, actor, null));
-        return true;
-    }
-
-    public synchronized boolean closeElection(int electionId, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        if (dto.getStatus() == ElectionStatus.CLOSED) return true;
-        dto.setStatus(ElectionStatus.CLOSED);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CLOSED, actor, null));
-        return true;
-    }
-
-    public synchronized boolean setClosesAt(int electionId, TimeStampDto closesAt, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        TimeStampDto old = dto.getClosesAt();
-        if (Objects.equals(old, closesAt)) return true;
-        StateChangeType type;
-        if (old == null) type = StateChangeType.CLOSES_AT_SET;
-        else if (closesAt == null) type = StateChangeType.CLOSES_AT_CLEARED;
-        else type = StateChangeType.CLOSES_AT_CHANGED;
-        dto.setClosesAt(closesAt);
-        String det = (closesAt == null ? "null" : tsToString(closesAt));
-        dto.addStatusChange(new StatusChangeDto(now(), type, actor, det));
-        return true;
-    }
-
-    public synchronized boolean setDuration(int electionId, Integer days, TimeDto time, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        Integer oldDays = dto.getDurationDays();
-        TimeDto oldTime = dto.getDurationTime();
-        if (Objects.equals(oldDays, days) && Objects.equals(oldTime, time)) return true;
-        boolean oldNull = oldDays == null && oldTime == null;
-        boolean newNull = days == null && time == null;
-        StateChangeType type;
-        if (oldNull && !newNull) type = StateChangeType.DURATION_SET;
-        else if (!oldNull && newNull) type = StateChangeType.DURATION_CLEARED;
-        else type = StateChangeType.DURATION_CHANGED;
-        dto.setDurationDays(days);
-        dto.setDurationTime(time);
-        String det = (days == null && time == null) ? "null" : ("days=" + (days==null?0:days) + ",time=" + (time==null?"00:00:00":(time.hour()+":"+time.minute()+":"+time.second())));
-        dto.addStatusChange(new StatusChangeDto(now(), type, actor, det));
-        return true;
+            return publish(dto);
+        });
+    }
+
+    /** Sets the number of seats a PREFERENTIAL count fills (at least 1). */
+    public boolean setSeats(int electionId, int seats, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            int newSeats = Math.max(1, seats);
+            if (dto.getSeats() == newSeats) return true;
+            int old = dto.getSeats();
+            dto.setSeats(newSeats);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.SEATS_CHANGED, actor, "old=" + old + ",new=" + newSeats));
+            return publish(dto);
+        });
+    }
+
+    public boolean setRequirements(int electionId, RequirementsDto requirements, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            RequirementsDto old = dto.getRequirements();
+            boolean changed;
+            if (old == null && requirements == null) {
+                changed = false;
+            } else if (old == null || requirements == null) {
+                changed = true;
+            } else {
+                changed = !Objects.equals(old.permissions(), requirements.permissions())
+                        || old.minActivePlaytimeMinutes() != requirements.minActivePlaytimeMinutes();
+            }
+            if (!changed) return true;
+            dto.setRequirements(requirements);
+            String details = (requirements == null) ? "null" : "perms=" + (requirements.permissions()==null?0:requirements.permissions().size()) + ",minutes=" + requirements.minActivePlaytimeMinutes();
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.REQUIREMENTS_CHANGED, actor, details));
+            return publish(dto);
+        });
+    }
+
+    public boolean openElection(int electionId, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            if (dto.getStatus() == ElectionStatus.OPEN) return true;
+            // Enforce constraint: minVotes <= candidates regardless of system
+            int min = Math.max(1, dto.getMinimumVotes());
+            int cands = dto.getCandidates().size();
+            if (min > cands) return false;
+            dto.setStatus(ElectionStatus.OPEN);
+            dto.setOpensAt(null);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.OPENED, actor, null));
+            return publish(dto);
+        });
+    }
+
+    public boolean closeElection(int electionId, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            if (dto.getStatus() == ElectionStatus.CLOSED) return true;
+            dto.setStatus(ElectionStatus.CLOSED);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CLOSED, actor, null));
+            return publish(dto);
+        });
+    }
+
+    public boolean setClosesAt(int electionId, TimeStampDto closesAt, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            TimeStampDto old = dto.getClosesAt();
+            if (Objects.equals(old, closesAt)) return true;
+            StateChangeType type;
+            if (old == null) type = StateChangeType.CLOSES_AT_SET;
+            else if (closesAt == null) type = StateChangeType.CLOSES_AT_CLEARED;
+            else type = StateChangeType.CLOSES_AT_CHANGED;
+            dto.setClosesAt(closesAt);
+            String det = (closesAt == null ? "null" : tsToString(closesAt));
+            dto.addStatusChange(new StatusChangeDto(now(), type, actor, det));
+            return publish(dto);
+        });
+    }
+
+    public boolean setOpensAt(int electionId, TimeStampDto opensAt, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null || dto.getStatus() != ElectionStatus.CLOSED) return false;
+            if (Objects.equals(dto.getOpensAt(), opensAt)) return true;
+            dto.setOpensAt(opensAt);
+            StateChangeType type = opensAt == null ? StateChangeType.OPENS_AT_CLEARED : StateChangeType.OPENS_AT_SET;
+            dto.addStatusChange(new StatusChangeDto(now(), type, actor, opensAt == null ? "null" : tsToString(opensAt)));
+            return publish(dto);
+        });
+    }
+
+    public boolean setDuration(int electionId, Integer days, TimeDto time, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            Integer oldDays = dto.getDurationDays();
+            TimeDto oldTime = dto.getDurationTime();
+            if (Objects.equals(oldDays, days) && Objects.equals(oldTime, time)) return true;
+            boolean oldNull = oldDays == null && oldTime == null;
+            boolean newNull = days == null && time == null;
+            StateChangeType type;
+            if (oldNull && !newNull) type = StateChangeType.DURATION_SET;
+            else if (!oldNull && newNull) type = StateChangeType.DURATION_CLEARED;
+            else type = StateChangeType.DURATION_CHANGED;
+            dto.setDurationDays(days);
+            dto.setDurationTime(time);
+            String det = (days == null && time == null) ? "null" : ("days=" + (days==null?0:days) + ",time=" + (time==null?"00:00:00":(time.hour()+":"+time.minute()+":"+time.second())));
+            dto.addStatusChange(new StatusChangeDto(now(), type, actor, det));
+            return publish(dto);
+        });
     }
 
     /** Sets the per-election ballot UI mode. */
-    public synchronized boolean setBallotMode(int electionId, BallotMode mode, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        BallotMode newMode = (mode == null ? BallotMode.MANUAL : mode);
-        if (dto.getBallotMode() == newMode) return true;
-        BallotMode old = dto.getBallotMode();
-        dto.setBallotMode(newMode);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.BALLOT_MODE_CHANGED, actor, "old=" + old + ",new=" + newMode));
-        return true;
+    public boolean setBallotMode(int electionId, BallotMode mode, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            BallotMode newMode = (mode == null ? BallotMode.MANUAL : mode);
+            if (dto.getBallotMode() == newMode) return true;
+            BallotMode old = dto.getBallotMode();
+            dto.setBallotMode(newMode);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.BALLOT_MODE_CHANGED, actor, "old=" + old + ",new=" + newMode));
+            return publish(dto);
+        });
     }
 
     public synchronized Optional<Candidate> addCandidate(int electionId, String name, String actor) {
         return addCandidate(electionId, name, null, actor);
     }
 
-    public synchronized Optional<Candidate> addCandidate(int electionId, String name, String party, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return Optional.empty();
-        int nextId = dto.getCandidates().stream().mapToInt(CandidateDto::getId).max().orElse(0) + 1;
-        CandidateDto c = new CandidateDto(nextId, name);
-        c.setParty(party);
-        dto.addCandidate(c);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_ADDED, actor, "id=" + c.getId() + ",name=" + c.getName() + (c.getParty()==null?"":" ,party="+c.getParty())));
-        return Optional.of(wrapCandidate(c));
-    }
-
-    public synchronized Optional<Candidate> updateCandidate(int electionId, int candidateId, String name, String party, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return Optional.empty();
-
-        Optional<CandidateDto> candidateOpt = dto.getCandidates().stream()
-                .filter(candidateDto -> candidateDto.getId() == candidateId)
-                .findFirst();
-
-        if (candidateOpt.isEmpty()) return Optional.empty();
-        CandidateDto candidateDto = candidateOpt.get();
-
-        String oldName = candidateDto.getName();
-        String oldParty = candidateDto.getParty();
-        String newParty = (party == null || party.isBlank()) ? null : party;
-
-        // If name is changing, check for duplicates in the same election
-        if (!Objects.equals(oldName, name)) {
-            boolean exists = dto.getCandidates().stream()
-                    .anyMatch(other -> other.getId() != candidateId && other.getName().equalsIgnoreCase(name));
-            if (exists) return Optional.empty(); // Name taken
-            candidateDto.setName(name);
-        }
-
-        if (!Objects.equals(oldParty, newParty)) {
-            candidateDto.setParty(newParty);
-        }
-
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_UPDATED, actor,
-                "id=" + candidateId + ",oldName=" + oldName + ",newName=" + name + ",oldParty=" + oldParty + ",newParty=" + candidateDto.getParty()));
-
-        return Optional.of(wrapCandidate(candidateDto));
-    }
+    public Optional<Candidate> addCandidate(int electionId, String name, String party, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return Optional.empty();
+            CandidateDto c = new CandidateDto(dto.nextCandidateId(), name);
+            c.setParty(party);
+            dto.addCandidate(c);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_ADDED, actor, "id=" + c.getId() + ",name=" + c.getName() + (c.getParty()==null?"":" ,party="+c.getParty())));
+            publish(dto);
+            return Optional.of(wrapCandidate(c));
+        });
+    }
+
+    public Optional<Candidate> updateCandidate(int electionId, int candidateId, String name, String party, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return Optional.empty();
+
+            CandidateDto candidateDto = dto.findCandidate(candidateId);
+            if (candidateDto == null) return Optional.empty();
+
+            String oldName = candidateDto.getName();
+            String oldParty = candidateDto.getParty();
+            String newParty = (party == null || party.isBlank()) ? null : party;
+
+            // If name is changing, check for duplicates in the same election
+            if (!Objects.equals(oldName, name)) {
+                boolean exists = dto.getCandidates().stream()
+                        .anyMatch(other -> other.getId() != candidateId && other.getName().equalsIgnoreCase(name));
+                if (exists) return Optional.empty(); // Name taken
+                candidateDto.setName(name);
+            }
 
-    public synchronized boolean removeCandidate(int electionId, int candidateId, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        boolean removed = dto.removeCandidate(candidateId);
-        if (removed) dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_REMOVED, actor, "id=" + candidateId));
-        return removed;
-    }
+            if (!Objects.equals(oldParty, newParty)) {
+                candidateDto.setParty(newParty);
+            }
 
-    public synchronized Optional<Poll> addPoll(int electionId, String world, int x, int y, int z, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return Optional.empty();
-        // Cross-election conflict: forbid same world/x/y/z used by another election
-        for (ElectionDto other : elections.values()) {
-            if (other.getId() == electionId) continue;
-            for (PollDto p0 : other.getPolls()) {
-                if (p0.world().equalsIgnoreCase(world) && p0.x()==x && p0.y()==y && p0.z()==z) {
-                    return Optional.empty();
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_UPDATED, actor,
+                    "id=" + candidateId + ",oldName=" + oldName + ",newName=" + name + ",oldParty=" + oldParty + ",newParty=" + candidateDto.getParty()));
+            publish(dto);
+
+            return Optional.of(wrapCandidate(candidateDto));
+        });
+    }
+
+    public boolean removeCandidate(int electionId, int candidateId, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            boolean removed = dto.removeCandidate(candidateId);
+            if (!removed) return false;
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.CANDIDATE_REMOVED, actor, "id=" + candidateId));
+            return publish(dto);
+        });
+    }
+
+    public Optional<Poll> addPoll(int electionId, String world, int x, int y, int z, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return Optional.empty();
+            // Cross-election conflict: forbid same world/x/y/z used by another election
+            if (PollIndex.covers(x, y, z)) {
+                int owner = pollIndex.electionAt(world, x, y, z);
+                if (owner != PollIndex.NONE && owner != electionId) return Optional.empty();
+            } else {
+                for (ElectionDto other : elections.values()) {
+                    if (other.getId() == electionId) continue;
+                    for (PollDto p0 : other.getPolls()) {
+                        if (p0.world().equalsIgnoreCase(world) && p0.x()==x && p0.y()==y && p0.z()==z) {
+                            return Optional.empty();
+                        }
+                    }
                 }
             }
-        }
-        PollDto p = new PollDto(world, x, y, z);
-        dto.addPoll(p);
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.POLL_ADDED, actor, "world=" + world + ",x=" + x + ",y=" + y + ",z=" + z));
-        return Optional.of(wrapPoll(p));
-    }
-
-    public synchronized boolean removePoll(int electionId, String world, int x, int y, int z, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        boolean removed = dto.removePoll(new PollDto(world, x, y, z));
-        if (removed) dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.POLL_REMOVED, actor, "world=" + world + ",x=" + x + ",y=" + y + ",z=" + z));
-        return removed;
-    }
-
-    public synchronized Voter registerVoter(int electionId, String name) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) throw new IllegalArgumentException("Election not found");
-        Optional<VoterDto> existing = dto.getVotersById().values().stream()
-                .filter(v -> v.name().equalsIgnoreCase(name))
-                .findFirst();
-        if (existing.isPresent()) return wrapVoter(existing.get());
-        int nextId = dto.getVotersById().keySet().stream().mapToInt(i -> i).max().orElse(0) + 1;
-        VoterDto v = new VoterDto(nextId, name);
-        dto.addVoter(v);
-        return wrapVoter(v);
-    }
-
-    public synchronized Optional<Voter> getVoterById(int electionId, int voterId) {
-        ElectionDto dto = elections.get(electionId);
+            PollDto p = new PollDto(world, x, y, z);
+            dto.addPoll(p);
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.POLL_ADDED, actor, "world=" + world + ",x=" + x + ",y=" + y + ",z=" + z));
+            publish(dto);
+            return Optional.of(wrapPoll(p));
+        });
+    }
+
+    public boolean removePoll(int electionId, String world, int x, int y, int z, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            boolean removed = dto.removePoll(new PollDto(world, x, y, z));
+            if (!removed) return false;
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.POLL_REMOVED, actor, "world=" + world + ",x=" + x + ",y=" + y + ",z=" + z));
+            return publish(dto);
+        });
+    }
+
+    public Voter registerVoter(int electionId, String name) {
+        return writing(electionId, () -> {
+            ElectionDto current = resident(electionId);
+            if (current == null) throw new IllegalArgumentException("Election not found");
+            VoterDto existing = current.findVoterByName(name);
+            if (existing != null) return wrapVoter(existing);
+            VoterDto v = new VoterDto(current.nextVoterId(), name);
+            ElectionDto dto = current.copy();
+            dto.addVoter(v);
+            publish(dto);
+            return wrapVoter(v);
+        });
+    }
+
+    public Optional<Voter> getVoterById(int electionId, int voterId) {
+        ElectionDto dto = resident(electionId);
         if (dto == null) return Optional.empty();
-        VoterDto v = dto.getVotersById().get(voterId);
-        return Optional.ofNullable(v).map(this::wrapVoter);
+        return Optional.ofNullable(dto.findVoter(voterId)).map(this::wrapVoter);
     }
 
-    public synchronized List<Voter> listVoters(int electionId) {
-        ElectionDto dto = elections.get(electionId);
+    public List<Voter> listVoters(int electionId) {
+        ElectionDto dto = resident(electionId);
         if (dto == null) return List.of();
         return dto.getVotersById().values().stream().map(this::wrapVoter).toList();
     }
 
     public synchronized boolean submitPreferentialBallot(int electionId, int voterId, List<Integer> orderedCandidateIds) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        if (dto.getStatus() != ElectionStatus.OPEN) return false;
-        if (dto.getSystem() != VotingSystem.PREFERENTIAL) return false;
-        if (!dto.getVotersById().containsKey(voterId)) return false;
-        if (hasSubmitted(dto, voterId)) return false;
+        ElectionDto current = votable(electionId);
+        List<Integer> selections = preferentialSelections(current, voterId, orderedCandidateIds);
+        if (selections == null) return false;
+        ElectionDto dto = current.copy();
+        appendValidatedBallot(dto, voterId, selections);
+        return publish(dto);
+    }
 
-        if (orderedCandidateIds == null) return false;
+    public synchronized boolean submitBlockBallot(int electionId, int voterId, List<Integer> candidateIds) {
+        ElectionDto current = votable(electionId);
+        List<Integer> selections = blockSelections(current, voterId, candidateIds);
+        if (selections == null) return false;
+        ElectionDto dto = current.copy();
+        appendValidatedBallot(dto, voterId, selections);
+        return publish(dto);
+    }
+
+    /**
+     * Validates a preferential ballot against the current state without recording it.
+     * @return the de-duplicated selections in order, or null when the ballot would be rejected
+     */
+    public List<Integer> validatePreferentialBallot(int electionId, int voterId, List<Integer> orderedCandidateIds) {
+        return preferentialSelections(votable(electionId), voterId, orderedCandidateIds);
+    }
+
+    /**
+     * Validates a block ballot against the current state without recording it.
+     * @return the de-duplicated selections, or null when the ballot would be rejected
+     */
+    public List<Integer> validateBlockBallot(int electionId, int voterId, List<Integer> candidateIds) {
+        return blockSelections(votable(electionId), voterId, candidateIds);
+    }
+
+    /**
+     * Validates and appends a ballot in one step using an externally assigned id (write-behind mode).
+     * The voter is not embedded, matching ballots read back from the database.
+     *
+     * @param preferential true to validate as a preferential ballot, false as a block ballot
+     * @param ballotIds    supplies the id of the ballot; only called when the ballot is accepted
+     * @return the appended ballot, or null when it was rejected
+     */
+    public synchronized BallotDto acceptBallot(int electionId, int voterId, List<Integer> candidateIds, boolean preferential,
+                                               IntSupplier ballotIds, TimeStampDto submittedAt) {
+        ElectionDto current = votable(electionId);
+        List<Integer> selections = preferential ? preferentialSelections(current, voterId, candidateIds) : blockSelections(current, voterId, candidateIds);
+        if (selections == null) return null;
+        BallotDto b = new BallotDto(ballotIds.getAsInt(), electionId, voterId);
+        selections.forEach(b::addSelection);
+        b.setSubmittedAt(submittedAt);
+        ElectionDto dto = current.copy();
+        dto.appendBallot(b.getId(), voterId, toIntArray(selections), submittedAt == null ? BallotStore.NOT_SUBMITTED : submittedAt.toEpochMillis());
+        publish(dto);
+        return b;
+    }
+
+    private static List<Integer> preferentialSelections(ElectionDto dto, int voterId, List<Integer> orderedCandidateIds) {
+        if (dto == null) return null;
+        if (dto.getStatus() != ElectionStatus.OPEN) return null;
+        if (dto.getSystem() != VotingSystem.PREFERENTIAL) return null;
+        if (dto.findVoter(voterId) == null) return null;
+        if (hasSubmitted(dto, voterId)) return null;
+
+        if (orderedCandidateIds == null) return null;
         List<Integer> clean = orderedCandidateIds.stream().filter(Objects::nonNull).toList();
         // Preserve order while removing duplicates
         LinkedHashSet<Integer> unique = new LinkedHashSet<>(clean);
-        if (unique.size() < Math.max(1, dto.getMinimumVotes())) return false;
+        if (unique.size() < Math.max(1, dto.getMinimumVotes())) return null;
         Set<Integer> allowed = dto.getCandidates().stream().map(CandidateDto::getId).collect(Collectors.toSet());
-        if (!allowed.containsAll(unique)) return false;
-        if (unique.size() > allowed.size()) return false;
-
-        BallotDto b = new BallotDto(nextBallotId(dto), dto.getId(), voterId);
-        // attach voter details in the ballot for future export if needed
-        VoterDto voter = dto.getVotersById().get(voterId);
-        if (voter != null) b.setVoter(voter);
-        b.clearSelections();
-        unique.forEach(b::addSelection);
-        b.setSubmittedAt(now());
-        dto.appendBallot(b);
-        return true;
+        if (!allowed.containsAll(unique)) return null;
+        if (unique.size() > allowed.size()) return null;
+        return List.copyOf(unique);
     }
 
-    public synchronized boolean submitBlockBallot(int electionId, int voterId, List<Integer> candidateIds) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        if (dto.getStatus() != ElectionStatus.OPEN) return false;
-        if (dto.getSystem() != VotingSystem.BLOCK) return false;
-        if (!dto.getVotersById().containsKey(voterId)) return false;
-        if (hasSubmitted(dto, voterId)) return false;
+    private static List<Integer> blockSelections(ElectionDto dto, int voterId, List<Integer> candidateIds) {
+        if (dto == null) return null;
+        if (dto.getStatus() != ElectionStatus.OPEN) return null;
+        if (dto.getSystem() != VotingSystem.BLOCK) return null;
+        if (dto.findVoter(voterId) == null) return null;
+        if (hasSubmitted(dto, voterId)) return null;
 
-        if (candidateIds == null) return false;
+        if (candidateIds == null) return null;
         Set<Integer> unique = new LinkedHashSet<>(candidateIds.stream().filter(Objects::nonNull).toList());
-        if (unique.size() != Math.max(1, dto.getMinimumVotes())) return false; // must be exact
+        if (unique.size() != Math.max(1, dto.getMinimumVotes())) return null; // must be exact
         Set<Integer> allowed = dto.getCandidates().stream().map(CandidateDto::getId).collect(Collectors.toSet());
-        if (!allowed.containsAll(unique)) return false;
-
-        BallotDto b = new BallotDto(nextBallotId(dto), dto.getId(), voterId);
-        // attach voter details in the ballot for future export if needed
-        VoterDto voter = dto.getVotersById().get(voterId);
-        if (voter != null) b.setVoter(voter);
-        b.clearSelections();
-        unique.forEach(b::addSelection);
-        b.setSubmittedAt(now());
-        dto.appendBallot(b);
-        return true;
+        if (!allowed.containsAll(unique)) return null;
+        return List.copyOf(unique);
     }
 
-    public synchronized boolean markExported(int electionId, String actor) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.EXPORTED, actor, null));
-        return true;
+    private static void appendValidatedBallot(ElectionDto dto, int voterId, List<Integer> selections) {
+        // Voter details are not kept per ballot; exports embed them from the registry when asked to
+        dto.appendBallot(dto.nextBallotId(), voterId, toIntArray(selections), System.currentTimeMillis());
     }
 
-    public synchronized boolean setCandidateHeadItemBytes(int electionId, int candidateId, byte[] data) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return false;
-        for (CandidateDto candidate : dto.getCandidates()) {
-            if (candidate.getId() == candidateId) {
-                candidate.setHeadItemBytes(data);
-                return true;
-            }
-        }
-        return false;
+    private static int[] toIntArray(List<Integer> values) {
+        int[] out = new int[values.size()];
+        for (int i = 0; i < out.length; i++) out[i] = values.get(i);
+        return out;
     }
 
-    public synchronized byte[] getCandidateHeadItemBytes(int electionId, int candidateId) {
-        ElectionDto dto = elections.get(electionId);
-        if (dto == null) return null;
-        for (CandidateDto candidate : dto.getCandidates()) {
-            if (candidate.getId() == candidateId) return candidate.getHeadItemBytes();
-        }
-        return null;
+    public boolean markExported(int electionId, String actor) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            dto.addStatusChange(new StatusChangeDto(now(), StateChangeType.EXPORTED, actor, null));
+            return publish(dto);
+        });
+    }
+
+    public boolean setCandidateHeadItemBytes(int electionId, int candidateId, byte[] data) {
+        return writing(electionId, () -> {
+            ElectionDto dto = edit(electionId);
+            if (dto == null) return false;
+            CandidateDto candidate = dto.findCandidate(candidateId);
+            if (candidate == null) return false;
+            candidate.setHeadItemBytes(data);
+            return publish(dto);
+        });
     }
 
-    /** Loads a full snapshot replacing existing in-memory state (not part of the public API). */
+    public byte[] getCandidateHeadItemBytes(int electionId, int candidateId) {
+        ElectionDto dto = resident(electionId);
+        if (dto == null) return null;
+        CandidateDto candidate = dto.findCandidate(candidateId);
+        return candidate == null ? null : candidate.getHeadItemBytes();
+    }
+
+    /**
+     * Instant-runoff count of the current snapshot of a PREFERENTIAL election, hydrating a summary first.
+     * Runs without locking; the counted snapshot is immutable, so concurrent ballots simply miss this count.
+     *
+     * @throws IllegalStateException when the election is not PREFERENTIAL
+     */
+    public Optional<IrvResult> tallyInstantRunoff(int electionId, TieBreak tieBreak) {
+        ElectionDto dto = resident(electionId);
+        return dto == null ? Optional.empty() : Optional.of(InstantRunoff.tally(dto, tieBreak));
+    }
+
+    /**
+     * Single transferable vote count of the current snapshot of a PREFERENTIAL election for its seats, hydrating a
+     * summary first. Runs without locking, like {@link #tallyInstantRunoff(int, TieBreak)}.
+     *
+     * @throws IllegalStateException when the election is not PREFERENTIAL
+     */
+    public Optional<StvResult> tallySingleTransferableVote(int electionId, StvMethod method, TieBreak tieBreak) {
+        ElectionDto dto = resident(electionId);
+        return dto == null ? Optional.empty() : Optional.of(SingleTransferableVote.tally(dto, method, tieBreak));
+    }
+
+    /**
+     * Schulze count of the current snapshot of a PREFERENTIAL election from its running pairwise matrix, hydrating a
+     * summary first. Runs without locking, like {@link #tallyInstantRunoff(int, TieBreak)}.
+     *
+     * @throws IllegalStateException when the election is not PREFERENTIAL
+     */
+    public Optional<CondorcetResult> tallySchulze(int electionId, TieBreak tieBreak) {
+        ElectionDto dto = resident(electionId);
+        return dto == null ? Optional.empty() : Optional.of(Schulze.tally(dto, tieBreak));
+    }
+
+    /**
+     * Loads a full snapshot replacing existing in-memory state (not part of the public API).
+     * Elections are replaced one by one, so readers never see an empty mirror; the DTOs must not be modified afterwards.
+     */
     public synchronized void loadSnapshot(List<ElectionDto> snapshot) {
-        this.elections.clear();
+        Set<Integer> loaded = new HashSet<>();
         int maxId = 0;
+        ResidentElections lru = residency;
+        if (lru != null) lru.clear();
         for (ElectionDto e : snapshot) {
             this.elections.put(e.getId(), e);
+            if (lru != null) track(e);
+            loaded.add(e.getId());
             maxId = Math.max(maxId, e.getId());
         }
+        this.elections.keySet().retainAll(loaded);
+        this.pollIndex.rebuild(this.elections.values());
         this.electionIdSeq.set(maxId + 1);
     }
 
-    /** Inserts or replaces a single election DTO snapshot (internal helper). */
+    /** Inserts or replaces a single election DTO snapshot (internal helper); the DTO must not be modified afterwards. */
     public synchronized void upsertElection(ElectionDto dto) {
         if (dto == null) return;
-        this.elections.put(dto.getId(), dto);
+        publish(dto);
         this.electionIdSeq.set(Math.max(this.electionIdSeq.get(), dto.getId() + 1));
     }
 
     /** Removes an election from memory by id (internal helper). */
     public synchronized void removeElectionById(int id) {
-        this.elections.remove(id);
+        ElectionDto removed = this.elections.remove(id);
+        if (removed != null) pollIndex.update(id, removed.getPolls(), List.of());
+        if (residency != null) residency.remove(id);
+    }
+
+    /**
+     * Enables tiering (internal helper for persistent backends; call before loading): CLOSED and DELETED elections
+     * may be held as summaries and are hydrated through {@code hydrator} on demand.
+     * @param budgetBytes estimated heap the fully loaded CLOSED/DELETED elections may take together
+     */
+    public synchronized void enableTiering(Hydrator hydrator, long budgetBytes) {
+        this.residency = new ResidentElections(budgetBytes);
+        this.hydrator = hydrator;
+    }
+
+    /** @return submitted ballots and their distinct selection sequences over the fully loaded elections. */
+    public BallotGroups.Stats ballotGroupStats() {
+        long ballots = 0, groups = 0;
+        for (ElectionDto e : elections.values()) {
+            if (e.isSummary()) continue;
+            ballots += e.getBallotGroups().ballots();
+            groups += e.getBallotGroups().size();
+        }
+        return new BallotGroups.Stats(ballots, groups);
+    }
+
+    /** @return residency counters, or null when tiering is disabled. */
+    public ResidentElections.Stats residencyStats() {
+        ResidentElections lru = residency;
+        return lru == null ? null : lru.stats();
+    }
+
+    /**
+     * Applies a patch to a copy of a mirrored election and publishes the copy (internal helper used after a
+     * successful SQL write). When the patch throws, nothing is published and the previous snapshot stays current.
+     * Summaries are not patched: hydrating one after the write would already include it.
+     * @return false when the election is not present in memory or only as a summary, so the caller can fall back
+     * to a full reload
+     */
+    public synchronized boolean applyDelta(int id, Consumer<ElectionDto> patch) {
+        ElectionDto current = elections.get(id);
+        if (current == null || current.isSummary()) return false;
+        ElectionDto dto = current.copy();
+        patch.accept(dto);
+        publish(dto);
+        return true;
     }
 
-    private static boolean hasSubmitted(ElectionDto dto, int voterId) {
-        return dto.getBallots().stream().anyMatch(b -> b.getVoterId() == voterId && b.isSubmitted());
+    /**
+     * Runs a read-only function against the current snapshot of a mirrored election without locking (internal helper).
+     * The snapshot (null when absent) may be a summary ({@link ElectionDto#isSummary()}) and must not be modified.
+     */
+    public <R> R readElection(int id, Function<ElectionDto, R> reader) {
+        return reader.apply(elections.get(id));
+    }
+
+    /** Like {@link #readElection(int, Function)}, hydrating a summarized election first (may block on the backing store). */
+    public <R> R readElectionFull(int id, Function<ElectionDto, R> reader) {
+        return reader.apply(resident(id));
+    }
+
+    /**
+     * Like {@link #readElection(int, Function)}, but serialized with writers, for callers that must act on the latest
+     * snapshot before the next write is published (e.g. arming deadlines from it). Keep the function short.
+     */
+    public synchronized <R> R readElectionLatest(int id, Function<ElectionDto, R> reader) {
+        return reader.apply(elections.get(id));
     }
 
-    private static int nextBallotId(ElectionDto dto) {
-        return dto.getBallots().stream().mapToInt(BallotDto::getId).max().orElse(0) + 1;
+    /** @return ids of all mirrored elections (internal helper). */
+    public Set<Integer> electionIds() {
+        return new LinkedHashSet<>(elections.keySet());
+    }
+
+    /** @return a private copy of the current full snapshot for a writer to change, or null when absent. */
+    private ElectionDto edit(int id) {
+        ElectionDto current = resident(id);
+        return current == null ? null : current.copy();
+    }
+
+    /**
+     * Runs a writer under the writer lock once the election is fully loaded. A summary is hydrated before the lock is
+     * taken, so loading a CLOSED or DELETED election from the backing store never stalls the other writers; only when
+     * concurrent writers keep evicting it again does the last attempt hydrate under the lock.
+     */
+    private <R> R writing(int id, Supplier<R> writer) {
+        for (int attempt = 0; ; attempt++) {
+            resident(id);
+            synchronized (this) {
+                ElectionDto current = elections.get(id);
+                if (current == null || !current.isSummary() || attempt == 2) return writer.get();
+            }
+        }
+    }
+
+    /**
+     * @return the current snapshot of an election that may take a ballot, or null. OPEN elections are always fully
+     * loaded, so a summary is rejected from its status without hydrating it.
+     */
+    private ElectionDto votable(int id) {
+        ElectionDto dto = elections.get(id);
+        return dto == null || dto.isSummary() ? null : resident(id);
+    }
+
+    /**
+     * @return the current snapshot of an election with all of its state, hydrating a summary first; null when absent.
+     * Hydration reads the backing store without the writer lock unless the caller holds it (writers go through
+     * {@link #writing(int, Supplier)} to avoid that), and only installs the result when the summary is still current.
+     */
+    private ElectionDto resident(int id) {
+        ElectionDto dto = elections.get(id);
+        if (dto == null || !dto.isSummary()) {
+            ResidentElections lru = residency;
+            if (dto != null && lru != null) lru.touch(id);
+            return dto;
+        }
+        ElectionDto loaded = hydrator.load(id);
+        residency.recordHydration();
+        synchronized (this) {
+            ElectionDto current = elections.get(id);
+            if (current != dto) return current == null || current.isSummary() ? loaded : current;
+            if (loaded == null) {
+                removeElectionById(id);
+            } else {
+                publish(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /** Publishes a changed copy as the current snapshot and re-indexes its polls; always returns true for use as a writer's result. */
+    private boolean publish(ElectionDto dto) {
+        ElectionDto previous = elections.put(dto.getId(), dto);
+        pollIndex.update(dto.getId(), previous == null ? List.of() : previous.getPolls(), dto.getPolls());
+        if (residency != null) track(dto);
+        return true;
+    }
+
+    /**
+     * Keeps the LRU in step with a published snapshot: OPEN elections and summaries are not tracked, other full
+     * snapshots are admitted, and the elections the LRU evicts are replaced by their summaries.
+     */
+    private void track(ElectionDto dto) {
+        if (dto.isSummary() || dto.getStatus() == ElectionStatus.OPEN) {
+            residency.remove(dto.getId());
+            return;
+        }
+        for (int evicted : residency.admit(dto.getId(), dto.estimatedBytes())) {
+            ElectionDto current = elections.get(evicted);
+            if (current != null && !current.isSummary() && current.getStatus() != ElectionStatus.OPEN) elections.put(evicted, current.summarize());
+        }
+    }
+
+    private static boolean hasSubmitted(ElectionDto dto, int voterId) {
+        int index = dto.ballotIndexOfVoter(voterId);
+        return index >= 0 && dto.getBallotStore().isSubmitted(index);
     }
 
     // Read-only wrappers to the public API interfaces
     private Election wrapElection(ElectionDto dto) { return new ElectionView(dto); }
     private Candidate wrapCandidate(CandidateDto dto) { return new CandidateView(dto); }
     private Poll wrapPoll(PollDto dto) { return new PollView(dto); }
-    private Vote wrapVote(BallotDto dto) { return new VoteView(dto); }
     private Voter wrapVoter(VoterDto dto) { return new VoterView(dto); }
 
     private class ElectionView implements Election {
@@ -438,17 +796,38 @@ public class MemoryElectionsService implements ElectionsService {
 
         private final ElectionDto dto;
         ElectionView(ElectionDto dto) { this.dto = dto; }
+
         @Override public int getId() { return dto.getId(); }
+        @Override public boolean isSummary() { return dto.isSummary(); }
         @Override public String getTitle() { return dto.getTitle(); }
         @Override public ElectionStatus getStatus() { return dto.getStatus(); }
         @Override public VotingSystem getSystem() { return dto.getSystem(); }
         @Override public int getMinimumVotes() { return dto.getMinimumVotes(); }
+        @Override public int getSeats() { return dto.getSeats(); }
         @Override public RequirementsDto getRequirements() { return dto.getRequirements(); }
         @Override public List<Candidate> getCandidates() { return dto.getCandidates().stream().map(MemoryElectionsService.this::wrapCandidate).toList(); }
         @Override public List<Poll> getPolls() { return dto.getPolls().stream().map(MemoryElectionsService.this::wrapPoll).toList(); }
-        @Override public List<Vote> getBallots() { return dto.getBallots().stream().map(MemoryElectionsService.this::wrapVote).toList(); }
-        @Override public int getVoterCount() { return dto.getVotersById().size(); }
+        @Override public List<Vote> getBallots() {
+            BallotStore ballots = dto.getBallotStore();
+            // Flyweight views over the snapshot's columns: the store version never changes, so nothing is copied
+            return new AbstractList<>() {
+                @Override public Vote get(int index) { return new VoteView(ballots, Objects.checkIndex(index, ballots.size())); }
+                @Override public int size() { return ballots.size(); }
+            };
+        }
+        @Override public boolean hasSubmittedBallot(int voterId) { return hasSubmitted(dto, voterId); }
+        @Override public Map<List<Integer>, Integer> getDistinctBallots() {
+            BallotStore ballots = dto.getBallotStore();
+            BallotGroups groups = dto.getBallotGroups();
+            Map<List<Integer>, Integer> out = new LinkedHashMap<>(groups.size() * 4 / 3 + 1);
+            for (int g = 0; g < groups.size(); g++) out.put(ballots.selectionList(groups.representative(g)), groups.weight(g));
+            return Collections.unmodifiableMap(out);
+        }
+        @Override public Map<Integer, Integer> getVoteCounts() { return dto.getLiveTally().votes(); }
+        @Override public int getBallotCount() { return dto.getBallotCount(); }
+        @Override public int getVoterCount() { return dto.getVoterCount(); }
         @Override public TimeStampDto getClosesAt() { return dto.getClosesAt(); }
+        @Override public TimeStampDto getOpensAt() { return dto.getOpensAt(); }
         @Override public TimeStampDto getCreatedAt() { return dto.getCreatedAt(); }
         @Override public Integer getDurationDays() { return dto.getDurationDays(); }
         @Override public TimeDto getDurationTime() { return dto.getDurationTime(); }
@@ -466,7 +845,9 @@ public class MemoryElectionsService implements ElectionsService {
             );
 
             electionDto.setStatus(this.getStatus());
+            electionDto.setSeats(this.getSeats());
             electionDto.setClosesAt(this.getClosesAt());
+            electionDto.setOpensAt(this.getOpensAt());
             electionDto.setDurationDays(this.getDurationDays());
             electionDto.setDurationTime(this.getDurationTime());
 
@@ -486,11 +867,9 @@ public class MemoryElectionsService implements ElectionsService {
         public ElectionDto toDto() {
             ElectionDto electionDto = getSimpleDto();
 
-            for (Vote b : this.getBallots()) {
-                BallotDto bd = new BallotDto(b.getId(), b.getElectionId(), b.getVoterId());
-                b.getSelections().forEach(bd::addSelection);
-                bd.setSubmittedAt(b.getSubmittedAt());
-                electionDto.appendBallot(bd);
+            BallotStore ballots = dto.getBallotStore();
+            for (int i = 0; i < ballots.size(); i++) {
+                electionDto.appendBallot(ballots.id(i), ballots.voterId(i), ballots.selections(i).toArray(), ballots.submittedAtEpochMillis(i));
             }
 
             return electionDto;
@@ -501,14 +880,12 @@ public class MemoryElectionsService implements ElectionsService {
         public ElectionDto toDtoWithNamedBallots(@NotNull Function<Integer, String> voterNameProvider) {
             ElectionDto electionDto = getSimpleDto();
 
-            for (Vote b : this.getBallots()) {
-                BallotDto bd = new BallotDto(b.getId(), b.getElectionId(), b.getVoterId());
-                b.getSelections().forEach(bd::addSelection);
-                bd.setSubmittedAt(b.getSubmittedAt());
-                String name = voterNameProvider.apply(b.getVoterId());
-                if (name != null) bd.setVoter(new VoterDto(b.getVoterId(), name));
-
-                electionDto.appendBallot(bd);
+            BallotStore ballots = dto.getBallotStore();
+            for (int i = 0; i < ballots.size(); i++) {
+                int voterId = ballots.voterId(i);
+                String name = voterNameProvider.apply(voterId);
+                electionDto.appendBallot(ballots.id(i), voterId, ballots.selections(i).toArray(), ballots.submittedAtEpochMillis(i),
+                        name == null ? null : new VoterDto(voterId, name));
             }
 
             return electionDto;
@@ -535,13 +912,14 @@ public class MemoryElectionsService implements ElectionsService {
         @Override public int getZ() { return dto.z(); }
     }
 
-    private record VoteView(BallotDto dto) implements Vote {
-        @Override public int getId() { return dto.getId(); }
-        @Override public int getElectionId() { return dto.getElectionId(); }
-        @Override public int getVoterId() { return dto.getVoterId(); }
-        @Override public List<Integer> getSelections() { return dto.getSelections(); }
-        @Override public boolean isSubmitted() { return dto.isSubmitted(); }
-        @Override public TimeStampDto getSubmittedAt() { return dto.getSubmittedAt(); }
+    /** Flyweight over one row of a {@link BallotStore}; fields are read from the columns on demand. */
+    private record VoteView(BallotStore store, int index) implements Vote {
+        @Override public int getId() { return store.id(index); }
+        @Override public int getElectionId() { return store.electionId(); }
+        @Override public int getVoterId() { return store.voterId(index); }
+        @Override public List<Integer> getSelections() { return store.selectionList(index); }
+        @Override public boolean isSubmitted() { return store.isSubmitted(index); }
+        @Override public TimeStampDto getSubmittedAt() { return store.submittedAt(index); }
     }
 
     private record VoterView(VoterDto dto) implements Voter {
@@ -553,16 +931,18 @@ public class MemoryElectionsService implements ElectionsService {
     @Override public CompletableFuture<Election> createElectionAsync(String title, VotingSystem system, int minimumVotes, RequirementsDto requirements, String actor) {
         return CompletableFuture.completedFuture(createElection(title, system, minimumVotes, requirements, actor));
     }
-    @Override public CompletableFuture<Optional<Election>> getElectionAsync(int id) { return CompletableFuture.completedFuture(getElection(id)); }
+    @Override public CompletableFuture<Optional<Election>> getElectionAsync(int id) { return CompletableFuture.completedFuture(getElectionFull(id)); }
     @Override public CompletableFuture<List<Election>> listElectionsAsync() { return CompletableFuture.completedFuture(listElections()); }
     @Override public CompletableFuture<Boolean> deleteElectionAsync(int id, String actor) { return CompletableFuture.completedFuture(deleteElection(id, actor)); }
     @Override public CompletableFuture<Boolean> setTitleAsync(int electionId, String title, String actor) { return CompletableFuture.completedFuture(setTitle(electionId, title, actor)); }
     @Override public CompletableFuture<Boolean> setSystemAsync(int electionId, VotingSystem system, String actor) { return CompletableFuture.completedFuture(setSystem(electionId, system, actor)); }
     @Override public CompletableFuture<Boolean> setMinimumVotesAsync(int electionId, int minimum, String actor) { return CompletableFuture.completedFuture(setMinimumVotes(electionId, minimum, actor)); }
+    @Override public CompletableFuture<Boolean> setSeatsAsync(int electionId, int seats, String actor) { return CompletableFuture.completedFuture(setSeats(electionId, seats, actor)); }
     @Override public CompletableFuture<Boolean> setRequirementsAsync(int electionId, RequirementsDto requirements, String actor) { return CompletableFuture.completedFuture(setRequirements(electionId, requirements, actor)); }
     @Override public CompletableFuture<Boolean> openElectionAsync(int electionId, String actor) { return CompletableFuture.completedFuture(openElection(electionId, actor)); }
     @Override public CompletableFuture<Boolean> closeElectionAsync(int electionId, String actor) { return CompletableFuture.completedFuture(closeElection(electionId, actor)); }
     @Override public CompletableFuture<Boolean> setClosesAtAsync(int electionId, TimeStampDto closesAt, String actor) { return CompletableFuture.completedFuture(setClosesAt(electionId, closesAt, actor)); }
+    @Override public CompletableFuture<Boolean> setOpensAtAsync(int electionId, TimeStampDto opensAt, String actor) { return CompletableFuture.completedFuture(setOpensAt(electionId, opensAt, actor)); }
     @Override public CompletableFuture<Boolean> setDurationAsync(int electionId, Integer days, TimeDto time, String actor) { return CompletableFuture.completedFuture(setDuration(electionId, days, time, actor)); }
     @Override public CompletableFuture<Boolean> setBallotModeAsync(int electionId, BallotMode mode, String actor) { return CompletableFuture.completedFuture(setBallotMode(electionId, mode, actor)); }
     @Override public CompletableFuture<Optional<Candidate>> addCandidateAsync(int electionId, String name, String actor) { return CompletableFuture.completedFuture(addCandidate(electionId, name, actor)); }
@@ -578,5 +958,26 @@ public class MemoryElectionsService implements ElectionsService {
     @Override public CompletableFuture<Boolean> setCandidateHeadItemBytesAsync(int electionId, int candidateId, byte[] data) { return CompletableFuture.completedFuture(setCandidateHeadItemBytes(electionId, candidateId, data)); }
     @Override public CompletableFuture<byte[]> getCandidateHeadItemBytesAsync(int electionId, int candidateId) { return CompletableFuture.completedFuture(getCandidateHeadItemBytes(electionId, candidateId)); }
     @Override public CompletableFuture<Boolean> markExportedAsync(int electionId, String actor) { return CompletableFuture.completedFuture(markExported(electionId, actor)); }
+    @Override public CompletableFuture<Optional<IrvResult>> tallyInstantRunoffAsync(int electionId) {
+        try {
+            return CompletableFuture.completedFuture(tallyInstantRunoff(electionId, TieBreak.BACKWARDS));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+    @Override public CompletableFuture<Optional<StvResult>> tallySingleTransferableVoteAsync(int electionId) {
+        try {
+            return CompletableFuture.completedFuture(tallySingleTransferableVote(electionId, StvMethod.GREGORY, TieBreak.BACKWARDS));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+    @Override public CompletableFuture<Optional<CondorcetResult>> tallySchulzeAsync(int electionId) {
+        try {
+            return CompletableFuture.completedFuture(tallySchulze(electionId, TieBreak.BACKWARDS));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
     @Override public CompletableFuture<Optional<Candidate>> updateCandidateAsync(int electionId, int candidateId, String name, String party, String actor) { return CompletableFuture.completedFuture(updateCandidate(electionId, candidateId, name, party, actor)); }
 }
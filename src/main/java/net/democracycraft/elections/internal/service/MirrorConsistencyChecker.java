@@ -0,0 +1,98 @@
+package net.democracycraft.elections.internal.service;
+
+import net.democracycraft.elections.internal.data.*;
+
+import java.util.*;
+
+/**
+ * Compares an in-memory election mirror with the same election rebuilt from the database.
+ * Used on demand to confirm that delta-applied mutations kept the mirror in sync.
+ */
+final class MirrorConsistencyChecker {
+
+    private MirrorConsistencyChecker() {
+        // Utility class
+    }
+
+    /**
+     * Lists every difference between the mirrored and database state of one election.
+     *
+     * @param mirror election held by the in-memory mirror (may be null when missing)
+     * @param db     election rebuilt from the database (may be null when missing)
+     * @return human readable differences; empty when both are equivalent
+     */
+    static List<String> diff(ElectionDto mirror, ElectionDto db) {
+        List<String> out = new ArrayList<>();
+        if (mirror == null || db == null) {
+            if (mirror != db) out.add(mirror == null ? "missing from mirror" : "missing from database");
+            return out;
+        }
+        check(out, "title", mirror.getTitle(), db.getTitle());
+        check(out, "status", mirror.getStatus(), db.getStatus());
+        check(out, "system", mirror.getSystem(), db.getSystem());
+        check(out, "minimumVotes", mirror.getMinimumVotes(), db.getMinimumVotes());
+        check(out, "seats", mirror.getSeats(), db.getSeats());
+        check(out, "ballotMode", mirror.getBallotMode(), db.getBallotMode());
+        check(out, "createdAt", mirror.getCreatedAt(), db.getCreatedAt());
+        check(out, "closesAt", mirror.getClosesAt(), db.getClosesAt());
+        check(out, "opensAt", mirror.getOpensAt(), db.getOpensAt());
+        check(out, "durationDays", mirror.getDurationDays(), db.getDurationDays());
+        check(out, "durationTime", mirror.getDurationTime(), db.getDurationTime());
+        diffRequirements(out, mirror.getRequirements(), db.getRequirements());
+        diffCandidates(out, mirror.getCandidates(), db.getCandidates());
+        // Polls are read back without an ORDER BY, so compare them as sets
+        check(out, "polls", new HashSet<>(mirror.getPolls()), new HashSet<>(db.getPolls()));
+        check(out, "voters", new ArrayList<>(mirror.getVotersById().values()), new ArrayList<>(db.getVotersById().values()));
+        diffBallots(out, mirror.getBallots(), db.getBallots());
+        // Summaries hold no voters or ballots, only their counts
+        check(out, "voterCount", mirror.getVoterCount(), db.getVoterCount());
+        check(out, "ballotCount", mirror.getBallotCount(), db.getBallotCount());
+        check(out, "statusChanges", mirror.getStatusChanges(), db.getStatusChanges());
+        return out;
+    }
+
+    private static void diffRequirements(List<String> out, RequirementsDto a, RequirementsDto b) {
+        if (a == null || b == null) {
+            if (a != b) out.add("requirements: mirror=" + a + ", db=" + b);
+            return;
+        }
+        check(out, "requirements.minutes", a.minActivePlaytimeMinutes(), b.minActivePlaytimeMinutes());
+        Set<String> pa = a.permissions() == null ? Set.of() : new HashSet<>(a.permissions());
+        Set<String> pb = b.permissions() == null ? Set.of() : new HashSet<>(b.permissions());
+        check(out, "requirements.permissions", pa, pb);
+    }
+
+    private static void diffCandidates(List<String> out, List<CandidateDto> a, List<CandidateDto> b) {
+        if (a.size() != b.size()) {
+            out.add("candidates: mirror has " + a.size() + ", db has " + b.size());
+            return;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            CandidateDto ca = a.get(i), cb = b.get(i);
+            String p = "candidates[" + i + "]";
+            check(out, p + ".id", ca.getId(), cb.getId());
+            check(out, p + ".name", ca.getName(), cb.getName());
+            check(out, p + ".party", ca.getParty(), cb.getParty());
+            if (!Arrays.equals(ca.getHeadItemBytes(), cb.getHeadItemBytes())) out.add(p + ".headItemBytes differ");
+        }
+    }
+
+    private static void diffBallots(List<String> out, List<BallotDto> a, List<BallotDto> b) {
+        if (a.size() != b.size()) {
+            out.add("ballots: mirror has " + a.size() + ", db has " + b.size());
+            return;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            BallotDto ba = a.get(i), bb = b.get(i);
+            if (ba.getId() != bb.getId() || ba.getVoterId() != bb.getVoterId()
+                    || !ba.getSelections().equals(bb.getSelections())
+                    || !Objects.equals(ba.getSubmittedAt(), bb.getSubmittedAt())) {
+                out.add("ballots[" + i + "] differ (mirror id=" + ba.getId() + ", db id=" + bb.getId() + ")");
+            }
+        }
+    }
+
+    private static void check(List<String> out, String field, Object mirror, Object db) {
+        if (!Objects.equals(mirror, db)) out.add(field + ": mirror=" + mirror + ", db=" + db);
+    }
+}
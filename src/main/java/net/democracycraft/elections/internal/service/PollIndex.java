@@ -0,0 +1,88 @@
+package net.democracycraft.elections.internal.service;
+
+import net.democracycraft.elections.internal.data.ElectionDto;
+import net.democracycraft.elections.internal.data.PollDto;
+import net.democracycraft.elections.internal.util.collection.LongIntMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Location index of the polls of all mirrored elections: world, then packed block coordinates, to election id.
+ *
+ * Contract:
+ * - Lookups are lock-free; a miss costs one world lookup and one hash probe and allocates nothing.
+ * - Worlds are matched by name, case-insensitively, as polls store the world name.
+ * - Coordinates are packed into a long like Minecraft block positions (x and z within +-2^25, y within +-2^11);
+ *   polls outside that range are not indexed and {@link #covers(int, int, int)} tells callers to fall back to a scan.
+ * - Updates must be serialized by the caller. They copy the per-world tables they touch and publish the result with
+ *   one volatile write, so readers see the locations before or after an update, never in between.
+ * - A location belongs to one election at most (uq_poll_global); removing it only clears it for that election.
+ */
+final class PollIndex {
+
+    static final int NONE = -1;
+
+    private volatile Map<String, LongIntMap> worlds = Map.of();
+
+    /** @return the id of the election with a poll at the block, or {@link #NONE}. */
+    int electionAt(String world, int x, int y, int z) {
+        if (world == null || !covers(x, y, z)) return NONE;
+        LongIntMap blocks = worlds.get(world.toLowerCase(Locale.ROOT));
+        return blocks == null ? NONE : blocks.get(pack(x, y, z), NONE);
+    }
+
+    /** @return true when a poll at these coordinates can be indexed. */
+    static boolean covers(int x, int y, int z) {
+        return x == (x << 6 >> 6) && z == (z << 6 >> 6) && y == (y << 20 >> 20);
+    }
+
+    /** Replaces the locations of one election, given its polls before and after a change (either may be empty). */
+    void update(int electionId, List<PollDto> before, List<PollDto> after) {
+        if (before.equals(after)) return;
+        Map<String, LongIntMap> next = new HashMap<>(worlds);
+        Map<String, LongIntMap> copied = new HashMap<>();
+        for (PollDto p : before) {
+            if (after.contains(p) || !covers(p.x(), p.y(), p.z())) continue;
+            LongIntMap blocks = writable(next, copied, p.world());
+            long key = pack(p.x(), p.y(), p.z());
+            if (blocks.get(key, NONE) == electionId) blocks.remove(key);
+        }
+        for (PollDto p : after) {
+            if (covers(p.x(), p.y(), p.z())) writable(next, copied, p.world()).put(pack(p.x(), p.y(), p.z()), electionId);
+        }
+        next.values().removeIf(LongIntMap::isEmpty);
+        worlds = next;
+    }
+
+    /** Rebuilds the index from a full set of snapshots. */
+    void rebuild(Collection<ElectionDto> elections) {
+        Map<String, LongIntMap> next = new HashMap<>();
+        for (ElectionDto e : elections) {
+            for (PollDto p : e.getPolls()) {
+                if (!covers(p.x(), p.y(), p.z())) continue;
+                next.computeIfAbsent(p.world().toLowerCase(Locale.ROOT), w -> new LongIntMap()).put(pack(p.x(), p.y(), p.z()), e.getId());
+            }
+        }
+        worlds = next;
+    }
+
+    // --- internals ---
+
+    private static LongIntMap writable(Map<String, LongIntMap> next, Map<String, LongIntMap> copied, String world) {
+        String key = world.toLowerCase(Locale.ROOT);
+        return copied.computeIfAbsent(key, k -> {
+            LongIntMap current = next.get(k);
+            LongIntMap copy = current == null ? new LongIntMap() : current.copy();
+            next.put(k, copy);
+            return copy;
+        });
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
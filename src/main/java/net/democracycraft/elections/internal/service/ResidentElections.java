@@ -0,0 +1,82 @@
+package net.democracycraft.elections.internal.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used bookkeeping of the fully loaded elections the mirror may turn back into summaries
+ * (CLOSED and DELETED ones), weighed by their estimated heap footprint against a byte budget.
+ *
+ * Contract:
+ * - Thread-safe. {@link #touch(int)} is called by lock-free readers, the other mutators by serialized mirror writers.
+ * - {@link #admit(int, long)} records or re-weighs an election as the most recently used one and returns the least
+ *   recently used ones to summarize until the total fits the budget. The admitted election itself is never returned,
+ *   so an election larger than the whole budget stays resident until the next one is admitted.
+ */
+public final class ResidentElections {
+
+    /**
+     * Residency counters.
+     *
+     * @param resident      fully loaded CLOSED/DELETED elections
+     * @param residentBytes their estimated footprint
+     * @param budgetBytes   configured budget
+     * @param hydrations    summaries loaded on demand so far
+     * @param evictions     elections turned into summaries so far
+     */
+    public record Stats(int resident, long residentBytes, long budgetBytes, long hydrations, long evictions) {}
+
+    private final long budgetBytes;
+    /** Election id to weight, in access order (eldest first). */
+    private final LinkedHashMap<Integer, Long> weights = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hydrations;
+    private long evictions;
+
+    ResidentElections(long budgetBytes) {
+        this.budgetBytes = Math.max(0L, budgetBytes);
+    }
+
+    /** Marks an election as recently used; no-op when it is not tracked. */
+    synchronized void touch(int id) {
+        weights.get(id);
+    }
+
+    /** @return ids to summarize, least recently used first. */
+    synchronized List<Integer> admit(int id, long bytes) {
+        Long previous = weights.put(id, bytes);
+        totalBytes += bytes - (previous == null ? 0L : previous);
+        List<Integer> evicted = new ArrayList<>();
+        Iterator<Map.Entry<Integer, Long>> it = weights.entrySet().iterator();
+        while (totalBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<Integer, Long> eldest = it.next();
+            if (eldest.getKey() == id) break;
+            totalBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            it.remove();
+        }
+        evictions += evicted.size();
+        return evicted;
+    }
+
+    synchronized void remove(int id) {
+        Long previous = weights.remove(id);
+        if (previous != null) totalBytes -= previous;
+    }
+
+    synchronized void clear() {
+        weights.clear();
+        totalBytes = 0L;
+    }
+
+    synchronized void recordHydration() {
+        hydrations++;
+    }
+
+    synchronized Stats stats() {
+        return new Stats(weights.size(), totalBytes, budgetBytes, hydrations, evictions);
+    }
+}
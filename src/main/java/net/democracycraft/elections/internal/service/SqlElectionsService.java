@@ -8,12 +8,27 @@ import net.democracycraft.elections.internal.data.*;
 import net.democracycraft.elections.internal.database.DatabaseSchema;
 import net.democracycraft.elections.internal.database.MySQLManager;
 import net.democracycraft.elections.internal.database.entity.*;
-
+import net.democracycraft.elections.internal.tally.CondorcetResult;
+import net.democracycraft.elections.internal.tally.IrvResult;
+import net.democracycraft.elections.internal.tally.StvMethod;
+import net.democracycraft.elections.internal.tally.StvResult;
+import net.democracycraft.elections.internal.tally.TieBreak;
+import net.democracycraft.elections.internal.util.config.ConfigPaths;
+import net.democracycraft.elections.internal.util.config.DataFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 
@@ -24,7 +39,22 @@ public class SqlElectionsService implements ElectionsService {
     private final MySQLManager mysql;
     private final DatabaseSchema schema;
     private final MemoryElectionsService mem = new MemoryElectionsService();
+    private final ElectionBulkLoader loader;
     private final ExecutorService executor;
+    /** Write-behind ballot journal; null when elections.ballotJournal.enabled is false. */
+    private final BallotJournal journal;
+    /** Ballot ids handed out in write-behind mode (explicit ids, so the mirror knows them before MySQL does). */
+    private final AtomicInteger ballotIdSeq = new AtomicInteger();
+    /** Journaled ballots not yet committed to MySQL, keyed by ballot id; re-applied on top of database reloads. */
+    private final Map<Integer, BallotJournal.Entry> journaled = new ConcurrentHashMap<>();
+    /** Scheduled openings and duration-based closings, re-armed from the mirror whenever an election changes. */
+    private final DeadlineScheduler deadlines;
+    private final ElectionPurger purger;
+    private volatile ElectionPurger.Result lastPurge;
+    /** Tie-break rule of result tallies (elections.tally.tieBreak). */
+    private final TieBreak tieBreak;
+    /** Surplus transfer rules of STV tallies (elections.tally.stvMethod). */
+    private final StvMethod stvMethod;
 
     public SqlElectionsService(Elections plugin, MySQLManager mysql, DatabaseSchema schema) {
         this.plugin = plugin;
@@ -38,18 +68,31 @@ public class SqlElectionsService implements ElectionsService {
             return t;
         };
         this.executor = Executors.newFixedThreadPool(Math.min(8, cores * 2), tf);
+        this.loader = new ElectionBulkLoader(schema, plugin.getConfig().getInt(ConfigPaths.RELOAD_CHUNK_SIZE.getPath(), 250));
+        this.deadlines = new DeadlineScheduler(this::onDeadline, plugin.getLogger());
+        this.purger = new ElectionPurger(mysql, plugin.getLogger(),
+                plugin.getConfig().getInt(ConfigPaths.DELETED_PURGE_CHUNK_SIZE.getPath(), 500),
+                plugin.getConfig().getLong(ConfigPaths.DELETED_PURGE_ROW_BUDGET.getPath(), 50_000L));
+        this.journal = plugin.getConfig().getBoolean(ConfigPaths.BALLOT_JOURNAL_ENABLED.getPath(), false) ? openJournal() : null;
+        long residentBudget = plugin.getConfig().getLong(ConfigPaths.MIRROR_RESIDENT_BUDGET_MEGABYTES.getPath(), 64L) * 1024L * 1024L;
+        mem.enableTiering(this::loadFullElection, residentBudget);
+        this.tieBreak = TieBreak.parse(plugin.getConfig().getString(ConfigPaths.TALLY_TIE_BREAK.getPath(), "BACKWARDS"));
+        this.stvMethod = StvMethod.parse(plugin.getConfig().getString(ConfigPaths.TALLY_STV_METHOD.getPath(), "GREGORY"));
         reloadFromDatabase();
+        if (plugin.getConfig().getBoolean(ConfigPaths.RELOAD_COMPARE_LEGACY.getPath(), false)) compareWithLegacyReload();
     }
 
     // --- Snapshot API ---
     @Override public List<Election> listElectionsSnapshot() { return mem.listElections(); }
     @Override public Optional<Election> getElectionSnapshot(int id) { return mem.getElection(id); }
+    @Override public Optional<Election> getElectionByPollSnapshot(String world, int x, int y, int z) { return mem.getElectionByPollSnapshot(world, x, y, z); }
+    @Override public Optional<LiveTally.Snapshot> getLiveTallySnapshot(int electionId) { return mem.getLiveTallySnapshot(electionId); }
 
     // --- helpers ---
 
     private static long nowEpochMillis() { return System.currentTimeMillis(); }
 
-    private static TimeStampDto epochToTs(Long epoch) {
+    static TimeStampDto epochToTs(Long epoch) {
         if (epoch == null) return null;
         Calendar c = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
         c.setTimeInMillis(epoch);
@@ -80,7 +123,7 @@ public class SqlElectionsService implements ElectionsService {
         return t == null ? null : new TimeDto(Math.max(0, Math.min(59, t.second())), Math.max(0, Math.min(59, t.minute())), Math.max(0, Math.min(23, t.hour())));
     }
 
-    private static Long computeEndEpochFromDuration(long startEpoch, Integer days, Integer hour, Integer minute, Integer second) {
+    static Long computeEndEpochFromDuration(long startEpoch, Integer days, Integer hour, Integer minute, Integer second) {
         if (days == null && hour == null && minute == null && second == null) return null;
         long ms = startEpoch;
         long d = (days == null ? 0 : Math.max(0, days));
@@ -104,11 +147,17 @@ public class SqlElectionsService implements ElectionsService {
         return start;
     }
 
+    /**
+     * Rebuilds one election with per-row queries (one query per candidate head and per ballot).
+     * Kept as an independent read path for mirror verification and the legacy reload comparison;
+     * regular loads go through {@link ElectionBulkLoader}.
+     */
     private ElectionDto buildElectionDtoFromDb(ElectionEntity eRow) {
         int id = eRow.id;
         VotingSystem system = VotingSystem.valueOf(eRow.system);
         ElectionDto e = new ElectionDto(id, eRow.title, system, eRow.minimumVotes, null, epochToTs(eRow.createdAtEpochMillis));
         e.setStatus(ElectionStatus.valueOf(eRow.status));
+        e.setSeats(eRow.seats);
         if (eRow.durationDays != null) e.setDurationDays(eRow.durationDays);
         if (eRow.durationHour != null || eRow.durationMinute != null || eRow.durationSecond != null) {
             int hour = eRow.durationHour == null ? 0 : Math.max(0, eRow.durationHour);
@@ -121,6 +170,7 @@ public class SqlElectionsService implements ElectionsService {
             try { mode = BallotMode.valueOf(eRow.ballotMode); } catch (IllegalArgumentException ignored) {}
         }
         e.setBallotMode(mode);
+        e.setOpensAt(epochToTs(eRow.opensAtEpochMillis));
         ElectionRequirementsEntity req = schema.electionRequirements().findBy("electionId", id);
         List<String> perms = schema.requirementPermissions().findAllBy("electionId", id, "permission").stream().map(p -> p.permission).collect(Collectors.toList());
         if ((req != null && req.minActivePlaytimeMinutes != null) || !perms.isEmpty()) {
@@ -151,35 +201,144 @@ public class SqlElectionsService implements ElectionsService {
         }
         List<StatusChangeEntity> scs = schema.statusChanges().findAllBy("electionId", id, "changedAtEpochMillis");
         for (StatusChangeEntity sc : scs) {
-            e.addStatusChange(new StatusChangeDto(epochToTs(sc.changedAtEpochMillis), StateChangeType.valueOf(sc.type), sc.actor, sc.details));
+            e.addStatusChange(toStatusChangeDto(sc));
         }
         long start = startEpochForElection(eRow);
+        e.setDurationStartEpochMillis(start);
         Long end = computeEndEpochFromDuration(start, eRow.durationDays, eRow.durationHour, eRow.durationMinute, eRow.durationSecond);
         e.setClosesAt(epochToTs(end));
         return e;
     }
 
+    static StatusChangeDto toStatusChangeDto(StatusChangeEntity sc) {
+        return new StatusChangeDto(epochToTs(sc.changedAtEpochMillis), StateChangeType.valueOf(sc.type), sc.actor, sc.details);
+    }
+
+    /** Recomputes closesAt from the mirrored duration fields and duration start. */
+    private static void recomputeClosesAt(ElectionDto e) {
+        e.setClosesAt(epochToTs(closesAtEpochMillis(e)));
+    }
+
+    /** @return the millisecond close time of a mirrored election, or null when it has no duration. */
+    private static Long closesAtEpochMillis(ElectionDto e) {
+        TimeDto t = e.getDurationTime();
+        return computeEndEpochFromDuration(e.getDurationStartEpochMillis(), e.getDurationDays(),
+                t == null ? null : t.hour(), t == null ? null : t.minute(), t == null ? null : t.second());
+    }
+
+    /** Mirrors the requirements exactly as {@link #buildElectionDtoFromDb(ElectionEntity)} would read them back. */
+    private static RequirementsDto mirroredRequirements(Long minutes, List<String> permissions) {
+        List<String> perms = permissions == null ? new ArrayList<>() : new ArrayList<>(permissions);
+        if (minutes == null && perms.isEmpty()) return null;
+        return new RequirementsDto(perms, minutes == null ? 0L : minutes);
+    }
+
     private void refreshElection(int id) {
-        ElectionEntity row = schema.elections().findBy("id", id);
-        if (row == null) {
+        ElectionDto dto = loadFullElection(id);
+        if (dto == null) {
             mem.removeElectionById(id);
-            return;
+        } else {
+            mem.upsertElection(dto);
         }
-        ElectionDto dto = buildElectionDtoFromDb(row);
-        mem.upsertElection(dto);
+        armDeadlines(id);
     }
 
-    private void reloadFromDatabase() {
-        List<ElectionDto> list = new ArrayList<>();
-        // Elections first
-        for (ElectionEntity eRow : schema.elections().getAll(null)) {
-            ElectionDto e = buildElectionDtoFromDb(eRow);
-            list.add(e);
+    /** Loads one election with all of its state, journaled ballots included; also hydrates summarized elections of the mirror. */
+    private ElectionDto loadFullElection(int id) {
+        ElectionDto dto = loader.loadOne(id);
+        if (dto != null) overlayJournaled(dto);
+        return dto;
+    }
+
+    /** Re-applies journaled ballots that MySQL does not have yet, so reloads never hide acknowledged votes. */
+    private void overlayJournaled(ElectionDto dto) {
+        // Summaries hold no ballots; they are completed when hydrated
+        if (journaled.isEmpty() || dto.isSummary()) return;
+        Set<Integer> present = new HashSet<>();
+        BallotStore ballots = dto.getBallotStore();
+        for (int i = 0; i < ballots.size(); i++) present.add(ballots.id(i));
+        journaled.values().stream()
+                .filter(e -> e.electionId() == dto.getId() && !present.contains(e.ballotId()))
+                .sorted(Comparator.comparingInt(BallotJournal.Entry::ballotId))
+                .forEach(e -> dto.appendBallot(e.ballotId(), e.voterId(), e.selections(), e.submittedAtEpochMillis()));
+    }
+
+    /**
+     * Patches the mirrored election with the rows a mutator has just written.
+     * The patch may throw to signal that the mirror disagrees with the write (conflict);
+     * in that case, or when the election is not mirrored, it is rebuilt from the database instead.
+     */
+    private void applyToMirror(int electionId, Consumer<ElectionDto> patch) {
+        try {
+            if (mem.applyDelta(electionId, patch)) {
+                armDeadlines(electionId);
+                return;
+            }
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Mirror conflict for election " + electionId + ", resyncing: " + ex.getMessage());
         }
-        mem.loadSnapshot(list);
+        refreshElection(electionId);
+    }
+
+    /** Signals a mirror/database disagreement from inside an {@link #applyToMirror(int, Consumer)} patch. */
+    private static IllegalStateException conflict(String message) {
+        return new IllegalStateException(message);
+    }
+
+    /** @return column/value pairs in the given order (null values allowed), for AutoTable#updateColumns / #updateWhere. */
+    private static Map<String, Object> columns(Object... namesAndValues) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) out.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        return out;
     }
 
-    private void logChange(int electionId, StateChangeType type, String actor, String details) {
+    /** @return the mirrored status, or null when the election is not mirrored. */
+    private ElectionStatus mirroredStatus(int electionId) {
+        return mem.readElection(electionId, dto -> dto == null ? null : dto.getStatus());
+    }
+
+    /**
+     * Called when a conditional status UPDATE matched no row although the mirror allowed the transition
+     * (another server changed the election): resyncs the election and returns its actual status.
+     */
+    private ElectionStatus resyncedStatus(int electionId) {
+        refreshElection(electionId);
+        return mirroredStatus(electionId);
+    }
+
+    /** Loads OPEN elections fully and the others as summaries, hydrated on demand by the mirror. */
+    private void reloadFromDatabase() {
+        ElectionBulkLoader.Result result = loader.loadAll(row -> ElectionStatus.OPEN.name().equals(row.status));
+        result.elections().forEach(this::overlayJournaled);
+        mem.loadSnapshot(result.elections());
+        for (ElectionDto e : result.elections()) armDeadlines(e.getId());
+        plugin.getLogger().info("Loaded " + result.elections().size() + " elections (" + result.summaries() + " as summaries) in "
+                + result.millis() + " ms using " + result.queries() + " queries.");
+    }
+
+    /**
+     * Runs the legacy per-election reload once (without touching the mirror) and logs its query count
+     * and wall time next to a fresh bulk load, so both paths can be compared on a real dataset.
+     */
+    private void compareWithLegacyReload() {
+        long t0 = System.nanoTime();
+        int[] queries = {0};
+        int elections = schema.elections().forEachPage(loader.chunkSize(), page -> {
+            queries[0]++;
+            for (ElectionEntity eRow : page) {
+                ElectionDto e = buildElectionDtoFromDb(eRow);
+                // requirements, permissions, candidates, polls, voters, ballots, status changes, duration start + per-row lookups
+                queries[0] += 8 + e.getCandidates().size() + e.getBallots().size();
+            }
+        });
+        long legacyMs = (System.nanoTime() - t0) / 1_000_000L;
+        ElectionBulkLoader.Result bulk = loader.loadAll();
+        plugin.getLogger().info("Reload comparison for " + elections + " elections: legacy " + legacyMs + " ms / " + queries[0]
+                + " queries, bulk " + bulk.millis() + " ms / " + bulk.queries() + " queries.");
+    }
+
+    /** Writes a status change row and returns it so callers can mirror exactly what was stored. */
+    private StatusChangeEntity logChange(int electionId, StateChangeType type, String actor, String details) {
         StatusChangeEntity row = new StatusChangeEntity();
         row.electionId = electionId;
         row.changedAtEpochMillis = nowEpochMillis();
@@ -187,77 +346,116 @@ public class SqlElectionsService implements ElectionsService {
         row.actor = actor;
         row.details = details;
         schema.statusChanges().insertNonPkSync(row);
+        return row;
     }
 
-    /** Closes any OPEN election whose duration has expired. */
-    public void runAutoCloseSweep() {
+    /**
+     * Arms the deadlines of one election from its mirrored state: the close time while it is OPEN,
+     * the scheduled opening while it is CLOSED, nothing otherwise. Cheap and idempotent; no database access.
+     */
+    private void armDeadlines(int electionId) {
+        // Serialized with mirror writes, so a slower caller cannot arm from a snapshot older than the last one armed
+        mem.readElectionLatest(electionId, dto -> {
+            ElectionStatus status = dto == null ? null : dto.getStatus();
+            deadlines.arm(electionId, DeadlineScheduler.Kind.CLOSE, status == ElectionStatus.OPEN ? closesAtEpochMillis(dto) : null);
+            deadlines.arm(electionId, DeadlineScheduler.Kind.OPEN, status == ElectionStatus.CLOSED ? tsToEpoch(dto.getOpensAt()) : null);
+            return null;
+        });
+    }
+
+    /**
+     * Called by the scheduler thread when a deadline is due. The mirror is checked again (the election may have
+     * changed since the deadline was armed) and the transition runs on the IO executor through the async wrappers,
+     * so listeners see the usual opened/closed events.
+     */
+    private void onDeadline(int electionId, DeadlineScheduler.Kind kind) {
         long now = nowEpochMillis();
-        List<Integer> toClose = new ArrayList<>();
-        for (Election e : mem.listElections()) {
-            if (e.getStatus() != ElectionStatus.OPEN) continue;
-            // fetch backing row to compute start + duration
-            ElectionEntity row = schema.elections().findBy("id", e.getId());
-            if (row == null) continue;
-            long start = startEpochForElection(row);
-            Long end = computeEndEpochFromDuration(start, row.durationDays, row.durationHour, row.durationMinute, row.durationSecond);
-            if (end != null && now >= end) toClose.add(e.getId());
-        }
-        for (Integer id : toClose) {
-            closeElection(id, "system");
+        Long due = mem.readElection(electionId, dto -> {
+            if (dto == null) return null;
+            Long at = kind == DeadlineScheduler.Kind.CLOSE
+                    ? (dto.getStatus() == ElectionStatus.OPEN ? closesAtEpochMillis(dto) : null)
+                    : (dto.getStatus() == ElectionStatus.CLOSED ? tsToEpoch(dto.getOpensAt()) : null);
+            return at != null && at <= now ? at : null;
+        });
+        if (due == null) {
+            armDeadlines(electionId);
+            return;
         }
+        CompletableFuture<Boolean> transition = kind == DeadlineScheduler.Kind.CLOSE
+                ? closeElectionAsync(electionId, "system")
+                : openElectionAsync(electionId, "system");
+        transition.whenComplete((ok, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().warning("Scheduled " + kind + " of election " + electionId + " failed: " + ex.getMessage());
+            } else if (!ok) {
+                plugin.getLogger().warning("Scheduled " + kind + " of election " + electionId + " was rejected (e.g. fewer candidates than the minimum votes).");
+                // Otherwise the overdue opening is re-armed by every sweep and rejected again
+                if (kind == DeadlineScheduler.Kind.OPEN) clearRejectedOpening(electionId, due);
+            }
+        });
+    }
+
+    /**
+     * Clears a scheduled opening that was due at {@code opensAt} and rejected, recording why. Left alone when the
+     * schedule or status changed meanwhile.
+     */
+    private void clearRejectedOpening(int electionId, long opensAt) {
+        if (schema.elections().updateWhere(columns("opensAtEpochMillis", null),
+                columns("id", electionId, "status", ElectionStatus.CLOSED.name(), "opensAtEpochMillis", opensAt)) == 0) return;
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.OPENS_AT_CLEARED, "system", "scheduled opening rejected");
+        applyToMirror(electionId, dto -> {
+            dto.setOpensAt(null);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
+    }
+
+    /** @return mirror residency counters (fully loaded CLOSED/DELETED elections against the memory budget). */
+    public ResidentElections.Stats residencyStats() {
+        return mem.residencyStats();
+    }
+
+    /** @return ballot compression counters of the mirror (see {@link BallotGroups}). */
+    public BallotGroups.Stats ballotGroupStats() {
+        return mem.ballotGroupStats();
+    }
+
+    /** @return deadline scheduler counters (armed deadlines, next due time, fired). */
+    public DeadlineScheduler.Stats deadlineStats() {
+        return deadlines.stats();
+    }
+
+    /**
+     * Safety net behind the deadline scheduler: re-arms every mirrored election from memory, so an overdue
+     * deadline fires immediately. Reads only the mirror; elections normally open and close through their armed deadline.
+     */
+    public void runAutoCloseSweep() {
+        for (Integer id : mem.electionIds()) armDeadlines(id);
     }
 
     /**
      * Purges elections marked as DELETED whose last DELETED status change is older than the given retention days.
-     * Deletes dependent rows in a safe order before removing the election row.
+     * Rows are deleted in bounded transactions up to the configured per-run row budget (see {@link ElectionPurger});
+     * purged elections are evicted from the mirror and the rest of the mirror is left untouched.
      * @param retentionDays number of days to keep DELETED elections before purging (non-negative)
      */
     public void runDeletedPurgeSweep(int retentionDays) {
         int rd = Math.max(0, retentionDays);
-        long now = nowEpochMillis();
-        long threshold = now - rd * 24L * 60L * 60L * 1000L;
-        List<Integer> toPurge = new ArrayList<>();
-        for (ElectionEntity e : schema.elections().getAll(null)) {
-            if (e == null) continue;
-            if (!net.democracycraft.elections.internal.data.ElectionStatus.DELETED.name().equals(e.status)) continue;
-            // find last DELETED change time
-            long deletedAt = -1L;
-            List<StatusChangeEntity> changes = schema.statusChanges().findAllBy("electionId", e.id, "changedAtEpochMillis");
-            for (StatusChangeEntity sc : changes) {
-                if (sc != null && sc.type != null && sc.type.equalsIgnoreCase(net.democracycraft.elections.internal.data.StateChangeType.DELETED.name())) {
-                    deletedAt = Math.max(deletedAt, sc.changedAtEpochMillis);
-                }
-            }
-            if (deletedAt > 0 && deletedAt <= threshold) toPurge.add(e.id);
-        }
-        if (toPurge.isEmpty()) return;
-        for (Integer id : toPurge) {
-            try {
-                // ballots -> selections (CASCADE)
-                Map<String,Object> where = new HashMap<>();
-                where.put("electionId", id);
-                schema.ballots().deleteWhereSync(where);
-                // voters
-                schema.voters().deleteWhereSync(where);
-                // polls
-                schema.polls().deleteWhereSync(where);
-                // candidates -> head items (CASCADE)
-                schema.candidates().deleteWhereSync(where);
-                // requirement permissions
-                schema.requirementPermissions().deleteWhereSync(where);
-                // requirements 1:1
-                Map<String,Object> reqWhere = new HashMap<>();
-                reqWhere.put("electionId", id);
-                schema.electionRequirements().deleteWhereSync(reqWhere);
-                // status changes
-                schema.statusChanges().deleteWhereSync(where);
-                // election row
-                schema.elections().deleteById(id);
-            } catch (Exception ex) {
-                // skip on error; continue with others
-            }
-        }
-        reloadFromDatabase();
+        long threshold = nowEpochMillis() - rd * 24L * 60L * 60L * 1000L;
+        ElectionPurger.Result result = purger.purge(threshold, id -> {
+            mem.removeElectionById(id);
+            deadlines.disarmAll(id);
+        });
+        lastPurge = result;
+        if (result.eligible() == 0) return;
+        plugin.getLogger().info("Purged " + result.purged() + "/" + result.eligible() + " deleted elections: " + result.rowsDeleted()
+                + " rows in " + result.transactions() + " transactions, " + result.millis() + " ms"
+                + (result.failed() > 0 ? ", " + result.failed() + " failed" : "")
+                + (result.budgetExhausted() ? "; row budget reached, continuing next run." : "."));
+    }
+
+    /** @return metrics of the last purge run, or null before the first run. */
+    public ElectionPurger.Result purgeStats() {
+        return lastPurge;
     }
 
     // --- Internal synchronous helpers (not part of API) ---
@@ -272,9 +470,14 @@ public class SqlElectionsService implements ElectionsService {
         row.ballotMode = BallotMode.MANUAL.name();
         Integer id = schema.elections().insertReturningIntKey(row);
         if (id == null) throw new IllegalStateException("No key generated");
+        ElectionDto dto = new ElectionDto(id, title, system, row.minimumVotes, null, epochToTs(row.createdAtEpochMillis));
+        dto.setStatus(ElectionStatus.CLOSED);
+        dto.setBallotMode(BallotMode.MANUAL);
+        dto.setDurationStartEpochMillis(row.createdAtEpochMillis);
+        mem.upsertElection(dto);
         if (requirements != null) setRequirements(id, requirements, actor);
-        logChange(id, StateChangeType.CREATED, actor, "title="+title+",system="+system+",min="+Math.max(1, minimumVotes));
-        refreshElection(id);
+        StatusChangeEntity sc = logChange(id, StateChangeType.CREATED, actor, "title="+title+",system="+system+",min="+Math.max(1, minimumVotes));
+        applyToMirror(id, e -> e.addStatusChange(toStatusChangeDto(sc)));
         return getElection(id).orElseThrow();
     }
 
@@ -282,59 +485,70 @@ public class SqlElectionsService implements ElectionsService {
     public List<Election> listElections() { return mem.listElections(); }
 
     public boolean deleteElection(int id, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", id);
-        if (e == null) return false;
-        ElectionStatus current = ElectionStatus.valueOf(e.status);
-        if (current == ElectionStatus.DELETED) return false;
-        e.status = ElectionStatus.DELETED.name();
-        schema.elections().insertOrUpdateSync(e);
+        ElectionStatus current = mirroredStatus(id);
+        if (current == null || current == ElectionStatus.DELETED) return false;
+        // Compare-and-set against the mirrored status
+        Map<String, Object> expected = columns("id", id, "status", current.name());
+        if (schema.elections().updateWhere(columns("status", ElectionStatus.DELETED.name()), expected) == 0) {
+            resyncedStatus(id);
+            return false;
+        }
         // Immediately remove associated polling stations from DB
         Map<String, Object> where = new HashMap<>();
         where.put("electionId", id);
         int pollsRemoved = schema.polls().deleteWhereSync(where);
-        if (pollsRemoved > 0) {
-            logChange(id, StateChangeType.POLL_REMOVED, actor, "all polls removed for election");
-        }
-        logChange(id, StateChangeType.DELETED, actor, null);
-        refreshElection(id);
+        StatusChangeEntity pollsChange = pollsRemoved > 0 ? logChange(id, StateChangeType.POLL_REMOVED, actor, "all polls removed for election") : null;
+        StatusChangeEntity deleted = logChange(id, StateChangeType.DELETED, actor, null);
+        applyToMirror(id, dto -> {
+            dto.setStatus(ElectionStatus.DELETED);
+            dto.clearPolls();
+            if (pollsChange != null) dto.addStatusChange(toStatusChangeDto(pollsChange));
+            dto.addStatusChange(toStatusChangeDto(deleted));
+        });
         return true;
     }
 
     public boolean setTitle(int electionId, String title, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        e.title = title==null?"":title;
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.TITLE_CHANGED, actor, "new="+(title==null?"":title));
-        refreshElection(electionId);
+        String stored = title==null?"":title;
+        if (schema.elections().updateColumns(electionId, columns("title", stored)) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.TITLE_CHANGED, actor, "new="+stored);
+        applyToMirror(electionId, dto -> {
+            dto.setTitle(stored);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     public boolean setSystem(int electionId, VotingSystem system, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        e.system = system.name();
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.SYSTEM_CHANGED, actor, "new="+system.name());
-        refreshElection(electionId);
+        if (schema.elections().updateColumns(electionId, columns("system", system.name())) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.SYSTEM_CHANGED, actor, "new="+system.name());
+        applyToMirror(electionId, dto -> {
+            dto.setSystem(system);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     public boolean setMinimumVotes(int electionId, int minimum, String actor) {
         int eff = Math.max(1, Math.max(0, minimum));
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        e.minimumVotes = eff;
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.MINIMUM_CHANGED, actor, "new="+eff);
-        // If currently OPEN and minimum exceeds candidates, auto-close
-        int candidateCount = schema.candidates().findAllBy("electionId", electionId, "id").size();
-        if (ElectionStatus.valueOf(e.status) == ElectionStatus.OPEN && eff > candidateCount) {
-            e.status = ElectionStatus.CLOSED.name();
-            schema.elections().insertOrUpdateSync(e);
-            logChange(electionId, StateChangeType.CLOSED, actor, "auto-closed: min>candidates");
+        if (schema.elections().updateColumns(electionId, columns("minimumVotes", eff)) == 0) return false;
+        StatusChangeEntity changed = logChange(electionId, StateChangeType.MINIMUM_CHANGED, actor, "new="+eff);
+        // If currently OPEN and minimum exceeds candidates (counted in the mirror), auto-close
+        boolean exceeds = mem.readElection(electionId, dto -> dto != null && dto.getStatus() == ElectionStatus.OPEN && eff > dto.getCandidates().size());
+        StatusChangeEntity closed = null;
+        if (exceeds && schema.elections().updateWhere(columns("status", ElectionStatus.CLOSED.name()),
+                columns("id", electionId, "status", ElectionStatus.OPEN.name())) > 0) {
+            closed = logChange(electionId, StateChangeType.CLOSED, actor, "auto-closed: min>candidates");
         }
-        refreshElection(electionId);
+        StatusChangeEntity autoClosed = closed;
+        applyToMirror(electionId, dto -> {
+            dto.setMinimumVotes(eff);
+            dto.addStatusChange(toStatusChangeDto(changed));
+            if (autoClosed != null) {
+                dto.setStatus(ElectionStatus.CLOSED);
+                dto.addStatusChange(toStatusChangeDto(autoClosed));
+            }
+        });
         return true;
     }
 
@@ -348,84 +562,132 @@ public class SqlElectionsService implements ElectionsService {
         Map<String, Object> where = new HashMap<>();
         where.put("electionId", electionId);
         schema.requirementPermissions().deleteWhereSync(where);
+        List<String> written = new ArrayList<>();
         if (requirements != null && requirements.permissions() != null) {
             for (String p : requirements.permissions()) {
                 ElectionRequirementPermissionEntity rp = new ElectionRequirementPermissionEntity();
                 rp.electionId = electionId; rp.permission = p;
                 schema.requirementPermissions().insertNonPkSync(rp);
+                written.add(p);
             }
         }
-        logChange(electionId, StateChangeType.REQUIREMENTS_CHANGED, actor, "perms=" + (requirements==null?0:requirements.permissions().size()) + ",minutes=" + (requirements==null?0:requirements.minActivePlaytimeMinutes()));
-        refreshElection(electionId);
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.REQUIREMENTS_CHANGED, actor, "perms=" + (requirements==null?0:requirements.permissions().size()) + ",minutes=" + (requirements==null?0:requirements.minActivePlaytimeMinutes()));
+        applyToMirror(electionId, dto -> {
+            dto.setRequirements(mirroredRequirements(req.minActivePlaytimeMinutes, written));
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     public boolean openElection(int electionId, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        ElectionStatus current = ElectionStatus.valueOf(e.status);
-        if (current == ElectionStatus.DELETED) return false; // cannot open deleted
+        ElectionStatus current = mirroredStatus(electionId);
+        if (current == null || current == ElectionStatus.DELETED) return false; // cannot open deleted
         if (current == ElectionStatus.OPEN) return true; // idempotent
         if (current != ElectionStatus.CLOSED) return false; // only CLOSED -> OPEN
         // Block opening when minimum exceeds candidates
-        int candidateCount = schema.candidates().findAllBy("electionId", electionId, "id").size();
-        int min = Math.max(1, e.minimumVotes);
-        if (min > candidateCount) return false;
-        e.status = ElectionStatus.OPEN.name();
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.OPENED, actor, null);
-        refreshElection(electionId);
+        boolean enough = mem.readElection(electionId, dto -> dto != null && Math.max(1, dto.getMinimumVotes()) <= dto.getCandidates().size());
+        if (!enough) return false;
+        Map<String, Object> set = columns("status", ElectionStatus.OPEN.name(), "opensAtEpochMillis", null);
+        if (schema.elections().updateWhere(set, columns("id", electionId, "status", ElectionStatus.CLOSED.name())) == 0) {
+            return resyncedStatus(electionId) == ElectionStatus.OPEN;
+        }
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.OPENED, actor, null);
+        applyToMirror(electionId, dto -> {
+            dto.setStatus(ElectionStatus.OPEN);
+            dto.setOpensAt(null);
+            dto.addStatusChange(toStatusChangeDto(sc));
+            // Duration counts from the latest OPENED change
+            dto.setDurationStartEpochMillis(sc.changedAtEpochMillis);
+            recomputeClosesAt(dto);
+        });
         return true;
     }
 
     public boolean closeElection(int electionId, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        ElectionStatus current = ElectionStatus.valueOf(e.status);
+        ElectionStatus current = mirroredStatus(electionId);
+        if (current == null) return false;
         if (current == ElectionStatus.CLOSED) return true; // idempotent
         if (current != ElectionStatus.OPEN) return false; // only OPEN -> CLOSED
-        e.status = ElectionStatus.CLOSED.name();
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.CLOSED, actor, null);
-        refreshElection(electionId);
+        if (schema.elections().updateWhere(columns("status", ElectionStatus.CLOSED.name()),
+                columns("id", electionId, "status", ElectionStatus.OPEN.name())) == 0) {
+            return resyncedStatus(electionId) == ElectionStatus.CLOSED;
+        }
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.CLOSED, actor, null);
+        applyToMirror(electionId, dto -> {
+            dto.setStatus(ElectionStatus.CLOSED);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     public boolean setClosesAt(int electionId, TimeStampDto closesAt, String actor) {
         // Deprecated: ignore explicit closesAt and rely solely on duration.
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
+        if (mirroredStatus(electionId) == null) return false;
         // no DB write required beyond potential audit
-        logChange(electionId, closesAt==null? StateChangeType.CLOSES_AT_CLEARED : StateChangeType.CLOSES_AT_CHANGED, actor, "ignored; duration-based");
-        refreshElection(electionId);
+        StatusChangeEntity sc = logChange(electionId, closesAt==null? StateChangeType.CLOSES_AT_CLEARED : StateChangeType.CLOSES_AT_CHANGED, actor, "ignored; duration-based");
+        applyToMirror(electionId, dto -> dto.addStatusChange(toStatusChangeDto(sc)));
+        return true;
+    }
+
+    /**
+     * Schedules a CLOSED election to open at the given UTC time (null clears the schedule).
+     * A time in the past opens the election right away.
+     */
+    public boolean setOpensAt(int electionId, TimeStampDto opensAt, String actor) {
+        Long epoch = tsToEpoch(opensAt);
+        if (schema.elections().updateWhere(columns("opensAtEpochMillis", epoch),
+                columns("id", electionId, "status", ElectionStatus.CLOSED.name())) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, opensAt == null ? StateChangeType.OPENS_AT_CLEARED : StateChangeType.OPENS_AT_SET, actor, opensAt == null ? null : tsToString(opensAt));
+        TimeStampDto stored = epochToTs(epoch);
+        applyToMirror(electionId, dto -> {
+            dto.setOpensAt(stored);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     public boolean setDuration(int electionId, Integer days, TimeDto time, String actor) {
         TimeDto t = normalize(time);
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
-        e.durationDays = days;
-        e.durationHour = (t==null? null : t.hour());
-        e.durationMinute = (t==null? null : t.minute());
-        e.durationSecond = (t==null? null : t.second());
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, (days==null && t==null)? StateChangeType.DURATION_CLEARED : StateChangeType.DURATION_CHANGED, actor, null);
-        refreshElection(electionId);
+        Map<String, Object> set = columns("durationDays", days, "durationHour", t==null? null : t.hour(),
+                "durationMinute", t==null? null : t.minute(), "durationSecond", t==null? null : t.second());
+        if (schema.elections().updateColumns(electionId, set) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, (days==null && t==null)? StateChangeType.DURATION_CLEARED : StateChangeType.DURATION_CHANGED, actor, null);
+        applyToMirror(electionId, dto -> {
+            dto.setDurationDays(days);
+            dto.setDurationTime(t);
+            dto.addStatusChange(toStatusChangeDto(sc));
+            recomputeClosesAt(dto);
+        });
+        return true;
+    }
+
+    /** Sets the number of seats a PREFERENTIAL count fills (at least 1) and records a status change. */
+    public boolean setSeats(int electionId, int seats, String actor) {
+        Integer current = mem.readElection(electionId, dto -> dto == null ? null : dto.getSeats());
+        if (current == null) return false;
+        int newSeats = Math.max(1, seats);
+        if (current == newSeats) return true;
+        if (schema.elections().updateColumns(electionId, columns("seats", newSeats)) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.SEATS_CHANGED, actor, "old=" + current + ",new=" + newSeats);
+        applyToMirror(electionId, dto -> {
+            dto.setSeats(newSeats);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
     /** Sets per-election ballot UI mode and records a status change. */
     public boolean setBallotMode(int electionId, BallotMode mode, String actor) {
-        ElectionEntity e = schema.elections().findBy("id", electionId);
-        if (e == null) return false;
+        BallotMode current = mem.readElection(electionId, dto -> dto == null ? null : dto.getBallotMode());
+        if (current == null) return false;
         BallotMode newMode = (mode == null ? BallotMode.MANUAL : mode);
-        BallotMode current = (e.ballotMode == null ? BallotMode.MANUAL : BallotMode.valueOf(e.ballotMode));
         if (current == newMode) return true;
-        e.ballotMode = newMode.name();
-        schema.elections().insertOrUpdateSync(e);
-        logChange(electionId, StateChangeType.BALLOT_MODE_CHANGED, actor, "old=" + current + ",new=" + newMode);
-        refreshElection(electionId);
+        if (schema.elections().updateColumns(electionId, columns("ballotMode", newMode.name())) == 0) return false;
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.BALLOT_MODE_CHANGED, actor, "old=" + current + ",new=" + newMode);
+        applyToMirror(electionId, dto -> {
+            dto.setBallotMode(newMode);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return true;
     }
 
@@ -434,90 +696,98 @@ public class SqlElectionsService implements ElectionsService {
     }
 
     public Optional<Candidate> addCandidate(int electionId, String name, String party, String actor) {
-        // Prevent duplicate candidate by (electionId, name)
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("name", name);
-        if (!schema.candidates().findAllByMany(where, "id").isEmpty()) {
-            return Optional.empty();
-        }
         CandidateEntity row = new CandidateEntity();
         row.electionId = electionId;
         row.name = name;
         row.party = (party == null || party.isBlank()) ? null : party;
-        Integer id = schema.candidates().insertReturningIntKey(row);
+        // Duplicate (electionId, name) is rejected by uq_cand_name
+        Integer id = schema.candidates().insertIgnoreReturningIntKey(row);
         if (id == null) return Optional.empty();
-        logChange(electionId, StateChangeType.CANDIDATE_ADDED, actor, "id="+id+",name="+name + (row.party==null?"":" ,party="+row.party));
-        refreshElection(electionId);
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.CANDIDATE_ADDED, actor, "id="+id+",name="+name + (row.party==null?"":" ,party="+row.party));
+        applyToMirror(electionId, dto -> {
+            if (dto.findCandidate(id) != null) throw conflict("candidate " + id + " already mirrored");
+            CandidateDto c = new CandidateDto(id, name);
+            c.setParty(row.party);
+            dto.addCandidate(c);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return mem.getElection(electionId).flatMap(e -> e.getCandidates().stream().filter(c -> c.getId()==id).findFirst());
     }
 
     public Optional<Candidate> updateCandidate(int electionId, int candidateId, String name, String party, String actor) {
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("name", name);
-        List<CandidateEntity> conflicting = schema.candidates().findAllByMany(where, "id");
-        if (conflicting.stream().anyMatch(c -> c.id != candidateId)) {
-            return Optional.empty(); // Name taken by another candidate
-        }
-
-        // Update DB
-        CandidateEntity row = schema.candidates().findBy("id", candidateId);
-        if (row == null || row.electionId != electionId) return Optional.empty();
-
-        String oldName = row.name;
-        String oldParty = row.party;
         String newParty = (party == null || party.isBlank()) ? null : party;
+        String[] old = mem.readElection(electionId, dto -> {
+            CandidateDto c = dto == null ? null : dto.findCandidate(candidateId);
+            return c == null ? null : new String[]{c.getName(), c.getParty()};
+        });
+        if (old == null) {
+            // Not mirrored (e.g. a summarized election): audit the values of the row being updated
+            CandidateEntity row = schema.candidates().findBy("id", candidateId);
+            if (row == null || row.electionId != electionId) return Optional.empty();
+            old = new String[]{row.name, row.party};
+        }
+        String oldName = old == null ? null : old[0];
+        String oldParty = old == null ? null : old[1];
 
-        row.name = name;
-        row.party = newParty;
-
-        schema.candidates().insertOrUpdateSync(row);
+        int matched;
+        try {
+            matched = schema.candidates().updateWhere(columns("name", name, "party", newParty), columns("id", candidateId, "electionId", electionId));
+        } catch (RuntimeException ex) {
+            if (MySQLManager.isConstraintViolation(ex)) return Optional.empty(); // Name taken by another candidate
+            throw ex;
+        }
+        if (matched == 0) return Optional.empty();
 
-        logChange(electionId, StateChangeType.CANDIDATE_UPDATED, actor,
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.CANDIDATE_UPDATED, actor,
                 "id=" + candidateId + ",oldName=" + oldName + ",newName=" + name + ",oldParty=" + oldParty + ",newParty=" + newParty);
 
-        refreshElection(electionId);
+        applyToMirror(electionId, dto -> {
+            CandidateDto c = dto.findCandidate(candidateId);
+            if (c == null) throw conflict("candidate " + candidateId + " not mirrored");
+            c.setName(name);
+            c.setParty(newParty);
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
 
         return mem.getElection(electionId).flatMap(e -> e.getCandidates().stream().filter(c -> c.getId()==candidateId).findFirst());
     }
 
     public boolean removeCandidate(int electionId, int candidateId, String actor) {
+        // Journaled ballots have no ballot_selections rows yet, so fk_sel_candidate cannot protect them
+        for (BallotJournal.Entry e : journaled.values()) {
+            if (e.electionId() != electionId) continue;
+            for (int selected : e.selections()) {
+                if (selected == candidateId) {
+                    plugin.getLogger().info("Not removing candidate " + candidateId + " of election " + electionId + ": journaled ballots still select it.");
+                    return false;
+                }
+            }
+        }
         Map<String, Object> where = new HashMap<>();
         where.put("id", candidateId);
         where.put("electionId", electionId);
         int affected = schema.candidates().deleteWhereSync(where);
-        if (affected > 0) logChange(electionId, StateChangeType.CANDIDATE_REMOVED, actor, "id="+candidateId);
-        refreshElection(electionId);
+        if (affected > 0) {
+            StatusChangeEntity sc = logChange(electionId, StateChangeType.CANDIDATE_REMOVED, actor, "id="+candidateId);
+            applyToMirror(electionId, dto -> {
+                if (!dto.removeCandidate(candidateId)) throw conflict("candidate " + candidateId + " not mirrored");
+                dto.addStatusChange(toStatusChangeDto(sc));
+            });
+        }
         return affected > 0;
     }
 
     public Optional<Poll> addPoll(int electionId, String world, int x, int y, int z, String actor) {
-        // Prevent duplicate poll globally (across all elections) at same coordinates
-        Map<String, Object> globalWhere = new HashMap<>();
-        globalWhere.put("world", world);
-        globalWhere.put("x", x);
-        globalWhere.put("y", y);
-        globalWhere.put("z", z);
-        if (!schema.polls().findAllByMany(globalWhere, null).isEmpty()) {
-            return Optional.empty();
-        }
-        // Prevent duplicate poll by (electionId, world, x, y, z)
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("world", world);
-        where.put("x", x);
-        where.put("y", y);
-        where.put("z", z);
-        if (!schema.polls().findAllByMany(where, null).isEmpty()) {
-            return Optional.empty();
-        }
         PollEntity row = new PollEntity();
         row.electionId = electionId; row.world = world; row.x = x; row.y = y; row.z = z;
-        boolean ok = schema.polls().insertNonPkSync(row);
+        // A poll already at these coordinates (in any election) is rejected by uq_poll_global / uq_poll_loc
+        boolean ok = schema.polls().insertIgnoreNonPkSync(row);
         if (!ok) return Optional.empty();
-        logChange(electionId, StateChangeType.POLL_ADDED, actor, "world="+world+",x="+x+",y="+y+",z="+z);
-        refreshElection(electionId);
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.POLL_ADDED, actor, "world="+world+",x="+x+",y="+y+",z="+z);
+        applyToMirror(electionId, dto -> {
+            dto.addPoll(new PollDto(world, x, y, z));
+            dto.addStatusChange(toStatusChangeDto(sc));
+        });
         return mem.getElection(electionId).flatMap(e -> e.getPolls().stream().filter(p -> p.getWorld().equalsIgnoreCase(world) && p.getX()==x && p.getY()==y && p.getZ()==z).findFirst());
     }
 
@@ -529,34 +799,43 @@ public class SqlElectionsService implements ElectionsService {
         where.put("y", y);
         where.put("z", z);
         int affected = schema.polls().deleteWhereSync(where);
-        if (affected > 0) logChange(electionId, StateChangeType.POLL_REMOVED, actor, "world="+world+",x="+x+",y="+y+",z="+z);
-        refreshElection(electionId);
+        if (affected > 0) {
+            StatusChangeEntity sc = logChange(electionId, StateChangeType.POLL_REMOVED, actor, "world="+world+",x="+x+",y="+y+",z="+z);
+            applyToMirror(electionId, dto -> {
+                if (!dto.removePoll(new PollDto(world, x, y, z))) throw conflict("poll " + world + "@" + x + "," + y + "," + z + " not mirrored");
+                dto.addStatusChange(toStatusChangeDto(sc));
+            });
+        }
         return affected > 0;
     }
 
     public Voter registerVoter(int electionId, String name) {
-        // Check existing by unique (electionId, name)
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("name", name);
-        List<VoterEntity> existing = schema.voters().findAllByMany(where, "id");
+        // Known voters are answered from the mirror (names compare case-insensitively, like uq_voter_name)
+        VoterDto known = mem.readElection(electionId, dto -> dto == null ? null : dto.findVoterByName(name));
+        if (known != null) {
+            Optional<Voter> mirrored = mem.getVoterById(electionId, known.id());
+            if (mirrored.isPresent()) return mirrored.get();
+        }
+        VoterEntity row = new VoterEntity();
+        row.electionId = electionId;
+        row.name = name;
+        Integer inserted = schema.voters().insertIgnoreReturningIntKey(row);
         int id;
-        if (!existing.isEmpty()) {
-            id = existing.getFirst().id;
+        String storedName = name;
+        if (inserted != null) {
+            id = inserted;
         } else {
-            VoterEntity row = new VoterEntity();
-            row.electionId = electionId;
-            row.name = name;
-            try {
-                id = schema.voters().insertReturningIntKey(row);
-            } catch (RuntimeException ex) {
-                // Fallback in case of race: fetch existing id
-                existing = schema.voters().findAllByMany(where, "id");
-                if (!existing.isEmpty()) id = existing.getFirst().id;
-                else throw ex;
-            }
+            // Registered meanwhile (e.g. by another server): fetch the existing row
+            Map<String, Object> where = columns("electionId", electionId, "name", name);
+            List<VoterEntity> existing = schema.voters().findAllByMany(where, "id");
+            if (existing.isEmpty()) throw new IllegalStateException("Voter " + name + " could not be registered for election " + electionId);
+            id = existing.getFirst().id;
+            storedName = existing.getFirst().name;
         }
-        refreshElection(electionId);
+        VoterDto voter = new VoterDto(id, storedName);
+        applyToMirror(electionId, dto -> {
+            dto.addVoter(voter); // no-op when already mirrored
+        });
         return mem.getVoterById(electionId, id).orElseGet(() -> mem.registerVoter(electionId, name));
     }
 
@@ -564,68 +843,214 @@ public class SqlElectionsService implements ElectionsService {
     public List<Voter> listVoters(int electionId) { return mem.listVoters(electionId); }
 
     public boolean submitPreferentialBallot(int electionId, int voterId, List<Integer> orderedCandidateIds) {
-        // Idempotency and race safety: check DB first
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("voterId", voterId);
-        if (!schema.ballots().findAllByMany(where, "id").isEmpty()) return false;
-        if (!mem.submitPreferentialBallot(electionId, voterId, orderedCandidateIds)) return false;
-        // persist
+        if (journal != null && journal.isAccepting()) return journalBallot(electionId, voterId, orderedCandidateIds, true);
+        // Duplicate submissions are rejected by the mirror here and by uq_ballot_once on insert
+        List<Integer> selections = mem.validatePreferentialBallot(electionId, voterId, orderedCandidateIds);
+        if (selections == null) return false;
+        return persistBallot(electionId, voterId, selections);
+    }
+
+    public boolean submitBlockBallot(int electionId, int voterId, List<Integer> candidateIds) {
+        if (journal != null && journal.isAccepting()) return journalBallot(electionId, voterId, candidateIds, false);
+        // Duplicate submissions are rejected by the mirror here and by uq_ballot_once on insert
+        List<Integer> selections = mem.validateBlockBallot(electionId, voterId, candidateIds);
+        if (selections == null) return false;
+        return persistBallot(electionId, voterId, selections);
+    }
+
+    /**
+     * Writes a validated ballot and all of its selections in one transaction (ballot INSERT plus one
+     * multi-row selection INSERT), then appends exactly that ballot to the mirror.
+     * A second ballot for the same voter is rejected by the uq_ballot_once constraint.
+     */
+    private boolean persistBallot(int electionId, int voterId, List<Integer> selections) {
+        BallotEntity ballotEntity = new BallotEntity();
+        ballotEntity.electionId = electionId; ballotEntity.voterId = voterId; ballotEntity.submittedAtEpochMillis = nowEpochMillis();
+        Integer ballotId;
         try {
-            BallotEntity b = new BallotEntity();
-            b.electionId = electionId; b.voterId = voterId; b.submittedAtEpochMillis = nowEpochMillis();
-            Integer ballotId = schema.ballots().insertReturningIntKey(b);
-            if (ballotId != null) {
+            ballotId = mysql.inTransaction(conn -> {
+                Integer id = schema.ballots().insertReturningIntKey(conn, ballotEntity);
+                if (id == null) throw new IllegalStateException("No key generated for ballot");
+                List<BallotSelectionEntity> rows = new ArrayList<>(selections.size());
                 int pos = 0;
-                for (Integer c : orderedCandidateIds) {
-                    if (c == null) continue;
-                    BallotSelectionEntity s = new BallotSelectionEntity();
-                    s.ballotId = ballotId; s.candidateId = c; s.position = ++pos;
-                    schema.ballotSelections().insertNonPkSync(s);
+                for (Integer candidateId : selections) {
+                    BallotSelectionEntity ballotSelectionEntity = new BallotSelectionEntity();
+                    ballotSelectionEntity.ballotId = id; ballotSelectionEntity.candidateId = candidateId; ballotSelectionEntity.position = ++pos;
+                    rows.add(ballotSelectionEntity);
                 }
-            }
+                schema.ballotSelections().insertAllNonPk(conn, rows);
+                return id;
+            });
         } catch (RuntimeException ex) {
-            // Likely unique constraint under race; revert to DB state
+            // Duplicate ballot (uq_ballot_once) or a failed write: nothing was committed, revert the mirror to DB state
+            if (!MySQLManager.isConstraintViolation(ex)) {
+                plugin.getLogger().warning("Failed to persist ballot for voter " + voterId + " in election " + electionId + ": " + ex.getMessage());
+            }
             refreshElection(electionId);
             return false;
         }
-        refreshElection(electionId);
+        int[] mirrored = selections.stream().mapToInt(Integer::intValue).toArray();
+        applyToMirror(electionId, dto -> {
+            if (dto.ballotIndexOfVoter(voterId) >= 0) throw conflict("voter " + voterId + " already has a mirrored ballot");
+            dto.appendBallot(ballotId, voterId, mirrored, ballotEntity.submittedAtEpochMillis);
+        });
         return true;
     }
 
-    public boolean submitBlockBallot(int electionId, int voterId, List<Integer> candidateIds) {
-        // Idempotency and race safety: check DB first
-        Map<String, Object> where = new HashMap<>();
-        where.put("electionId", electionId);
-        where.put("voterId", voterId);
-        if (!schema.ballots().findAllByMany(where, "id").isEmpty()) return false;
-        if (!mem.submitBlockBallot(electionId, voterId, candidateIds)) return false;
+    // --- Write-behind ballot journal ---
+
+    /** Opens the journal, replays what a previous run left behind and seeds the ballot id sequence. */
+    private BallotJournal openJournal() {
+        var cfg = plugin.getConfig();
+        File file = new File(new File(plugin.getDataFolder(), DataFolder.JOURNAL.getPath()), "ballots.wal");
+        BallotJournal j;
+        List<BallotJournal.Entry> recovered;
+        try {
+            j = new BallotJournal(file.toPath(), new BallotJournal.BatchWriter() {
+                @Override public void write(List<BallotJournal.Entry> batch) { writeJournalBatch(batch); }
+                @Override public boolean isTransient(Exception failure) { return MySQLManager.isTransientFailure(failure); }
+                @Override public void deadLettered(BallotJournal.Entry entry) { dropJournaled(entry); }
+            }, plugin.getLogger(),
+                    cfg.getLong(ConfigPaths.BALLOT_JOURNAL_FSYNC_INTERVAL_MILLIS.getPath(), 5L),
+                    cfg.getLong(ConfigPaths.BALLOT_JOURNAL_COMMIT_INTERVAL_MILLIS.getPath(), 250L),
+                    cfg.getInt(ConfigPaths.BALLOT_JOURNAL_BATCH_SIZE.getPath(), 500));
+            recovered = j.recover();
+        } catch (IOException ex) {
+            plugin.getLogger().severe("Failed to open ballot journal " + file + "; falling back to direct writes. Cause: " + ex.getMessage());
+            return null;
+        }
+        int maxId = schema.ballots().maxIntKey();
+        for (BallotJournal.Entry e : recovered) maxId = Math.max(maxId, e.ballotId());
+        ballotIdSeq.set(maxId);
+        List<BallotJournal.Entry> uncommitted = recovered;
+        if (!recovered.isEmpty()) {
+            try {
+                writeJournalBatch(recovered);
+                uncommitted = List.of();
+                plugin.getLogger().info("Replayed " + recovered.size() + " journaled ballots into MySQL.");
+            } catch (Exception ex) {
+                recovered.forEach(e -> journaled.put(e.ballotId(), e));
+                plugin.getLogger().warning("Could not replay " + recovered.size() + " journaled ballots yet; they will be retried in the background. Cause: " + ex.getMessage());
+            }
+        }
+        j.start(uncommitted);
+        return j;
+    }
+
+    /**
+     * Write-behind submit: validates and appends the ballot to the mirror, then acknowledges once the
+     * journal record is fsync'd. MySQL is written later by the journal committer.
+     */
+    private boolean journalBallot(int electionId, int voterId, List<Integer> candidateIds, boolean preferential) {
+        long submittedAt = nowEpochMillis();
+        BallotDto ballot = mem.acceptBallot(electionId, voterId, candidateIds, preferential, ballotIdSeq::incrementAndGet, epochToTs(submittedAt));
+        if (ballot == null) return false;
+        int[] selections = ballot.getSelections().stream().mapToInt(Integer::intValue).toArray();
+        BallotJournal.Entry entry = new BallotJournal.Entry(ballot.getId(), electionId, voterId, submittedAt, selections);
+        journaled.put(entry.ballotId(), entry);
         try {
-            BallotEntity ballotEntity = new BallotEntity();
-            ballotEntity.electionId = electionId; ballotEntity.voterId = voterId; ballotEntity.submittedAtEpochMillis = nowEpochMillis();
-            Integer ballotId = schema.ballots().insertReturningIntKey(ballotEntity);
-            if (ballotId != null) {
+            journal.append(entry).join();
+            return true;
+        } catch (CompletionException | CancellationException ex) {
+            journaled.remove(entry.ballotId());
+            plugin.getLogger().severe("Failed to journal ballot for voter " + voterId + " in election " + electionId + ": " + ex.getMessage());
+            refreshElection(electionId);
+            return false;
+        }
+    }
+
+    /**
+     * Writes a batch of journaled ballots in one transaction. Ballots use their pre-assigned ids and INSERT IGNORE,
+     * so replays are idempotent. A ballot counts as stored only when the row under its id is that ballot (same
+     * election, voter and submission time): another server may have taken the id, in which case the ballot is
+     * inserted again under a generated id. Selections are only written for stored ballots.
+     * A ballot dropped by uq_ballot_once means the mirror accepted a vote MySQL already had, and a renumbered ballot
+     * no longer matches its mirrored id, so those elections are resynced.
+     */
+    private void writeJournalBatch(List<BallotJournal.Entry> batch) {
+        List<BallotEntity> ballotRows = new ArrayList<>(batch.size());
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (BallotJournal.Entry e : batch) {
+            ballotRows.add(toBallotEntity(e));
+            ids.add(e.ballotId());
+        }
+        Set<Integer> resyncElections = new HashSet<>();
+        int renumbered = mysql.inTransaction(conn -> {
+            schema.ballots().insertAllIgnore(conn, ballotRows);
+            Map<Integer, BallotEntity> stored = new HashMap<>();
+            for (BallotEntity row : schema.ballots().findAllByKeys(conn, ids)) stored.put(row.id, row);
+            List<BallotSelectionEntity> selectionRows = new ArrayList<>();
+            int moved = 0;
+            for (BallotJournal.Entry e : batch) {
+                BallotEntity row = stored.get(e.ballotId());
+                int ballotId = e.ballotId();
+                if (row == null || row.electionId != e.electionId() || row.voterId != e.voterId()
+                        || !Objects.equals(row.submittedAtEpochMillis, e.submittedAtEpochMillis())) {
+                    resyncElections.add(e.electionId());
+                    if (row == null) continue; // Dropped by uq_ballot_once
+                    Integer generated;
+                    try {
+                        generated = schema.ballots().insertReturningIntKey(conn, toBallotEntity(e));
+                    } catch (SQLException ex) {
+                        // The voter already has a ballot: someone else's, or this one from an earlier replay
+                        if (MySQLManager.isConstraintViolation(ex)) continue;
+                        throw ex;
+                    }
+                    if (generated == null) throw new IllegalStateException("No key generated for ballot");
+                    ballotId = generated;
+                    moved++;
+                }
                 int pos = 0;
-                for (Integer id : candidateIds) {
-                    if (id == null) continue;
-                    BallotSelectionEntity ballotSelectionEntity = new BallotSelectionEntity();
-                    ballotSelectionEntity.ballotId = ballotId; ballotSelectionEntity.candidateId = id; ballotSelectionEntity.position = ++pos;
-                    schema.ballotSelections().insertNonPkSync(ballotSelectionEntity);
+                for (int candidateId : e.selections()) {
+                    BallotSelectionEntity s = new BallotSelectionEntity();
+                    s.ballotId = ballotId; s.candidateId = candidateId; s.position = ++pos;
+                    selectionRows.add(s);
                 }
             }
-        } catch (RuntimeException ex) {
+            // Keep each statement well below the prepared statement placeholder limit
+            for (int i = 0; i < selectionRows.size(); i += 5_000) {
+                schema.ballotSelections().insertAllIgnore(conn, selectionRows.subList(i, Math.min(selectionRows.size(), i + 5_000)));
+            }
+            return moved;
+        });
+        batch.forEach(e -> journaled.remove(e.ballotId()));
+        if (renumbered > 0) {
+            // Ids are handed out by another writer as well: continue past everything already in the table
+            ballotIdSeq.accumulateAndGet(schema.ballots().maxIntKey(), Math::max);
+            plugin.getLogger().warning(renumbered + " journaled ballot id(s) were already taken in MySQL; stored them under new ids.");
+        }
+        for (Integer electionId : resyncElections) {
+            plugin.getLogger().warning("Journaled ballot(s) for election " + electionId + " were rejected as duplicates or renumbered; resyncing mirror.");
             refreshElection(electionId);
-            return false;
         }
-        refreshElection(electionId);
-        return true;
+    }
+
+    /** Forgets a journaled ballot MySQL rejected for good; the mirror counted it, so the election is resynced. */
+    private void dropJournaled(BallotJournal.Entry e) {
+        journaled.remove(e.ballotId());
+        refreshElection(e.electionId());
+    }
+
+    private static BallotEntity toBallotEntity(BallotJournal.Entry e) {
+        BallotEntity b = new BallotEntity();
+        b.id = e.ballotId(); b.electionId = e.electionId(); b.voterId = e.voterId(); b.submittedAtEpochMillis = e.submittedAtEpochMillis();
+        return b;
+    }
+
+    /** @return ballot journal counters, or null when write-behind mode is disabled. */
+    public BallotJournal.Stats journalStats() {
+        return journal == null ? null : journal.stats();
     }
 
     public boolean setCandidateHeadItemBytes(int electionId, int candidateId, byte[] data) {
         CandidateHeadItemEntity row = new CandidateHeadItemEntity();
         row.candidateId = candidateId; row.headItemBytes = data;
         schema.candidateHeadItems().insertOrUpdateSync(row);
-        refreshElection(electionId);
+        applyToMirror(electionId, dto -> {
+            CandidateDto c = dto.findCandidate(candidateId);
+            if (c == null) throw conflict("candidate " + candidateId + " not mirrored");
+            c.setHeadItemBytes(data);
+        });
         return true;
     }
 
@@ -639,11 +1064,64 @@ public class SqlElectionsService implements ElectionsService {
     }
 
     public boolean markExported(int electionId, String actor) {
-        logChange(electionId, StateChangeType.EXPORTED, actor, null);
-        refreshElection(electionId);
+        StatusChangeEntity sc = logChange(electionId, StateChangeType.EXPORTED, actor, null);
+        applyToMirror(electionId, dto -> dto.addStatusChange(toStatusChangeDto(sc)));
         return true;
     }
 
+    // --- Mirror consistency ---
+
+    /**
+     * Rebuilds one election from the database and replaces its mirror (explicit resync).
+     * Blocking; call off the main thread.
+     */
+    public void resyncElection(int electionId) {
+        refreshElection(electionId);
+    }
+
+    /**
+     * Compares the mirrored election with a fresh rebuild from the database.
+     * Blocking; call off the main thread.
+     *
+     * @param electionId election to verify
+     * @param resync when true and differences are found, the mirror is replaced with the database state
+     * @return the differences found (empty when consistent)
+     */
+    public List<String> verifyMirror(int electionId, boolean resync) {
+        ElectionEntity row = schema.elections().findBy("id", electionId);
+        ElectionDto fromDb = row == null ? null : buildElectionDtoFromDb(row);
+        // Ballots still waiting in the write-behind journal are expected in the mirror
+        if (fromDb != null) overlayJournaled(fromDb);
+        // A summarized election is compared on what its summary holds
+        List<String> diffs = mem.readElection(electionId, mirror -> MirrorConsistencyChecker.diff(mirror,
+                mirror != null && mirror.isSummary() && fromDb != null ? fromDb.summarize() : fromDb));
+        if (resync && !diffs.isEmpty()) {
+            if (fromDb == null) mem.removeElectionById(electionId);
+            else mem.upsertElection(fromDb);
+            armDeadlines(electionId);
+        }
+        return diffs;
+    }
+
+    /**
+     * Verifies every mirrored election and every election row in the database.
+     *
+     * @param resync when true, inconsistent elections are rebuilt from the database
+     * @return differences keyed by election id; only inconsistent elections are present
+     */
+    public CompletableFuture<Map<Integer, List<String>>> verifyMirrorAsync(boolean resync) {
+        return CompletableFuture.supplyAsync(() -> {
+            Set<Integer> ids = new TreeSet<>(mem.electionIds());
+            schema.elections().forEach(null, e -> ids.add(e.id));
+            Map<Integer, List<String>> out = new LinkedHashMap<>();
+            for (Integer id : ids) {
+                List<String> diffs = verifyMirror(id, resync);
+                if (!diffs.isEmpty()) out.put(id, diffs);
+            }
+            return out;
+        }, executor);
+    }
+
     // --- ElectionsService (async wrappers) ---
 
     @Override public CompletableFuture<Election> createElectionAsync(String title, VotingSystem system, int minimumVotes, RequirementsDto requirements, String actor) {
@@ -655,7 +1133,7 @@ public class SqlElectionsService implements ElectionsService {
     }
 
     @Override public CompletableFuture<Optional<Election>> getElectionAsync(int id) {
-        return CompletableFuture.supplyAsync(() -> getElection(id), executor);
+        return CompletableFuture.supplyAsync(() -> mem.getElectionFull(id), executor);
     }
 
     @Override public CompletableFuture<List<Election>> listElectionsAsync() {
@@ -678,6 +1156,10 @@ public class SqlElectionsService implements ElectionsService {
         return CompletableFuture.supplyAsync(() -> setMinimumVotes(electionId, minimum, actor), executor);
     }
 
+    @Override public CompletableFuture<Boolean> setSeatsAsync(int electionId, int seats, String actor) {
+        return CompletableFuture.supplyAsync(() -> setSeats(electionId, seats, actor), executor);
+    }
+
     @Override public CompletableFuture<Boolean> setRequirementsAsync(int electionId, RequirementsDto requirements, String actor) {
         return CompletableFuture.supplyAsync(() -> setRequirements(electionId, requirements, actor), executor);
     }
@@ -702,6 +1184,10 @@ public class SqlElectionsService implements ElectionsService {
         return CompletableFuture.supplyAsync(() -> setClosesAt(electionId, closesAt, actor), executor);
     }
 
+    @Override public CompletableFuture<Boolean> setOpensAtAsync(int electionId, TimeStampDto opensAt, String actor) {
+        return CompletableFuture.supplyAsync(() -> setOpensAt(electionId, opensAt, actor), executor);
+    }
+
     @Override public CompletableFuture<Boolean> setDurationAsync(int electionId, Integer days, TimeDto time, String actor) {
         return CompletableFuture.supplyAsync(() -> setDuration(electionId, days, time, actor), executor);
     }
@@ -774,11 +1260,27 @@ public class SqlElectionsService implements ElectionsService {
         }, executor);
     }
 
+    @Override public CompletableFuture<Optional<IrvResult>> tallyInstantRunoffAsync(int electionId) {
+        return CompletableFuture.supplyAsync(() -> mem.tallyInstantRunoff(electionId, tieBreak), executor);
+    }
+
+    @Override public CompletableFuture<Optional<StvResult>> tallySingleTransferableVoteAsync(int electionId) {
+        return CompletableFuture.supplyAsync(() -> mem.tallySingleTransferableVote(electionId, stvMethod, tieBreak), executor);
+    }
+
+    @Override public CompletableFuture<Optional<CondorcetResult>> tallySchulzeAsync(int electionId) {
+        return CompletableFuture.supplyAsync(() -> mem.tallySchulze(electionId, tieBreak), executor);
+    }
+
     @Override public CompletableFuture<Optional<Candidate>> updateCandidateAsync(int electionId, int candidateId, String name, String party, String actor) {
         return CompletableFuture.supplyAsync(() -> updateCandidate(electionId, candidateId, name, party, actor), executor);
     }
 
     public void shutdown() {
+        deadlines.close();
+        if (journal != null) {
+            try { journal.close(); } catch (Exception ignored) {}
+        }
         try {
             executor.shutdownNow();
         } catch (Exception ignored) {}
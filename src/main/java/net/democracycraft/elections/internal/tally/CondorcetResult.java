@@ -0,0 +1,32 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a pairwise (Schulze) count.
+ *
+ * @param electionId       counted election
+ * @param ballots          submitted ballots
+ * @param candidates       candidate ids in candidate order; rows and columns of the matrices follow it
+ * @param preferences      ballots preferring candidate {@code i} to candidate {@code j} at {@code [i][j]}
+ * @param strongestPaths   Schulze strongest path strength from {@code i} to {@code j} (winning votes)
+ * @param condorcetWinner  candidate id preferred to every other by a majority, or null when there is none
+ * @param ranking          candidate ids by Schulze order, most preferred first
+ * @param copelandScores   pairwise wins minus pairwise losses per candidate id, in candidate order
+ * @param winner           elected candidate id, or null when there are no candidates or no ballots
+ * @param copelandFallback true when several candidates won by Schulze and Copeland scores decided between them
+ * @param tieBroken        true when the {@link TieBreak} rule was still needed after Copeland
+ * @param tieBreak         rule used to break ties
+ */
+public record CondorcetResult(int electionId, int ballots, List<Integer> candidates, int[][] preferences,
+                              int[][] strongestPaths, Integer condorcetWinner, List<Integer> ranking,
+                              Map<Integer, Integer> copelandScores, Integer winner, boolean copelandFallback,
+                              boolean tieBroken, TieBreak tieBreak) {
+
+    /** @return ballots preferring candidate {@code a} to candidate {@code b} (candidate ids), 0 for unknown ids. */
+    public int preference(int a, int b) {
+        int i = candidates.indexOf(a), j = candidates.indexOf(b);
+        return i < 0 || j < 0 ? 0 : preferences[i][j];
+    }
+}
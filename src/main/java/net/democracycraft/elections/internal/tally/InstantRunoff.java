@@ -0,0 +1,154 @@
+package net.democracycraft.elections.internal.tally;
+
+import net.democracycraft.elections.internal.data.ElectionDto;
+import net.democracycraft.elections.internal.data.VotingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Instant-runoff (single winner) count of PREFERENTIAL ballots.
+ *
+ * Contract:
+ * - Each round counts every ballot for its highest ranked continuing candidate. A candidate holding more than half of
+ *   the ballots that are not exhausted is elected; otherwise the candidate with the fewest votes is eliminated, ties
+ *   resolved by the {@link TieBreak} rule.
+ * - Every candidate keeps the list of ballots currently counting for it, so an elimination only revisits the
+ *   eliminated candidate's ballots: the whole count is O(ballots x preferences + rounds x candidates). First-round
+ *   votes and pile sizes are counted in one pass by {@link ParallelCounts#firstRound(RankedBallots)}.
+ * - Weighted entries ({@link RankedBallots#weight(int)}) count as that many identical ballots, so counting an
+ *   election's {@link net.democracycraft.elections.internal.data.BallotGroups} does the work once per distinct ballot.
+ * - Ballots without a continuing preference are exhausted and reported per round.
+ * - Pure function of its input; a tally allocates its own state and may run on any thread.
+ */
+public final class InstantRunoff {
+
+    private InstantRunoff() {
+        // Utility class
+    }
+
+    /**
+     * Counts the submitted ballots of an election snapshot.
+     *
+     * @throws IllegalStateException when the election does not use {@link VotingSystem#PREFERENTIAL}
+     */
+    public static IrvResult tally(ElectionDto election, TieBreak tieBreak) {
+        if (election.getSystem() != VotingSystem.PREFERENTIAL) {
+            throw new IllegalStateException("Election " + election.getId() + " is not PREFERENTIAL");
+        }
+        RankedBallots ballots = RankedBallots.of(election.getCandidates(), election.getBallotStore(), election.getBallotGroups());
+        return tally(election.getId(), ballots, tieBreak);
+    }
+
+    public static IrvResult tally(int electionId, RankedBallots ballots, TieBreak tieBreak) {
+        int n = ballots.candidates();
+        int size = ballots.size();
+        int[] pool = ballots.pool();
+        // Position in the pool of every ballot's current preference
+        int[] cursor = new int[size];
+        int[][] piles = new int[n][];
+        int[] pileSize = new int[n];
+        ParallelCounts.FirstRound first = ParallelCounts.firstRound(ballots);
+        // Ballots (entry weights) counting for each candidate
+        long[] held = first.votes();
+        int total = ballots.ballots();
+        int exhausted = Math.toIntExact(first.exhausted());
+
+        for (int c = 0; c < n; c++) piles[c] = new int[Math.max(4, first.entries()[c])];
+        for (int b = 0; b < size; b++) {
+            if (ballots.length(b) == 0) continue;
+            int c = pool[cursor[b] = ballots.start(b)];
+            piles[c][pileSize[c]++] = b;
+        }
+
+        boolean[] continuing = new boolean[n];
+        Arrays.fill(continuing, true);
+        int remaining = n;
+        List<long[]> history = new ArrayList<>();
+        List<IrvResult.Round> rounds = new ArrayList<>();
+        SplittableRandom lots = tieBreak.lots(electionId);
+        Integer winner = null;
+
+        while (remaining > 0) {
+            long[] votes = new long[n];
+            int active = total - exhausted;
+            int leader = -1;
+            for (int c = 0; c < n; c++) {
+                if (!continuing[c]) continue;
+                votes[c] = held[c];
+                if (leader < 0 || votes[c] > votes[leader]) leader = c;
+            }
+            history.add(votes);
+            Map<Integer, Integer> counts = counts(ballots, continuing, votes);
+
+            if (active == 0) {
+                // Nobody expressed a (continuing) preference: no winner
+                rounds.add(new IrvResult.Round(rounds.size() + 1, counts, exhausted, null, null, false));
+                break;
+            }
+            if (votes[leader] * 2 > active || remaining == 1) {
+                winner = ballots.candidateId(leader);
+                rounds.add(new IrvResult.Round(rounds.size() + 1, counts, exhausted, null, winner, false));
+                break;
+            }
+
+            int[] tied = lowest(continuing, votes);
+            int out = Ties.pick(tied, history, true, tieBreak, lots);
+            rounds.add(new IrvResult.Round(rounds.size() + 1, counts, exhausted, ballots.candidateId(out), null, tied.length > 1));
+            continuing[out] = false;
+            remaining--;
+
+            int[] pile = piles[out];
+            for (int i = 0, k = pileSize[out]; i < k; i++) {
+                int b = pile[i];
+                int p = cursor[b] + 1;
+                int end = ballots.end(b);
+                while (p < end && !continuing[pool[p]]) p++;
+                if (p == end) {
+                    exhausted += ballots.weight(b);
+                    continue;
+                }
+                cursor[b] = p;
+                int c = pool[p];
+                if (pileSize[c] == piles[c].length) piles[c] = Arrays.copyOf(piles[c], pileSize[c] + (pileSize[c] >> 1) + 1);
+                piles[c][pileSize[c]++] = b;
+                held[c] += ballots.weight(b);
+            }
+            piles[out] = null;
+            pileSize[out] = 0;
+            held[out] = 0;
+        }
+        return new IrvResult(electionId, total, Collections.unmodifiableList(rounds), winner, tieBreak);
+    }
+
+    // --- internals ---
+
+    private static int[] lowest(boolean[] continuing, long[] votes) {
+        long min = Long.MAX_VALUE;
+        int n = 0;
+        for (int c = 0; c < votes.length; c++) {
+            if (!continuing[c]) continue;
+            if (votes[c] < min) {
+                min = votes[c];
+                n = 1;
+            } else if (votes[c] == min) {
+                n++;
+            }
+        }
+        int[] out = new int[n];
+        n = 0;
+        for (int c = 0; c < votes.length; c++) if (continuing[c] && votes[c] == min) out[n++] = c;
+        return out;
+    }
+
+    private static Map<Integer, Integer> counts(RankedBallots ballots, boolean[] continuing, long[] votes) {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        for (int c = 0; c < votes.length; c++) if (continuing[c]) counts.put(ballots.candidateId(c), (int) votes[c]);
+        return Collections.unmodifiableMap(counts);
+    }
+}
@@ -0,0 +1,28 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of an instant-runoff count.
+ *
+ * @param electionId counted election
+ * @param ballots    ballots counted (submitted ballots, including those without a valid preference)
+ * @param rounds     counting rounds in order
+ * @param winner     elected candidate id, or null when no ballot expressed a preference
+ * @param tieBreak   rule used to break ties
+ */
+public record IrvResult(int electionId, int ballots, List<Round> rounds, Integer winner, TieBreak tieBreak) {
+
+    /**
+     * One counting round.
+     *
+     * @param number     1-based round number
+     * @param votes      votes per continuing candidate id, in candidate order
+     * @param exhausted  ballots without a continuing preference in this round
+     * @param eliminated candidate eliminated at the end of the round, or null
+     * @param elected    candidate elected in this round, or null
+     * @param tieBroken  true when the elimination needed the tie-break rule
+     */
+    public record Round(int number, Map<Integer, Integer> votes, int exhausted, Integer eliminated, Integer elected, boolean tieBroken) {}
+}
@@ -0,0 +1,187 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Linear counts over {@link RankedBallots} (the first round of instant runoff, the pairwise matrix for Schulze), split
+ * into entry ranges counted on a {@link ForkJoinPool} when there are enough of them.
+ *
+ * Contract:
+ * - Every range is counted into its own primitive accumulator, and accumulators are added together when ranges
+ *   join. Counts are integer sums, so the result is bit-identical to a sequential count whatever the split.
+ * - Below {@link #PARALLEL_THRESHOLD} entries of work (entries, times candidates for the pairwise matrix), or on a
+ *   pool without parallelism, the count runs on the calling thread.
+ * - Pure functions of their input; the default pool is {@link ForkJoinPool#commonPool()}.
+ */
+public final class ParallelCounts {
+
+    /** Entries (weighted by their cost per entry) below which counting stays single-threaded. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private ParallelCounts() {
+        // Utility class
+    }
+
+    /** Counts of one range, added up when ranges join. */
+    private interface Counter<A> {
+        A create(RankedBallots ballots);
+        void count(RankedBallots ballots, int from, int to, A into);
+        void merge(A into, A other);
+        /** Relative cost of one entry, to scale the threshold. */
+        int cost(RankedBallots ballots);
+    }
+
+    /**
+     * First preferences.
+     *
+     * @param entries   entries ranking each slot first (e.g. to size per-candidate piles)
+     * @param votes     ballots (entry weights) ranking each slot first
+     * @param exhausted ballots (entry weights) without any preference
+     */
+    public record FirstRound(int[] entries, long[] votes, long exhausted) {}
+
+    /** @return first preferences of every slot, counted in one pass. */
+    public static FirstRound firstRound(RankedBallots ballots) {
+        return firstRound(ballots, ForkJoinPool.commonPool());
+    }
+
+    public static FirstRound firstRound(RankedBallots ballots, ForkJoinPool pool) {
+        int n = ballots.candidates();
+        long[] counts = count(ballots, pool, new FirstRoundCounter());
+        int[] entries = new int[n];
+        for (int c = 0; c < n; c++) entries[c] = (int) counts[c];
+        return new FirstRound(entries, Arrays.copyOfRange(counts, n, 2 * n), counts[2 * n]);
+    }
+
+    /** @return ballots (entry weights) ranking each slot first. */
+    public static long[] firstPreferences(RankedBallots ballots) {
+        return firstRound(ballots).votes();
+    }
+
+    public static long[] firstPreferences(RankedBallots ballots, ForkJoinPool pool) {
+        return firstRound(ballots, pool).votes();
+    }
+
+    /**
+     * @return ballots preferring slot {@code i} to slot {@code j} at {@code [i][j]}. A ranked slot is preferred to the
+     * slots ranked after it and to the unranked ones, so ranges only count pairs of ranked slots (O(k^2) per entry, at
+     * most O(k x n)) plus how often each slot is ranked, and "i over j" is {@code ranked[i] - above[j][i]}
+     */
+    public static int[][] preferences(RankedBallots ballots) {
+        return preferences(ballots, ForkJoinPool.commonPool());
+    }
+
+    public static int[][] preferences(RankedBallots ballots, ForkJoinPool pool) {
+        int n = ballots.candidates();
+        int[] counts = count(ballots, pool, new PairwiseCounter());
+        int[][] d = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            int ranked = counts[n * n + i];
+            for (int j = 0; j < n; j++) if (i != j) d[i][j] = ranked - counts[j * n + i];
+        }
+        return d;
+    }
+
+    // --- internals ---
+
+    private static <A> A count(RankedBallots ballots, ForkJoinPool pool, Counter<A> counter) {
+        int size = ballots.size();
+        int cost = Math.max(1, counter.cost(ballots));
+        int parallelism = pool.getParallelism();
+        if ((long) size * cost < PARALLEL_THRESHOLD || parallelism <= 1) {
+            A acc = counter.create(ballots);
+            counter.count(ballots, 0, size, acc);
+            return acc;
+        }
+        // A few ranges per worker so uneven ballot lengths even out, none smaller than half the threshold
+        int chunk = Math.max(PARALLEL_THRESHOLD / 2 / cost, size / (parallelism * 4) + 1);
+        return pool.invoke(new Split<>(ballots, counter, 0, size, Math.max(1, chunk)));
+    }
+
+    private static final class Split<A> extends RecursiveTask<A> {
+        private final RankedBallots ballots;
+        private final Counter<A> counter;
+        private final int from, to, chunk;
+
+        Split(RankedBallots ballots, Counter<A> counter, int from, int to, int chunk) {
+            this.ballots = ballots;
+            this.counter = counter;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunk) {
+                A acc = counter.create(ballots);
+                counter.count(ballots, from, to, acc);
+                return acc;
+            }
+            int mid = (from + to) >>> 1;
+            Split<A> left = new Split<>(ballots, counter, from, mid, chunk);
+            left.fork();
+            A right = new Split<>(ballots, counter, mid, to, chunk).compute();
+            A acc = left.join();
+            counter.merge(acc, right);
+            return acc;
+        }
+    }
+
+    /** Entries ranking each slot first at {@code [slot]}, their weights at {@code [n + slot]}, empty entries' weight at {@code [2n]}. */
+    private static final class FirstRoundCounter implements Counter<long[]> {
+        @Override public long[] create(RankedBallots ballots) { return new long[2 * ballots.candidates() + 1]; }
+
+        @Override
+        public void count(RankedBallots ballots, int from, int to, long[] into) {
+            int n = ballots.candidates();
+            int[] pool = ballots.pool();
+            for (int b = from; b < to; b++) {
+                if (ballots.length(b) == 0) {
+                    into[2 * n] += ballots.weight(b);
+                    continue;
+                }
+                int c = pool[ballots.start(b)];
+                into[c]++;
+                into[n + c] += ballots.weight(b);
+            }
+        }
+
+        @Override
+        public void merge(long[] into, long[] other) {
+            for (int c = 0; c < into.length; c++) into[c] += other[c];
+        }
+
+        @Override public int cost(RankedBallots ballots) { return 1; }
+    }
+
+    /** Ranked pairs {@code above[a * n + b]}, then how often each slot is ranked at {@code n * n + a}. */
+    private static final class PairwiseCounter implements Counter<int[]> {
+        @Override public int[] create(RankedBallots ballots) { return new int[ballots.candidates() * (ballots.candidates() + 1)]; }
+
+        @Override
+        public void count(RankedBallots ballots, int from, int to, int[] into) {
+            int n = ballots.candidates();
+            int rankedAt = n * n;
+            int[] pool = ballots.pool();
+            for (int b = from; b < to; b++) {
+                int start = ballots.start(b), end = ballots.end(b);
+                int w = ballots.weight(b);
+                for (int p = start; p < end; p++) {
+                    int row = pool[p] * n;
+                    into[rankedAt + pool[p]] += w;
+                    for (int q = p + 1; q < end; q++) into[row + pool[q]] += w;
+                }
+            }
+        }
+
+        @Override
+        public void merge(int[] into, int[] other) {
+            for (int i = 0; i < into.length; i++) into[i] += other[i];
+        }
+
+        @Override public int cost(RankedBallots ballots) { return ballots.candidates(); }
+    }
+}
@@ -0,0 +1,120 @@
+package net.democracycraft.elections.internal.tally;
+
+import net.democracycraft.elections.internal.data.BallotGroups;
+import net.democracycraft.elections.internal.data.BallotStore;
+import net.democracycraft.elections.internal.data.CandidateDto;
+import net.democracycraft.elections.internal.util.collection.LongIntMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ballots of one election translated for counting: candidates become dense slots {@code 0..n-1} (in candidate
+ * order) and every ballot becomes a run of slots in rank order inside one shared array.
+ *
+ * Contract:
+ * - Selections of candidates that are no longer part of the election, and repeated selections, are dropped.
+ * - Only submitted ballots are included; a ballot left without selections still counts as a ballot.
+ * - Built from {@link BallotGroups}, an entry stands for every ballot with the same sequence and carries their
+ *   number as {@link #weight(int)}; built from the store alone, every entry weighs 1.
+ * - Immutable once built; safe to share between tallies and threads.
+ */
+public final class RankedBallots {
+
+    private final int[] candidateIds;
+    private final int[] offsets;
+    private final int[] prefs;
+    /** Weight of each entry; null when every entry weighs 1. */
+    private final int[] weights;
+    private final int entries;
+    private final int total;
+
+    private RankedBallots(int[] candidateIds, int[] offsets, int[] prefs, int[] weights, int entries, int total) {
+        this.candidateIds = candidateIds;
+        this.offsets = offsets;
+        this.prefs = prefs;
+        this.weights = weights;
+        this.entries = entries;
+        this.total = total;
+    }
+
+    /** Translates the submitted ballots of a store against the given candidates, one entry per ballot. */
+    public static RankedBallots of(List<CandidateDto> candidates, BallotStore store) {
+        Builder b = new Builder(candidates, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isSubmitted(i)) b.add(store, i);
+        }
+        return b.build(null, b.count);
+    }
+
+    /** Translates the distinct submitted sequences of a store against the given candidates, one weighted entry per group. */
+    public static RankedBallots of(List<CandidateDto> candidates, BallotStore store, BallotGroups groups) {
+        int size = groups.size();
+        Builder b = new Builder(candidates, size);
+        int[] weights = new int[size];
+        for (int g = 0; g < size; g++) {
+            b.add(store, groups.representative(g));
+            weights[g] = groups.weight(g);
+        }
+        return b.build(weights, groups.ballots());
+    }
+
+    private static final class Builder {
+        final int[] ids;
+        final LongIntMap slotOf;
+        final int[] offsets;
+        final boolean[] seen;
+        int[] prefs;
+        int used, count;
+
+        Builder(List<CandidateDto> candidates, int capacity) {
+            int n = candidates.size();
+            ids = new int[n];
+            slotOf = new LongIntMap(n);
+            for (int c = 0; c < n; c++) {
+                ids[c] = candidates.get(c).getId();
+                slotOf.put(ids[c], c);
+            }
+            offsets = new int[capacity + 1];
+            prefs = new int[Math.max(16, capacity * Math.min(n, 4))];
+            seen = new boolean[n];
+        }
+
+        void add(BallotStore store, int i) {
+            int start = used;
+            for (int r = 0, k = store.selectionCount(i); r < k; r++) {
+                int slot = slotOf.get(store.selection(i, r), -1);
+                if (slot < 0 || seen[slot]) continue;
+                seen[slot] = true;
+                if (used == prefs.length) prefs = Arrays.copyOf(prefs, used + (used >> 1) + 1);
+                prefs[used++] = slot;
+            }
+            for (int k = start; k < used; k++) seen[prefs[k]] = false;
+            offsets[++count] = used;
+        }
+
+        RankedBallots build(int[] weights, int total) {
+            return new RankedBallots(ids, offsets, prefs, weights, count, total);
+        }
+    }
+
+    /** @return number of candidates (slots). */
+    public int candidates() { return candidateIds.length; }
+    /** @return candidate id of a slot. */
+    public int candidateId(int slot) { return candidateIds[slot]; }
+    /** @return number of entries (ballots, or distinct sequences when grouped). */
+    public int size() { return entries; }
+    /** @return number of ballots the entries stand for. */
+    public int ballots() { return total; }
+    /** @return number of ballots an entry stands for. */
+    public int weight(int entry) { return weights == null ? 1 : weights[entry]; }
+    /** @return number of (valid) selections of an entry. */
+    public int length(int ballot) { return offsets[ballot + 1] - offsets[ballot]; }
+    /** @return slot ranked at {@code rank} (0-based) on an entry. */
+    public int slot(int ballot, int rank) { return prefs[offsets[ballot] + rank]; }
+
+    // Raw access for the counting loops of this package
+    int start(int ballot) { return offsets[ballot]; }
+    int end(int ballot) { return offsets[ballot + 1]; }
+    int[] pool() { return prefs; }
+}
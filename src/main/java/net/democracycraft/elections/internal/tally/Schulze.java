@@ -0,0 +1,164 @@
+package net.democracycraft.elections.internal.tally;
+
+import net.democracycraft.elections.internal.data.ElectionDto;
+import net.democracycraft.elections.internal.data.LiveTally;
+import net.democracycraft.elections.internal.data.VotingSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pairwise (Condorcet) count of PREFERENTIAL ballots by the Schulze method, with a Copeland fallback.
+ *
+ * Contract:
+ * - A ballot prefers a ranked candidate to every candidate ranked below it and to every unranked one; unranked
+ *   candidates are tied. {@link ParallelCounts#preferences(RankedBallots)} builds the matrix from translated ballots
+ *   in O(k^2) per entry (k selections); elections keep the same matrix up to date as ballots arrive
+ *   ({@link ElectionDto#getPairwisePreferences()}), so counting one only costs the O(n^3) path search.
+ * - Strongest paths use winning votes: a defeat's strength is the number of ballots preferring the winner of the
+ *   pair. Paths are computed by Floyd-Warshall over int arrays.
+ * - When several candidates win by Schulze (an unresolved cycle or equal paths), the one with the best Copeland
+ *   score (pairwise wins minus losses) among them is elected; remaining ties go to the {@link TieBreak} rule, which
+ *   looks back at first preferences for {@link TieBreak#BACKWARDS}.
+ * - Pure function of its input; a tally allocates its own state and may run on any thread.
+ */
+public final class Schulze {
+
+    private Schulze() {
+        // Utility class
+    }
+
+    /**
+     * Counts an election snapshot from its running pairwise matrix.
+     *
+     * @throws IllegalStateException when the election does not use {@link VotingSystem#PREFERENTIAL}
+     */
+    public static CondorcetResult tally(ElectionDto election, TieBreak tieBreak) {
+        if (election.getSystem() != VotingSystem.PREFERENTIAL) {
+            throw new IllegalStateException("Election " + election.getId() + " is not PREFERENTIAL");
+        }
+        LiveTally.Snapshot live = election.getLiveTally();
+        int[] ids = new int[live.votes().size()];
+        long[] firsts = new long[ids.length];
+        int slot = 0;
+        for (Map.Entry<Integer, Integer> e : live.votes().entrySet()) {
+            ids[slot] = e.getKey();
+            firsts[slot++] = e.getValue();
+        }
+        return tally(election.getId(), live.ballots(), ids, election.getPairwisePreferences(), firsts, tieBreak);
+    }
+
+    /** Counts translated ballots, building the pairwise matrix first. */
+    public static CondorcetResult tally(int electionId, RankedBallots ballots, TieBreak tieBreak) {
+        int n = ballots.candidates();
+        int[] ids = new int[n];
+        for (int c = 0; c < n; c++) ids[c] = ballots.candidateId(c);
+        return tally(electionId, ballots.ballots(), ids, preferences(ballots), ParallelCounts.firstPreferences(ballots), tieBreak);
+    }
+
+    /**
+     * @return ballots preferring slot {@code i} to slot {@code j} at {@code [i][j]}, counted by
+     * {@link ParallelCounts#preferences(RankedBallots)}
+     */
+    public static int[][] preferences(RankedBallots ballots) {
+        return ParallelCounts.preferences(ballots);
+    }
+
+    /**
+     * Counts a pairwise matrix.
+     *
+     * @param candidateIds candidate ids by slot
+     * @param preferences  ballots preferring slot {@code i} to slot {@code j} at {@code [i][j]}
+     * @param firsts       first preferences by slot (history for {@link TieBreak#BACKWARDS})
+     */
+    public static CondorcetResult tally(int electionId, int ballots, int[] candidateIds, int[][] preferences, long[] firsts,
+                                        TieBreak tieBreak) {
+        int n = candidateIds.length;
+        int[][] d = preferences;
+        int[][] p = strongestPaths(d);
+
+        int[] copeland = new int[n];
+        Integer condorcetWinner = null;
+        for (int i = 0; i < n; i++) {
+            int wins = 0, losses = 0;
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                if (d[i][j] > d[j][i]) wins++;
+                else if (d[i][j] < d[j][i]) losses++;
+            }
+            copeland[i] = wins - losses;
+            if (ballots > 0 && wins == n - 1) condorcetWinner = candidateIds[i];
+        }
+
+        // Schulze order: by the number of candidates each one beats through its strongest paths
+        int[] beats = new int[n];
+        List<Integer> schulzeWinners = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            boolean unbeaten = true;
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                if (p[i][j] > p[j][i]) beats[i]++;
+                else if (p[i][j] < p[j][i]) unbeaten = false;
+            }
+            if (unbeaten) schulzeWinners.add(i);
+        }
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) order.add(i);
+        order.sort(Comparator.comparingInt((Integer i) -> -beats[i]));
+        List<Integer> ranking = new ArrayList<>(n);
+        for (int i : order) ranking.add(candidateIds[i]);
+
+        Integer winner = null;
+        boolean fallback = false, tieBroken = false;
+        if (ballots > 0 && !schulzeWinners.isEmpty()) {
+            int chosen = schulzeWinners.getFirst();
+            if (schulzeWinners.size() > 1) {
+                fallback = true;
+                int best = Integer.MIN_VALUE;
+                for (int i : schulzeWinners) best = Math.max(best, copeland[i]);
+                int finalBest = best;
+                int[] tied = schulzeWinners.stream().mapToInt(Integer::intValue).filter(i -> copeland[i] == finalBest).toArray();
+                long[] scores = new long[n];
+                for (int i = 0; i < n; i++) scores[i] = copeland[i];
+                chosen = Ties.pick(tied, List.of(firsts, scores), false, tieBreak, tieBreak.lots(electionId));
+                tieBroken = tied.length > 1;
+            }
+            winner = candidateIds[chosen];
+        }
+
+        Map<Integer, Integer> scores = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) scores.put(candidateIds[i], copeland[i]);
+        List<Integer> candidates = new ArrayList<>(n);
+        for (int id : candidateIds) candidates.add(id);
+        return new CondorcetResult(electionId, ballots, Collections.unmodifiableList(candidates), d, p, condorcetWinner,
+                Collections.unmodifiableList(ranking), Collections.unmodifiableMap(scores), winner, fallback, tieBroken, tieBreak);
+    }
+
+    /** Widest paths by winning votes (Floyd-Warshall). */
+    static int[][] strongestPaths(int[][] d) {
+        int n = d.length;
+        int[][] p = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) if (i != j && d[i][j] > d[j][i]) p[i][j] = d[i][j];
+        }
+        for (int k = 0; k < n; k++) {
+            int[] pk = p[k];
+            for (int i = 0; i < n; i++) {
+                if (i == k) continue;
+                int[] pi = p[i];
+                int pik = pi[k];
+                if (pik == 0) continue;
+                for (int j = 0; j < n; j++) {
+                    if (j == i || j == k) continue;
+                    int via = Math.min(pik, pk[j]);
+                    if (via > pi[j]) pi[j] = via;
+                }
+            }
+        }
+        return p;
+    }
+}
@@ -0,0 +1,358 @@
+package net.democracycraft.elections.internal.tally;
+
+import net.democracycraft.elections.internal.data.ElectionDto;
+import net.democracycraft.elections.internal.data.VotingSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Multi-winner single transferable vote count of PREFERENTIAL ballots with the Droop quota, by {@link StvMethod#MEEK}
+ * or {@link StvMethod#GREGORY} (weighted inclusive Gregory) surplus transfers.
+ *
+ * Contract:
+ * - Each round ends with one decision: elect every candidate reaching the quota, elect all remaining candidates
+ *   when no more of them than seats are left, transfer a surplus (Gregory, largest first) or exclude the candidate
+ *   with the fewest votes. Ties are resolved by the {@link TieBreak} rule.
+ * - Ballots are grouped by identical remaining preferences with a combined weight (starting from the election's
+ *   {@link net.democracycraft.elections.internal.data.BallotGroups}), so transfers and Meek iterations touch every
+ *   distinct ranking once rather than every ballot. Gregory piles merge parcels arriving
+ *   with the same remaining preferences; Meek regroups rankings when a candidate is excluded.
+ * - Arithmetic is fixed-point in millionths of a vote ({@link StvResult#SCALE}); transfers round down and keep
+ *   factors round up, so the result is exact and reproducible. Up to {@link #MAX_BALLOTS} ballots are supported.
+ * - Pure function of its input; a tally allocates its own state and may run on any thread.
+ */
+public final class SingleTransferableVote {
+
+    /** Largest ballot count whose fixed-point products fit in a long. */
+    public static final int MAX_BALLOTS = 9_000_000;
+
+    private static final long SCALE = StvResult.SCALE;
+    /**
+     * Meek iterations stop once the elected candidates' surpluses add up to no more than 0.00001 votes, or stop
+     * shrinking (with many voters, rounding keeps them from getting that small).
+     */
+    private static final long MEEK_TOLERANCE = 10L;
+    private static final int MEEK_MAX_ITERATIONS = 1_000;
+
+    private static final byte HOPEFUL = 0, ELECTED = 1, EXCLUDED = 2;
+
+    private SingleTransferableVote() {
+        // Utility class
+    }
+
+    /**
+     * Counts the submitted ballots of an election snapshot for its {@link ElectionDto#getSeats() seats}.
+     *
+     * @throws IllegalStateException when the election does not use {@link VotingSystem#PREFERENTIAL}
+     */
+    public static StvResult tally(ElectionDto election, StvMethod method, TieBreak tieBreak) {
+        if (election.getSystem() != VotingSystem.PREFERENTIAL) {
+            throw new IllegalStateException("Election " + election.getId() + " is not PREFERENTIAL");
+        }
+        RankedBallots ballots = RankedBallots.of(election.getCandidates(), election.getBallotStore(), election.getBallotGroups());
+        return tally(election.getId(), ballots, election.getSeats(), method, tieBreak);
+    }
+
+    public static StvResult tally(int electionId, RankedBallots ballots, int seats, StvMethod method, TieBreak tieBreak) {
+        if (ballots.ballots() > MAX_BALLOTS) {
+            throw new IllegalArgumentException("Too many ballots for a fixed-point count: " + ballots.ballots());
+        }
+        Count count = new Count(electionId, ballots, Math.max(1, seats), tieBreak);
+        if (method == StvMethod.MEEK) count.meek();
+        else count.gregory();
+        return new StvResult(electionId, count.seats, method, tieBreak, ballots.ballots(),
+                Collections.unmodifiableList(count.rounds), Collections.unmodifiableList(count.elected));
+    }
+
+    /** Ballots sharing the same remaining preferences, with their combined value. */
+    private static final class Ranking {
+        final int[] slots;
+        final int hash;
+        long weight;
+
+        Ranking(int[] slots, long weight) {
+            this.slots = slots;
+            this.hash = Arrays.hashCode(slots);
+            this.weight = weight;
+        }
+
+        /** Adds this ranking to a group map, merging it into an equal one. */
+        void mergeInto(Map<Ranking, Ranking> groups) {
+            Ranking existing = groups.putIfAbsent(this, this);
+            if (existing != null) existing.weight += weight;
+        }
+
+        @Override public int hashCode() { return hash; }
+        @Override public boolean equals(Object o) {
+            return o instanceof Ranking r && r.hash == hash && Arrays.equals(r.slots, slots);
+        }
+    }
+
+    /** State of one count. */
+    private static final class Count {
+        final int electionId;
+        final RankedBallots ballots;
+        final int n;
+        final int seats;
+        final TieBreak tieBreak;
+        final SplittableRandom lots;
+        final byte[] state;
+        final long[] votes;
+        /** Ballots without any valid preference, as value. */
+        final long blank;
+        long exhausted;
+        long quota;
+        final List<long[]> history = new ArrayList<>();
+        final List<StvResult.Round> rounds = new ArrayList<>();
+        final List<Integer> elected = new ArrayList<>();
+        boolean tieBroken;
+
+        Count(int electionId, RankedBallots ballots, int seats, TieBreak tieBreak) {
+            this.electionId = electionId;
+            this.ballots = ballots;
+            this.n = ballots.candidates();
+            this.seats = seats;
+            this.tieBreak = tieBreak;
+            this.lots = tieBreak.lots(electionId);
+            this.state = new byte[n];
+            this.votes = new long[n];
+            long empty = 0;
+            for (int b = 0; b < ballots.size(); b++) if (ballots.length(b) == 0) empty += ballots.weight(b);
+            this.blank = empty * SCALE;
+        }
+
+        /** Groups identical rankings, each ballot weighing one vote. */
+        Collection<Ranking> rankings() {
+            Map<Ranking, Ranking> groups = new HashMap<>();
+            int[] pool = ballots.pool();
+            for (int b = 0; b < ballots.size(); b++) {
+                if (ballots.length(b) == 0) continue;
+                new Ranking(Arrays.copyOfRange(pool, ballots.start(b), ballots.end(b)), ballots.weight(b) * SCALE).mergeInto(groups);
+            }
+            return groups.values();
+        }
+
+        // --- weighted inclusive Gregory ---
+
+        void gregory() {
+            @SuppressWarnings("unchecked")
+            Map<Ranking, Ranking>[] piles = new Map[n];
+            for (int c = 0; c < n; c++) piles[c] = new HashMap<>();
+            long total = 0;
+            for (Ranking r : rankings()) {
+                r.mergeInto(piles[r.slots[0]]);
+                votes[r.slots[0]] += r.weight;
+                total += r.weight;
+            }
+            exhausted = blank;
+            quota = (total / SCALE / (seats + 1) + 1) * SCALE;
+            List<Integer> pending = new ArrayList<>();
+
+            while (elected.size() < seats) {
+                pending.removeIf(c -> votes[c] <= quota);
+                history.add(votes.clone());
+                tieBroken = false;
+
+                List<Integer> reached = hopefuls(quota);
+                if (!reached.isEmpty()) {
+                    List<Integer> order = byVotes(reached, seats - elected.size());
+                    record(order, null, null, Map.of());
+                    for (int c : order) state[c] = ELECTED;
+                    pending.addAll(order);
+                    continue;
+                }
+                List<Integer> left = hopefuls(0L);
+                if (left.isEmpty()) break;
+                if (left.size() <= seats - elected.size()) {
+                    record(byVotes(left, left.size()), null, null, Map.of());
+                    break;
+                }
+                if (!pending.isEmpty()) {
+                    int from = pick(pending, false);
+                    pending.remove(Integer.valueOf(from));
+                    record(List.of(), from, null, Map.of());
+                    long surplus = votes[from] - quota;
+                    long value = surplus * SCALE / votes[from];
+                    long moved = 0;
+                    for (Ranking p : piles[from].values()) {
+                        long w = p.weight * value / SCALE;
+                        move(p, w, piles);
+                        moved += w;
+                    }
+                    exhausted += surplus - moved;
+                    votes[from] = quota;
+                    piles[from] = null;
+                    continue;
+                }
+                int out = pick(left, true);
+                record(List.of(), null, out, Map.of());
+                state[out] = EXCLUDED;
+                for (Ranking p : piles[out].values()) move(p, p.weight, piles);
+                votes[out] = 0;
+                piles[out] = null;
+            }
+        }
+
+        /** Passes a parcel to its next hopeful preference, merging it with a parcel there with the same remaining preferences. */
+        void move(Ranking parcel, long weight, Map<Ranking, Ranking>[] piles) {
+            if (weight == 0) return;
+            int[] s = parcel.slots;
+            int kept = 0;
+            for (int i = 1; i < s.length; i++) if (state[s[i]] == HOPEFUL) kept++;
+            if (kept == 0) {
+                exhausted += weight;
+                return;
+            }
+            int[] next = new int[kept];
+            kept = 0;
+            for (int i = 1; i < s.length; i++) if (state[s[i]] == HOPEFUL) next[kept++] = s[i];
+            new Ranking(next, weight).mergeInto(piles[next[0]]);
+            votes[next[0]] += weight;
+        }
+
+        // --- Meek ---
+
+        void meek() {
+            List<Ranking> groups = new ArrayList<>(rankings());
+            long[] keep = new long[n];
+            Arrays.fill(keep, SCALE);
+            long total = blank;
+            for (Ranking r : groups) total += r.weight;
+
+            while (elected.size() < seats) {
+                converge(groups, keep, total);
+                history.add(votes.clone());
+                tieBroken = false;
+
+                List<Integer> reached = hopefuls(quota);
+                if (!reached.isEmpty()) {
+                    List<Integer> order = byVotes(reached, seats - elected.size());
+                    record(order, null, null, keepFactors(keep));
+                    for (int c : order) state[c] = ELECTED;
+                    continue;
+                }
+                List<Integer> left = hopefuls(0L);
+                if (left.isEmpty()) break;
+                if (left.size() <= seats - elected.size()) {
+                    record(byVotes(left, left.size()), null, null, keepFactors(keep));
+                    break;
+                }
+                int out = pick(left, true);
+                record(List.of(), null, out, keepFactors(keep));
+                state[out] = EXCLUDED;
+                keep[out] = 0;
+                groups = without(groups, out);
+            }
+        }
+
+        /** Distributes the votes and adjusts the keep factors until the surpluses are spent or a candidate reaches the quota. */
+        void converge(List<Ranking> groups, long[] keep, long total) {
+            long previous = Long.MAX_VALUE;
+            for (int it = 0; it < MEEK_MAX_ITERATIONS; it++) {
+                Arrays.fill(votes, 0L);
+                long lost = 0;
+                for (Ranking g : groups) {
+                    long rest = g.weight;
+                    for (int s : g.slots) {
+                        long k = keep[s];
+                        if (k == SCALE) {
+                            votes[s] += rest;
+                            rest = 0;
+                            break;
+                        }
+                        long t = rest * k / SCALE;
+                        votes[s] += t;
+                        rest -= t;
+                    }
+                    lost += rest;
+                }
+                exhausted = blank + lost;
+                quota = (total - exhausted) / (seats + 1) + 1;
+                if (!hopefuls(quota).isEmpty()) return;
+                long surplus = 0;
+                for (int c = 0; c < n; c++) if (state[c] == ELECTED && votes[c] > quota) surplus += votes[c] - quota;
+                // Converged, or rounding keeps the surplus from shrinking any further
+                if (surplus <= MEEK_TOLERANCE || surplus >= previous) return;
+                previous = surplus;
+                for (int c = 0; c < n; c++) {
+                    if (state[c] == ELECTED && votes[c] > 0) keep[c] = Math.min(SCALE, Math.ceilDiv(keep[c] * quota, votes[c]));
+                }
+            }
+        }
+
+        /** Drops an excluded candidate from every ranking and merges rankings that became equal. */
+        static List<Ranking> without(List<Ranking> groups, int slot) {
+            Map<Ranking, Ranking> merged = new HashMap<>();
+            for (Ranking g : groups) {
+                int at = -1;
+                for (int i = 0; i < g.slots.length && at < 0; i++) if (g.slots[i] == slot) at = i;
+                if (at < 0) {
+                    g.mergeInto(merged);
+                    continue;
+                }
+                int[] next = new int[g.slots.length - 1];
+                System.arraycopy(g.slots, 0, next, 0, at);
+                System.arraycopy(g.slots, at + 1, next, at, next.length - at);
+                new Ranking(next, g.weight).mergeInto(merged);
+            }
+            return new ArrayList<>(merged.values());
+        }
+
+        Map<Integer, Long> keepFactors(long[] keep) {
+            Map<Integer, Long> out = new LinkedHashMap<>();
+            for (int c = 0; c < n; c++) if (state[c] == ELECTED) out.put(ballots.candidateId(c), keep[c]);
+            return Collections.unmodifiableMap(out);
+        }
+
+        // --- shared ---
+
+        /** @return hopeful slots with at least {@code min} votes, ascending. */
+        List<Integer> hopefuls(long min) {
+            List<Integer> out = new ArrayList<>();
+            for (int c = 0; c < n; c++) if (state[c] == HOPEFUL && votes[c] >= min) out.add(c);
+            return out;
+        }
+
+        /** @return up to {@code limit} of the slots, most votes first. */
+        List<Integer> byVotes(List<Integer> slots, int limit) {
+            List<Integer> left = new ArrayList<>(slots);
+            List<Integer> out = new ArrayList<>();
+            while (out.size() < limit && !left.isEmpty()) {
+                int c = pick(left, false);
+                left.remove(Integer.valueOf(c));
+                out.add(c);
+            }
+            return out;
+        }
+
+        /** @return the slot with the fewest (or most) votes, applying the tie-break rule. */
+        int pick(List<Integer> slots, boolean fewest) {
+            long best = votes[slots.get(0)];
+            for (int c : slots) best = fewest ? Math.min(best, votes[c]) : Math.max(best, votes[c]);
+            long target = best;
+            int[] tied = slots.stream().mapToInt(Integer::intValue).filter(c -> votes[c] == target).sorted().toArray();
+            if (tied.length > 1) tieBroken = true;
+            return Ties.pick(tied, history, fewest, tieBreak, lots);
+        }
+
+        /** Adds the transcript entry of the current round; call before applying its decision. */
+        void record(List<Integer> electedSlots, Integer transferred, Integer excluded, Map<Integer, Long> keepFactors) {
+            Map<Integer, Long> counts = new LinkedHashMap<>();
+            for (int c = 0; c < n; c++) if (state[c] != EXCLUDED) counts.put(ballots.candidateId(c), votes[c]);
+            List<Integer> ids = new ArrayList<>(electedSlots.size());
+            for (int c : electedSlots) ids.add(ballots.candidateId(c));
+            elected.addAll(ids);
+            rounds.add(new StvResult.Round(rounds.size() + 1, quota, Collections.unmodifiableMap(counts), exhausted,
+                    Collections.unmodifiableList(ids), transferred == null ? null : ballots.candidateId(transferred),
+                    excluded == null ? null : ballots.candidateId(excluded), tieBroken, keepFactors));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.Locale;
+
+/** Surplus transfer rules of a {@link SingleTransferableVote} count. */
+public enum StvMethod {
+    /**
+     * Meek's method: every elected candidate keeps a fraction (keep factor) of each vote reaching it and passes the
+     * rest on, including to candidates elected later; keep factors are iterated until the surpluses vanish and the
+     * quota is recomputed from the votes that are not exhausted.
+     */
+    MEEK,
+    /**
+     * Weighted inclusive Gregory: an elected candidate's surplus is transferred from all of its ballots at their
+     * current value times surplus / votes; elected and excluded candidates receive no further transfers and the
+     * Droop quota is fixed at the start of the count.
+     */
+    GREGORY;
+
+    /** Parses a configured value, falling back to {@link #GREGORY} when it is missing or unknown. */
+    public static StvMethod parse(String value) {
+        if (value == null) return GREGORY;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return GREGORY;
+        }
+    }
+}
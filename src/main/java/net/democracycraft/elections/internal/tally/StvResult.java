@@ -0,0 +1,47 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome and transcript of a single transferable vote count.
+ *
+ * Vote values are fixed-point: a long holding millionths of a vote ({@link #SCALE}), so a transcript is exact and
+ * every recount reproduces it digit for digit. Use {@link #format(long)} to print them.
+ *
+ * @param electionId counted election
+ * @param seats      seats to fill
+ * @param method     surplus transfer rules
+ * @param tieBreak   rule used to break ties
+ * @param ballots    ballots counted (submitted ballots, including those without a valid preference)
+ * @param rounds     counting rounds in order; each ends with one decision
+ * @param elected    elected candidate ids in order of election (fewer than {@code seats} when candidates ran out)
+ */
+public record StvResult(int electionId, int seats, StvMethod method, TieBreak tieBreak, int ballots,
+                        List<Round> rounds, List<Integer> elected) {
+
+    /** Fixed-point scale of vote values: one vote. */
+    public static final long SCALE = 1_000_000L;
+
+    /**
+     * One counting round.
+     *
+     * @param number      1-based round number
+     * @param quota       Droop quota in force
+     * @param votes       votes of every candidate not excluded (elected ones included), in candidate order
+     * @param exhausted   value without a continuing preference, plus fractions lost by rounding transfers down
+     * @param elected     candidates elected at the end of the round (empty if none)
+     * @param transferred candidate whose surplus is transferred at the end of the round, or null
+     * @param excluded    candidate excluded at the end of the round, or null
+     * @param tieBroken   true when the decision needed the tie-break rule
+     * @param keepFactors keep factors of the elected candidates ({@link StvMethod#MEEK} only, else empty)
+     */
+    public record Round(int number, long quota, Map<Integer, Long> votes, long exhausted, List<Integer> elected,
+                        Integer transferred, Integer excluded, boolean tieBroken, Map<Integer, Long> keepFactors) {}
+
+    /** @return a fixed-point value with six decimals, e.g. {@code 12.500000}. */
+    public static String format(long value) {
+        long abs = Math.abs(value);
+        return (value < 0 ? "-" : "") + abs / SCALE + "." + String.format("%06d", abs % SCALE);
+    }
+}
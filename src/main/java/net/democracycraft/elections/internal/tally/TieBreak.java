@@ -0,0 +1,35 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * How a tally chooses between candidates tied for elimination (or election). Every rule is deterministic:
+ * the same ballots always produce the same result.
+ */
+public enum TieBreak {
+    /**
+     * Looks back through earlier rounds and picks the candidate with the fewest votes in the latest round where the
+     * tied candidates differ; when they were tied in every round, falls back to {@link #CANDIDATE_ORDER}.
+     */
+    BACKWARDS,
+    /** Picks the candidate added to the election last. */
+    CANDIDATE_ORDER,
+    /** Picks at random, seeded by the election id, so a recount draws the same lots. */
+    SEEDED_RANDOM;
+
+    /** Parses a configured value, falling back to {@link #BACKWARDS} when it is missing or unknown. */
+    public static TieBreak parse(String value) {
+        if (value == null) return BACKWARDS;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return BACKWARDS;
+        }
+    }
+
+    /** Lots drawn by {@link #SEEDED_RANDOM} for one tally. */
+    SplittableRandom lots(int electionId) {
+        return new SplittableRandom(0x5DEECE66DL ^ electionId);
+    }
+}
@@ -0,0 +1,53 @@
+package net.democracycraft.elections.internal.tally;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Applies a {@link TieBreak} rule to candidates (slots) tied in the current round. */
+final class Ties {
+
+    private Ties() {
+        // Utility class
+    }
+
+    /**
+     * Picks one of the tied slots.
+     *
+     * @param tied    tied slots in ascending order (at least one)
+     * @param history vote totals per slot of every round so far, the current round last
+     * @param fewest  true to pick the candidate doing worst (elimination), false the one doing best (election)
+     * @param lots    random source of {@link TieBreak#SEEDED_RANDOM}, shared by the whole tally
+     */
+    static int pick(int[] tied, List<long[]> history, boolean fewest, TieBreak rule, SplittableRandom lots) {
+        if (tied.length == 1) return tied[0];
+        switch (rule) {
+            case SEEDED_RANDOM:
+                return tied[lots.nextInt(tied.length)];
+            case BACKWARDS:
+                int[] left = tied;
+                for (int r = history.size() - 2; r >= 0 && left.length > 1; r--) left = extremes(left, history.get(r), fewest);
+                if (left.length == 1) return left[0];
+                return byOrder(left, fewest);
+            case CANDIDATE_ORDER:
+            default:
+                return byOrder(tied, fewest);
+        }
+    }
+
+    /** Last added candidate when eliminating, first added when electing. */
+    private static int byOrder(int[] slots, boolean fewest) {
+        return fewest ? slots[slots.length - 1] : slots[0];
+    }
+
+    /** @return the slots with the lowest (or highest) total in one round, in ascending order. */
+    private static int[] extremes(int[] slots, long[] totals, boolean fewest) {
+        long best = totals[slots[0]];
+        for (int s : slots) best = fewest ? Math.min(best, totals[s]) : Math.max(best, totals[s]);
+        int n = 0;
+        for (int s : slots) if (totals[s] == best) n++;
+        int[] out = new int[n];
+        n = 0;
+        for (int s : slots) if (totals[s] == best) out[n++] = s;
+        return out;
+    }
+}
@@ -6,6 +6,7 @@ import io.papermc.paper.registry.data.dialog.body.DialogBody;
 import net.democracycraft.elections.Elections;
 import net.democracycraft.elections.api.model.Election;
 import net.democracycraft.elections.api.service.ElectionsService;
+import net.democracycraft.elections.internal.data.ElectionStatus;
 import net.democracycraft.elections.internal.ui.ParentMenuImp;
 import net.democracycraft.elections.api.ui.AutoDialog;
 import net.democracycraft.elections.internal.ui.common.LoadingMenu;
@@ -83,7 +84,7 @@ public class ElectionManagerMenu extends ParentMenuImp {
         public String durationNever = "Never";
         public String durationFormat = "%days% d %hours% h %minutes% m";
 
-        public String yamlHeader = "ElectionManagerMenu configuration. Placeholders: %player%, %election_title%, %election_id%, %status%, %voters_count%, %polls_count%, %candidates_count%, %ballots_count%, %days%, %hours%, %minutes%, %ballot_mode%.";
+        public String yamlHeader = "ElectionManagerMenu configuration. Placeholders: %player%, %election_title%, %election_id%, %status%, %voters_count%, %polls_count%, %candidates_count%, %ballots_count%, %ballots_this_hour%, %days%, %hours%, %minutes%, %ballot_mode%.";
         /** Loading dialog title and message for async actions (open/close/delete). */
         public String loadingTitle = "<gold><bold>Working</bold></gold>";
         public String loadingMessage = "<gray><italic>Applying changes…</italic></gray>";
@@ -134,7 +135,11 @@ public class ElectionManagerMenu extends ParentMenuImp {
         placeholders.put("%voters_count%", String.valueOf(election.getVoterCount()));
         placeholders.put("%polls_count%", String.valueOf(election.getPolls().size()));
         placeholders.put("%candidates_count%", String.valueOf(election.getCandidates().size()));
-        placeholders.put("%ballots_count%", String.valueOf(election.getBallots().size()));
+        placeholders.put("%ballots_count%", String.valueOf(election.getBallotCount()));
+        // Running counters of OPEN elections (always in memory); other elections are not loaded just for this
+        int ballotsThisHour = election.getStatus() != ElectionStatus.OPEN ? 0 : electionService.getLiveTallySnapshot(electionId)
+                .map(tally -> tally.ballotsInHourOf(System.currentTimeMillis())).orElse(0);
+        placeholders.put("%ballots_this_hour%", String.valueOf(ballotsThisHour));
         placeholders.put("%ballot_mode%", election.getBallotMode().name());
 
         Integer durationDays = election.getDurationDays();
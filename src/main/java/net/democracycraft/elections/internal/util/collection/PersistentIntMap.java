@@ -0,0 +1,105 @@
+package net.democracycraft.elections.internal.util.collection;
+
+/**
+ * Immutable map keyed by primitive {@code int} (a hash array mapped trie), used for the indexes of copy-on-write
+ * election snapshots. {@link #with(int, Object)} returns a new map that shares every untouched node with this one,
+ * so adding an entry costs O(log32 n) time and allocation and older versions stay valid and thread-safe.
+ * Null values are not supported.
+ *
+ * @param <V> value type
+ */
+public final class PersistentIntMap<V> {
+
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(Node.EMPTY, 0);
+
+    private record Entry(int key, Object value) {}
+
+    /** Up to 32 slots, one per 5-bit key fragment present; a slot holds an {@link Entry} or a deeper Node. */
+    private record Node(int bitmap, Object[] slots) {
+        static final Node EMPTY = new Node(0, new Object[0]);
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /** @return the value mapped to {@code key}, or null when absent. */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Node node = root;
+        for (int shift = 0; ; shift += 5) {
+            int bit = 1 << ((key >>> shift) & 31);
+            if ((node.bitmap & bit) == 0) return null;
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Node child) {
+                node = child;
+                continue;
+            }
+            Entry e = (Entry) slot;
+            return e.key == key ? (V) e.value : null;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /** @return a map with {@code key} mapped to {@code value}; this map is unchanged. */
+    public PersistentIntMap<V> with(int key, V value) {
+        if (value == null) throw new IllegalArgumentException("null values are not supported");
+        boolean[] added = {false};
+        Node newRoot = put(root, 0, key, value, added);
+        return newRoot == root ? this : new PersistentIntMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // --- internals ---
+
+    private static Node put(Node node, int shift, int key, Object value, boolean[] added) {
+        int bit = 1 << ((key >>> shift) & 31);
+        int idx = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, idx);
+            slots[idx] = new Entry(key, value);
+            System.arraycopy(node.slots, idx, slots, idx + 1, node.slots.length - idx);
+            added[0] = true;
+            return new Node(node.bitmap | bit, slots);
+        }
+        Object slot = node.slots[idx];
+        Object replacement;
+        if (slot instanceof Node child) {
+            replacement = put(child, shift + 5, key, value, added);
+            if (replacement == child) return node;
+        } else {
+            Entry e = (Entry) slot;
+            if (e.key == key) {
+                if (e.value == value) return node;
+                replacement = new Entry(key, value);
+            } else {
+                // Two keys share this fragment: push both one level down (distinct ints diverge by shift 30)
+                Node split = put(Node.EMPTY, shift + 5, e.key, e.value, new boolean[1]);
+                replacement = put(split, shift + 5, key, value, added);
+            }
+        }
+        Object[] slots = node.slots.clone();
+        slots[idx] = replacement;
+        return new Node(node.bitmap, slots);
+    }
+}
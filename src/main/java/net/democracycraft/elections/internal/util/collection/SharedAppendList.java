@@ -0,0 +1,72 @@
+package net.democracycraft.elections.internal.util.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Append-only list whose versions share one backing array, used for the ever-growing lists of
+ * copy-on-write snapshots (ballots, status changes) so publishing a new version does not copy them.
+ *
+ * Contract:
+ * - {@link #share()} returns a new version with the same elements in O(1); each version has its own size.
+ * - Appending to the newest version writes past the end of every older version, so it never changes what they
+ *   see; appending to an older version (or to a full array) first moves that version to a private copy.
+ * - Appends must be serialized by the caller. Reading a version from other threads is safe once it has been
+ *   safely published (e.g. through a concurrent map), since readers only touch indexes below its size.
+ * - Elements cannot be replaced or removed.
+ *
+ * @param <T> element type
+ */
+public final class SharedAppendList<T> extends AbstractList<T> implements RandomAccess {
+
+    /** Shared by all versions over the same array: how far the array has been filled by any of them. */
+    private static final class Tail {
+        int length;
+    }
+
+    private Object[] items;
+    private Tail tail;
+    private int size;
+
+    public SharedAppendList() {
+        this(new Object[8], new Tail(), 0);
+    }
+
+    private SharedAppendList(Object[] items, Tail tail, int size) {
+        this.items = items;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    /** @return a new version with the current elements, sharing the backing array. */
+    public SharedAppendList<T> share() {
+        return new SharedAppendList<>(items, tail, size);
+    }
+
+    @Override
+    public boolean add(T element) {
+        if (size != tail.length || size == items.length) {
+            // Another version already appended past our end, or the array is full: continue on a private copy
+            items = Arrays.copyOf(items, Math.max(8, size + (size >> 1) + 1));
+            tail = new Tail();
+        }
+        items[size++] = element;
+        tail.length = size;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) items[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
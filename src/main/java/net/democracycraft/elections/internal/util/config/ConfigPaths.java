@@ -4,12 +4,31 @@ public enum ConfigPaths {
     AUTO_CLOSE_SWEEP_SECONDS("elections.autoCloseSweepSeconds"),
     DELETED_PURGE_SWEEP_SECONDS("elections.deletedPurgeSweepSeconds"),
     DELETED_RETENTION_DAYS("elections.deletedRetentionDays"),
+    DELETED_PURGE_CHUNK_SIZE("elections.deletedPurgeChunkSize"),
+    DELETED_PURGE_ROW_BUDGET("elections.deletedPurgeRowBudget"),
+    RELOAD_CHUNK_SIZE("elections.reload.chunkSize"),
+    RELOAD_COMPARE_LEGACY("elections.reload.compareLegacy"),
+    MIRROR_RESIDENT_BUDGET_MEGABYTES("elections.mirror.residentBudgetMegabytes"),
+    TALLY_TIE_BREAK("elections.tally.tieBreak"),
+    TALLY_STV_METHOD("elections.tally.stvMethod"),
+    BALLOT_JOURNAL_ENABLED("elections.ballotJournal.enabled"),
+    BALLOT_JOURNAL_FSYNC_INTERVAL_MILLIS("elections.ballotJournal.fsyncIntervalMillis"),
+    BALLOT_JOURNAL_COMMIT_INTERVAL_MILLIS("elections.ballotJournal.commitIntervalMillis"),
+    BALLOT_JOURNAL_BATCH_SIZE("elections.ballotJournal.batchSize"),
     MYSQL_HOST("mysql.host"),
     MYSQL_PORT("mysql.port"),
     MYSQL_DATABASE("mysql.database"),
     MYSQL_USER("mysql.user"),
     MYSQL_PASSWORD("mysql.password"),
-    MYSQL_USE_SSL("mysql.useSSL");
+    MYSQL_USE_SSL("mysql.useSSL"),
+    MYSQL_STREAM_FETCH_SIZE("mysql.streamFetchSize"),
+    MYSQL_POOL_MAXIMUM_SIZE("mysql.pool.maximumPoolSize"),
+    MYSQL_POOL_MINIMUM_IDLE("mysql.pool.minimumIdle"),
+    MYSQL_POOL_BORROW_TIMEOUT_MILLIS("mysql.pool.borrowTimeoutMillis"),
+    MYSQL_POOL_MAX_LIFETIME_MILLIS("mysql.pool.maxLifetimeMillis"),
+    MYSQL_POOL_IDLE_TIMEOUT_MILLIS("mysql.pool.idleTimeoutMillis"),
+    MYSQL_POOL_VALIDATION_TIMEOUT_SECONDS("mysql.pool.validationTimeoutSeconds"),
+    MYSQL_POOL_STATEMENT_CACHE_SIZE("mysql.pool.statementCacheSize");
 
     private final String path;
 
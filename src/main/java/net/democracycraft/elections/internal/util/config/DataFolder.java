@@ -6,7 +6,8 @@ public enum DataFolder {
     EXPORTS("exports"),
     GITHUB("github"),
     EXPORT_MESSAGES("export-messages"),
-    ERRORS("errors");
+    ERRORS("errors"),
+    JOURNAL("journal");
 
 
     private final String path;
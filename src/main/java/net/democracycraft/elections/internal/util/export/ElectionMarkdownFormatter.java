@@ -4,8 +4,8 @@ import net.democracycraft.elections.api.model.Candidate;
 import net.democracycraft.elections.api.model.Election;
 import net.democracycraft.elections.api.model.Vote;
 import net.democracycraft.elections.internal.data.*;
+import net.democracycraft.elections.internal.tally.StvResult;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +39,22 @@ public final class ElectionMarkdownFormatter {
             Election election,
             Function<Integer, String> voterNameProvider,
             boolean includeVoterInBallots
+    ) {
+        return toMarkdown(election, voterNameProvider, includeVoterInBallots, null);
+    }
+
+    /**
+     * Renders the given {@link Election} as a Markdown document including the round-by-round transcript of a
+     * single transferable vote count.
+     *
+     * @param count STV count of the election to append as a "Count" section; may be {@code null} to leave it out
+     * @see #toMarkdown(Election, Function, boolean)
+     */
+    public static String toMarkdown(
+            Election election,
+            Function<Integer, String> voterNameProvider,
+            boolean includeVoterInBallots,
+            StvResult count
     ) {
         Objects.requireNonNull(election, "election");
 
@@ -52,6 +68,9 @@ public final class ElectionMarkdownFormatter {
         sb.append("**Status:** ").append(election.getStatus()).append("  \n");
         sb.append("**System:** ").append(election.getSystem()).append("  \n");
         sb.append("**Minimum selections:** ").append(election.getMinimumVotes()).append("  \n");
+        if (election.getSeats() > 1) {
+            sb.append("**Seats:** ").append(election.getSeats()).append("  \n");
+        }
         sb.append("**Total registered voters:** ").append(election.getVoterCount()).append("  \n\n");
 
         // Timing
@@ -77,34 +96,11 @@ public final class ElectionMarkdownFormatter {
             }
         }
 
-        // Build vote counts per candidate id
-        Map<Integer, Integer> voteCounts = new HashMap<>();
-        int totalVotes = 0;
+        // Vote counts per candidate id (running counters, no pass over the ballots)
+        Map<Integer, Integer> voteCounts = election.getVoteCounts();
+        int totalVotes = voteCounts.values().stream().mapToInt(Integer::intValue).sum();
         boolean isPreferential = election.getSystem() == VotingSystem.PREFERENTIAL;
 
-        if (ballots != null) {
-            for (Vote vote : ballots) {
-                if (vote.getSelections() == null || vote.getSelections().isEmpty()) continue;
-
-                if (isPreferential) {
-                    // For preferential, we only count the FIRST preference for the progress bar
-                    // to show "Primary Vote" distribution.
-                    Integer firstPrefId = vote.getSelections().getFirst();
-                    if (firstPrefId != null) {
-                        voteCounts.merge(firstPrefId, 1, Integer::sum);
-                        totalVotes++;
-                    }
-                } else {
-                    // For block voting, every selection counts as a vote.
-                    for (Integer cid : vote.getSelections()) {
-                        if (cid == null) continue;
-                        voteCounts.merge(cid, 1, Integer::sum);
-                        totalVotes++;
-                    }
-                }
-            }
-        }
-
         if (candidates == null || candidates.isEmpty()) {
             sb.append("No candidates have been registered for this election.\n\n");
         } else {
@@ -165,6 +161,10 @@ public final class ElectionMarkdownFormatter {
             }
         }
 
+        if (count != null) {
+            appendCount(sb, count, candidateNameById);
+        }
+
         // Status history
         List<StatusChangeDto> changes = election.getStatusChanges();
         sb.append("## Status history\n\n");
@@ -179,6 +179,42 @@ public final class ElectionMarkdownFormatter {
         return sb.toString();
     }
 
+    /**
+     * Appends the transcript of a single transferable vote count: one list item per round with the quota, the
+     * votes of every continuing candidate, exhausted votes and the decision taken.
+     */
+    private static void appendCount(StringBuilder sb, StvResult count, Map<Integer, String> candidateNameById) {
+        Function<Integer, String> name = cid -> {
+            String cname = candidateNameById.get(cid);
+            return (cname != null && !cname.isBlank()) ? cname : ("#" + cid);
+        };
+        sb.append("## Count\n\n");
+        sb.append("Single transferable vote (").append(count.method()).append(", Droop quota, ties: ")
+                .append(count.tieBreak()).append(") for ").append(count.seats()).append(" seat(s) over ")
+                .append(count.ballots()).append(" ballot(s).\n\n");
+        for (StvResult.Round round : count.rounds()) {
+            sb.append("- Round ").append(round.number()).append(" — quota ").append(StvResult.format(round.quota()))
+                    .append(", exhausted ").append(StvResult.format(round.exhausted())).append("\n  ");
+            sb.append(round.votes().entrySet().stream()
+                    .map(e -> name.apply(e.getKey()) + " " + StvResult.format(e.getValue()))
+                    .collect(Collectors.joining(", ")));
+            sb.append("\n  ");
+            if (!round.elected().isEmpty()) {
+                sb.append("Elected: ").append(round.elected().stream().map(name).collect(Collectors.joining(", ")));
+            } else if (round.transferred() != null) {
+                sb.append("Surplus of ").append(name.apply(round.transferred())).append(" transferred");
+            } else if (round.excluded() != null) {
+                sb.append("Excluded: ").append(name.apply(round.excluded()));
+            }
+            if (round.tieBroken()) {
+                sb.append(" (tie broken)");
+            }
+            sb.append("\n");
+        }
+        sb.append("\n**Elected:** ").append(count.elected().isEmpty() ? "none"
+                : count.elected().stream().map(name).collect(Collectors.joining(", "))).append("\n\n");
+    }
+
     /**
      * Renders a single {@link StatusChangeDto} entry as a human-friendly, auditable
      * Markdown list item.
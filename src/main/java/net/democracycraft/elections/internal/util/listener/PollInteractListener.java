@@ -2,7 +2,6 @@ package net.democracycraft.elections.internal.util.listener;
 
 import net.democracycraft.elections.Elections;
 import net.democracycraft.elections.api.model.Election;
-import net.democracycraft.elections.api.model.Poll;
 import net.democracycraft.elections.api.model.Voter;
 import net.democracycraft.elections.api.service.ElectionsService;
 import net.democracycraft.elections.internal.data.ElectionStatus;
@@ -10,7 +9,6 @@ import net.democracycraft.elections.internal.data.RequirementsDto;
 import net.democracycraft.elections.internal.ui.vote.BallotIntroMenu;
 import net.democracycraft.elections.internal.util.time.PlayerPlaytimeUtil;
 import net.democracycraft.elections.internal.vote.VoteSessionManager;
-import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
@@ -92,7 +90,7 @@ public record PollInteractListener(ElectionsService electionsService, Elections
                     @Override
                     public void run() {
                         Election latest = electionsService.getElectionSnapshot(election.getId()).orElse(election);
-                        boolean alreadySubmitted = latest.getBallots().stream().anyMatch(b -> b.getVoterId() == voter.getId() && b.isSubmitted());
+                        boolean alreadySubmitted = latest.hasSubmittedBallot(voter.getId());
                         if (alreadySubmitted) {
                             player.sendMessage("You have already submitted a ballot for this election.");
                             return;
@@ -106,20 +104,7 @@ public record PollInteractListener(ElectionsService electionsService, Elections
     }
 
     private Optional<Election> findElectionByBlock(Block block) {
-        Location loc = block.getLocation();
-        World w = loc.getWorld();
-        if (w == null) return Optional.empty();
-        String worldName = w.getName();
-        int x = loc.getBlockX();
-        int y = loc.getBlockY();
-        int z = loc.getBlockZ();
-        for (Election e : electionsService.listElectionsSnapshot()) {
-            for (Poll p : e.getPolls()) {
-                if (p.getWorld().equalsIgnoreCase(worldName) && p.getX() == x && p.getY() == y && p.getZ() == z) {
-                    return Optional.of(e);
-                }
-            }
-        }
-        return Optional.empty();
+        World w = block.getWorld();
+        return electionsService.getElectionByPollSnapshot(w.getName(), block.getX(), block.getY(), block.getZ());
     }
 }